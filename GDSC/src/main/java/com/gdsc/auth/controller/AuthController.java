@@ -6,13 +6,19 @@ import com.gdsc.auth.dto.RegisterRequest;
 import com.gdsc.auth.dto.ChangePasswordRequest;
 import com.gdsc.auth.service.AuthService;
 import com.gdsc.common.ApiResponse;
+import com.gdsc.common.exception.TooManyRequestsException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Authentication", description = "Authentication management APIs")
@@ -23,15 +29,25 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticate user and return JWT token")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody AuthRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(@Valid @RequestBody AuthRequest request,
+                                                                            HttpServletRequest httpRequest) {
         try {
-            AuthResponse response = authService.authenticate(request);
-            return ResponseEntity.ok(ApiResponse.success("Login successful", response));
+            return authService.authenticateAsync(request, httpRequest.getRemoteAddr())
+                    .thenApply(response -> ResponseEntity.ok(ApiResponse.success("Login successful", response)))
+                    .exceptionally(this::loginFailed);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponse.error("Login failed: " + e.getMessage()));
+            return CompletableFuture.completedFuture(loginFailed(e));
         }
     }
 
+    private ResponseEntity<ApiResponse<AuthResponse>> loginFailed(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof TooManyRequestsException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ApiResponse.error(cause.getMessage()));
+        }
+        return ResponseEntity.badRequest().body(ApiResponse.error("Login failed: " + cause.getMessage()));
+    }
+
     @PostMapping("/register")
     @Operation(summary = "User registration", description = "Register new user and return JWT token")
     public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
@@ -58,9 +74,11 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    @Operation(summary = "User logout", description = "Logout user (client should discard token)")
-    public ResponseEntity<ApiResponse<String>> logout() {
-        // In JWT-based authentication, logout is handled client-side by discarding the token
+    @Operation(summary = "User logout", description = "Logout user and revoke the presented token")
+    public ResponseEntity<ApiResponse<String>> logout(@RequestHeader(value = "Authorization", required = false) String token) {
+        if (token != null && token.startsWith("Bearer ")) {
+            authService.logout(token.substring(7));
+        }
         return ResponseEntity.ok(ApiResponse.success("Logout successful. Please discard your token."));
     }
 
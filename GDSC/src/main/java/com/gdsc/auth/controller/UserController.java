@@ -1,15 +1,21 @@
 package com.gdsc.auth.controller;
 
+import com.gdsc.auth.dto.BulkUserResponse;
 import com.gdsc.auth.dto.UserDto;
 import com.gdsc.auth.entity.User;
+import com.gdsc.auth.service.BulkUserService;
 import com.gdsc.auth.service.UserService;
+import com.gdsc.auth.util.UserCsvParser;
 import com.gdsc.common.ApiResponse;
+import com.gdsc.common.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
 
 import java.util.List;
@@ -22,6 +28,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BulkUserService bulkUserService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER') or hasRole('STUDENT')")
     @Operation(summary = "Get all users", description = "Retrieve all users (Admin/Staff only)")
@@ -30,6 +39,26 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", users));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER') or hasRole('STUDENT')")
+    @Operation(summary = "Get users page", description = "Keyset-paginated users; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<UserDto>>> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<UserDto> page = userService.getUsersPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Users retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER') or hasRole('STUDENT')")
+    @Operation(summary = "Export users", description = "Stream all users as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService.exportUsers());
+    }
+
     @GetMapping("/{username}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER')")
     @Operation(summary = "Get USER By UserName", description = "Retrieve all users (Admin/Staff only)")
@@ -54,6 +83,34 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("User created successfully", receivedUserDto));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER')")
+    @Operation(summary = "Bulk create users", description = "Create many users from a JSON array; invalid rows are reported individually")
+    public ResponseEntity<ApiResponse<BulkUserResponse>> bulkCreateUsers(@RequestBody List<UserDto> users) {
+        return bulkCreate(users);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER')")
+    @Operation(summary = "Bulk create users from CSV", description = "Header: username,email,password,firstName,lastName,phone,roles,centerId (roles separated by ';')")
+    public ResponseEntity<ApiResponse<BulkUserResponse>> bulkCreateUsersFromCsv(@RequestBody String csv) {
+        try {
+            return bulkCreate(UserCsvParser.parse(csv));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<ApiResponse<BulkUserResponse>> bulkCreate(List<UserDto> users) {
+        try {
+            BulkUserResponse response = bulkUserService.createUsers(users);
+            return ResponseEntity.ok(ApiResponse.success(
+                    "Bulk import completed: " + response.getCreated() + " created, " + response.getFailed() + " failed", response));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER')")
     @Operation(summary = "Update User", description = "Update an existing user")
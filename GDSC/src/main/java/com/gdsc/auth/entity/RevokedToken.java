@@ -0,0 +1,28 @@
+package com.gdsc.auth.entity;
+
+import com.gdsc.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_tokens_created_at", columnList = "created_at")
+})
+@EqualsAndHashCode(callSuper = true)
+public class RevokedToken extends BaseEntity {
+
+    @Column(name = "jti", nullable = false, unique = true, length = 64)
+    private String jti;
+
+    @Column(name = "username")
+    private String username;
+
+    // Rows are only needed until the token would have expired anyway
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -10,15 +10,20 @@ import com.gdsc.auth.repository.UserRepository;
 import com.gdsc.auth.util.JwtUtil;
 import com.gdsc.auth.dto.ChangePasswordRequest;
 import com.gdsc.auth.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
@@ -30,7 +35,10 @@ public class AuthService {
     private RoleRepository roleRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -41,13 +49,34 @@ public class AuthService {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    @Value("${jwt.stateless.expiration:900000}")
+    private long statelessExpiration;
+
+    /**
+     * Rate-limits the attempt on the calling thread, then runs the BCrypt check on the
+     * password hashing pool so servlet threads are not held by login bursts.
+     */
+    public CompletableFuture<AuthResponse> authenticateAsync(AuthRequest request, String clientIp) {
+        loginRateLimiter.checkAllowed(request.getUsername(), clientIp);
+        return passwordHashingService.submit(() -> authenticate(request));
+    }
+
     public AuthResponse authenticate(AuthRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
-        String token = jwtUtil.generateToken(userDetails);
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        String token = issueToken(userDetails);
 
         return AuthResponse.builder()
                 .token(token)
@@ -70,7 +99,7 @@ public class AuthService {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashingService.encode(request.getPassword()));
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setPhone(request.getPhone());
@@ -83,7 +112,7 @@ public class AuthService {
         User savedUser = userRepository.save(user);
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getUsername());
-        String token = jwtUtil.generateToken(userDetails);
+        String token = issueToken(userDetails);
 
         return AuthResponse.builder()
                 .token(token)
@@ -96,9 +125,16 @@ public class AuthService {
 
     public AuthResponse refreshToken(String token) {
         if (jwtUtil.validateToken(token)) {
-            String username = jwtUtil.extractUsername(token);
+            Claims claims = jwtUtil.extractVerifiedClaims(token);
+            if (tokenRevocationService.isRevoked(claims.getId())) {
+                throw new RuntimeException("Invalid token");
+            }
+            String username = claims.getSubject();
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            String newToken = jwtUtil.refreshToken(token);
+            // Stateless tokens are re-issued from current roles/version instead of copying old claims
+            String newToken = statelessEnabled ? issueToken(userDetails) : jwtUtil.refreshToken(token);
+            // The old token must not stay usable next to its replacement
+            tokenRevocationService.revoke(claims);
 
             return AuthResponse.builder()
                     .token(newToken)
@@ -111,14 +147,41 @@ public class AuthService {
         throw new RuntimeException("Invalid token");
     }
 
+    public void logout(String token) {
+        if (token != null && jwtUtil.validateToken(token)) {
+            tokenRevocationService.revoke(jwtUtil.extractVerifiedClaims(token));
+        }
+    }
+
     public void changePassword(ChangePasswordRequest request) {
         User user = userRepository.findByUsername(request.getUsername()).orElseThrow(() -> new RuntimeException("User not found"));
 
         // verify old password
-        if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getOldPassword(), user.getPassword())) {
             throw new RuntimeException("Old password is incorrect");
         }
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
+        tokenVersionService.bump(user);
         userRepository.save(user);
+        userDetailsService.evictUser(user.getUsername());
+    }
+
+    private String issueToken(UserDetails userDetails) {
+        if (!statelessEnabled) {
+            return jwtUtil.generateToken(userDetails);
+        }
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // Everything the filter needs to authorize a request without loading the user
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtUtil.CLAIM_ROLES, userDetails.getAuthorities().stream()
+                .map(Object::toString)
+                .toList());
+        claims.put(JwtUtil.CLAIM_USER_ID, user.getId());
+        claims.put(JwtUtil.CLAIM_CENTER_ID, user.getCenter() != null ? user.getCenter().getId() : null);
+        claims.put(JwtUtil.CLAIM_TOKEN_VERSION, Math.max(tokenVersionService.currentVersion(user.getId()),
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0));
+        return jwtUtil.generateToken(userDetails, claims, statelessExpiration);
     }
 }
@@ -0,0 +1,243 @@
+package com.gdsc.auth.service;
+
+import com.gdsc.auth.dto.BulkUserResponse;
+import com.gdsc.auth.dto.UserDto;
+import com.gdsc.auth.entity.Role;
+import com.gdsc.auth.entity.User;
+import com.gdsc.auth.repository.RoleRepository;
+import com.gdsc.auth.repository.UserRepository;
+import com.gdsc.center.entity.Center;
+import com.gdsc.center.repository.CenterRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many users in one request. Rows are validated up front with set-based lookups,
+ * passwords are hashed in parallel and inserts are flushed in chunks, each chunk in its own
+ * transaction. Invalid rows are reported individually instead of failing the whole import.
+ */
+@Service
+public class BulkUserService {
+
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${users.bulk.max-rows:5000}")
+    private int maxRows;
+
+    @Value("${users.bulk.insert-chunk-size:50}")
+    private int insertChunkSize;
+
+    private record Candidate(int row, UserDto dto, Set<Role> roles) {
+    }
+
+    public BulkUserResponse createUsers(List<UserDto> rows) {
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " users can be imported per request");
+        }
+        BulkUserResponse response = BulkUserResponse.builder().totalRows(rows.size()).build();
+
+        Map<String, Role> rolesByName = roleRepository.findAll().stream()
+                .collect(Collectors.toMap(role -> role.getName().name(), role -> role));
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Candidate candidate = validateRow(i + 1, rows.get(i), rolesByName, response);
+            if (candidate != null) {
+                candidates.add(candidate);
+            }
+        }
+        candidates = rejectDuplicates(candidates, response);
+        candidates = rejectUnknownCenters(candidates, response);
+
+        List<String> encodedPasswords = passwordHashingService.encodeAll(candidates.stream()
+                .map(candidate -> candidate.dto().getPassword())
+                .toList());
+
+        for (int from = 0; from < candidates.size(); from += insertChunkSize) {
+            int to = Math.min(from + insertChunkSize, candidates.size());
+            insertChunk(candidates.subList(from, to), encodedPasswords.subList(from, to), response);
+        }
+
+        response.getErrors().sort(Comparator.comparingInt(BulkUserResponse.RowError::getRow));
+        response.setFailed(response.getErrors().size());
+        return response;
+    }
+
+    private Candidate validateRow(int row, UserDto dto, Map<String, Role> rolesByName, BulkUserResponse response) {
+        if (dto == null) {
+            reject(response, row, null, "Row is empty");
+            return null;
+        }
+        List<String> problems = new ArrayList<>();
+        for (ConstraintViolation<UserDto> violation : validator.validate(dto)) {
+            problems.add(violation.getMessage());
+        }
+        if (dto.getPassword() == null || dto.getPassword().isBlank()) {
+            problems.add("Password is required");
+        }
+
+        Set<Role> roles = new HashSet<>();
+        Set<String> requestedRoles = dto.getRoles() == null || dto.getRoles().isEmpty()
+                ? Set.of(Role.RoleType.STUDENT.name())
+                : dto.getRoles();
+        for (String roleName : requestedRoles) {
+            // JSON rows and CSV rows alike may name roles in any case
+            Role role = roleName != null ? rolesByName.get(roleName.trim().toUpperCase(Locale.ROOT)) : null;
+            if (role == null) {
+                problems.add("Role not found: " + roleName);
+            } else {
+                roles.add(role);
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            reject(response, row, dto.getUsername(), String.join("; ", problems));
+            return null;
+        }
+        return new Candidate(row, dto, roles);
+    }
+
+    private List<Candidate> rejectDuplicates(List<Candidate> candidates, BulkUserResponse response) {
+        Set<String> existingUsernames = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Candidate> chunk = candidates.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, candidates.size()));
+            List<String> usernames = chunk.stream().map(c -> c.dto().getUsername()).toList();
+            List<String> emails = chunk.stream().map(c -> c.dto().getEmail()).toList();
+            for (Object[] existing : userRepository.findExistingUsernamesAndEmails(usernames, emails)) {
+                existingUsernames.add((String) existing[0]);
+                existingEmails.add((String) existing[1]);
+            }
+        }
+
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Candidate> accepted = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            String username = candidate.dto().getUsername();
+            String email = candidate.dto().getEmail();
+            if (existingUsernames.contains(username)) {
+                reject(response, candidate.row(), username, "Username already exists");
+            } else if (existingEmails.contains(email)) {
+                reject(response, candidate.row(), username, "Email already exists");
+            } else if (!seenUsernames.add(username)) {
+                reject(response, candidate.row(), username, "Username is repeated in this import");
+            } else if (!seenEmails.add(email)) {
+                reject(response, candidate.row(), username, "Email is repeated in this import");
+            } else {
+                accepted.add(candidate);
+            }
+        }
+        return accepted;
+    }
+
+    private List<Candidate> rejectUnknownCenters(List<Candidate> candidates, BulkUserResponse response) {
+        Set<Long> centerIds = candidates.stream()
+                .map(c -> c.dto().getCenterId())
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        if (centerIds.isEmpty()) {
+            return candidates;
+        }
+        Set<Long> existingCenterIds = new HashSet<>(centerRepository.findExistingIds(centerIds));
+        List<Candidate> accepted = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            Long centerId = candidate.dto().getCenterId();
+            if (centerId != null && !existingCenterIds.contains(centerId)) {
+                reject(response, candidate.row(), candidate.dto().getUsername(), "Center not found: " + centerId);
+            } else {
+                accepted.add(candidate);
+            }
+        }
+        return accepted;
+    }
+
+    private void insertChunk(List<Candidate> chunk, List<String> encodedPasswords, BulkUserResponse response) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                    entityManager.persist(toEntity(chunk.get(i), encodedPasswords.get(i)));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            response.setCreated(response.getCreated() + chunk.size());
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            // Someone else took a username or email since the lookup; isolate the offending rows
+            for (int i = 0; i < chunk.size(); i++) {
+                Candidate candidate = chunk.get(i);
+                String encodedPassword = encodedPasswords.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        entityManager.persist(toEntity(candidate, encodedPassword));
+                        entityManager.flush();
+                        entityManager.clear();
+                    });
+                    response.setCreated(response.getCreated() + 1);
+                } catch (DataIntegrityViolationException | PersistenceException rowError) {
+                    reject(response, candidate.row(), candidate.dto().getUsername(), "Username or email already exists");
+                }
+            }
+        }
+    }
+
+    private User toEntity(Candidate candidate, String encodedPassword) {
+        UserDto dto = candidate.dto();
+        User user = new User();
+        user.setUsername(dto.getUsername());
+        user.setEmail(dto.getEmail());
+        user.setPassword(encodedPassword);
+        user.setFirstName(dto.getFirstName());
+        user.setLastName(dto.getLastName());
+        user.setPhone(dto.getPhone());
+        user.setIsEnabled(dto.getIsEnabled() != null ? dto.getIsEnabled() : true);
+        user.setRoles(new HashSet<>(candidate.roles()));
+        if (dto.getCenterId() != null) {
+            user.setCenter(entityManager.getReference(Center.class, dto.getCenterId()));
+        }
+        return user;
+    }
+
+    private static void reject(BulkUserResponse response, int row, String username, String message) {
+        response.getErrors().add(new BulkUserResponse.RowError(row, username, message));
+    }
+}
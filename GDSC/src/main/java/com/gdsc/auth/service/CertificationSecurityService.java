@@ -0,0 +1,13 @@
+package com.gdsc.auth.service;
+
+import org.springframework.stereotype.Service;
+
+@Service("certificationSecurityService")
+public class CertificationSecurityService {
+    
+    public boolean isOwner(Long certificationId) {
+        // TODO: Implement proper security check based on current user
+        // For now, return true to allow access
+        return true;
+    }
+}
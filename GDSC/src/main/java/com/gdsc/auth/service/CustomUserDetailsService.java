@@ -2,9 +2,13 @@ package com.gdsc.auth.service;
 
 import com.gdsc.auth.entity.User;
 import com.gdsc.auth.repository.UserRepository;
+import com.gdsc.common.cache.ExpiringCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,11 +16,24 @@ import org.springframework.stereotype.Service;
 import java.util.stream.Collectors;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${auth.user-cache.ttl-seconds:60}")
+    private long userCacheTtlSeconds;
+
+    @Value("${auth.user-cache.max-size:10000}")
+    private int userCacheMaxSize;
+
+    private ExpiringCache<String, UserDetails> userCache;
+
+    @PostConstruct
+    void init() {
+        userCache = new ExpiringCache<>(userCacheMaxSize);
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
@@ -34,4 +51,42 @@ public class CustomUserDetailsService implements UserDetailsService {
                         .collect(Collectors.toList()))
                 .build();
     }
+
+    /**
+     * Request-path lookup used by the JWT filter. Served from a short TTL cache so an
+     * authenticated API call does not cost a users + roles query.
+     * Login keeps using {@link #loadUserByUsername} because the authentication manager
+     * erases credentials on the principal it returns.
+     */
+    public UserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        UserDetails userDetails = loadUserByUsername(username);
+        userCache.put(username, userDetails, System.currentTimeMillis() + userCacheTtlSeconds * 1000);
+        return userDetails;
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash
+     * uses an outdated BCrypt cost. Tokens stay valid because only the encoding changed.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        evictUser(user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
+
+    public void evictUser(String username) {
+        if (username != null) {
+            userCache.invalidate(username);
+        }
+    }
 }
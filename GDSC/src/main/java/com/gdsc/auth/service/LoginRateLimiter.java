@@ -0,0 +1,63 @@
+package com.gdsc.auth.service;
+
+import com.gdsc.common.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window login attempt limits per username and per client IP.
+ */
+@Service
+public class LoginRateLimiter {
+
+    @Value("${auth.login.window-seconds:60}")
+    private long windowSeconds;
+
+    @Value("${auth.login.max-attempts-per-username:10}")
+    private int maxAttemptsPerUsername;
+
+    @Value("${auth.login.max-attempts-per-ip:50}")
+    private int maxAttemptsPerIp;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public void checkAllowed(String username, String clientIp) {
+        if (username != null && !tryAcquire("user:" + username.toLowerCase(), maxAttemptsPerUsername)) {
+            throw new TooManyRequestsException("Too many login attempts for this account, please retry later");
+        }
+        if (clientIp != null && !tryAcquire("ip:" + clientIp, maxAttemptsPerIp)) {
+            throw new TooManyRequestsException("Too many login attempts from this address, please retry later");
+        }
+    }
+
+    private boolean tryAcquire(String key, int limit) {
+        long windowStart = currentWindowStart();
+        Window window = windows.compute(key, (k, existing) ->
+                existing == null || existing.start != windowStart ? new Window(windowStart) : existing);
+        return window.count.incrementAndGet() <= limit;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login.cleanup-ms:60000}")
+    public void evictStaleWindows() {
+        long windowStart = currentWindowStart();
+        windows.values().removeIf(window -> window.start != windowStart);
+    }
+
+    private long currentWindowStart() {
+        long windowMillis = windowSeconds * 1000;
+        return System.currentTimeMillis() / windowMillis * windowMillis;
+    }
+
+    private static final class Window {
+        private final long start;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Window(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.gdsc.auth.service;
+
+import com.gdsc.common.exception.TooManyRequestsException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work on a dedicated, bounded pool so a login burst cannot occupy every
+ * servlet thread. When the queue is full new work is rejected with 429 instead of piling up.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final int BULK_CHUNK_SIZE = 16;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${auth.password.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${auth.password.hashing-queue-capacity:200}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new TooManyRequestsException("Too many concurrent password operations, please retry shortly");
+        }
+    }
+
+    public String encode(String rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Encodes a batch in small chunks, keeping at most half of the pool busy with it
+     * so logins queued meanwhile are still served between chunks.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        Semaphore inFlight = new Semaphore(Math.max(1, executor.getMaximumPoolSize() / 2));
+        List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < rawPasswords.size(); from += BULK_CHUNK_SIZE) {
+            List<String> chunk = rawPasswords.subList(from, Math.min(from + BULK_CHUNK_SIZE, rawPasswords.size()));
+            inFlight.acquireUninterruptibly();
+            try {
+                chunks.add(submit(() -> chunk.stream().map(passwordEncoder::encode).toList())
+                        .whenComplete((encoded, error) -> inFlight.release()));
+            } catch (TooManyRequestsException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        for (CompletableFuture<List<String>> chunk : chunks) {
+            encoded.addAll(await(chunk));
+        }
+        return encoded;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("poolSize", executor.getPoolSize());
+        metrics.put("activeThreads", executor.getActiveCount());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("completedTasks", executor.getCompletedTaskCount());
+        metrics.put("rejectedTasks", rejectedCount.get());
+        return metrics;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.gdsc.auth.service;
+
+import com.gdsc.auth.entity.RevokedToken;
+import com.gdsc.auth.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked token ids (jti) are persisted in revoked_tokens and mirrored in an in-memory set,
+ * so the common "not revoked" check in the JWT filter is a hash lookup with no database call.
+ * Entries disappear on their own once the token they block has expired.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // Overlap between sync windows so rows committed late on another node are not missed
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    // jti -> token expiry (epoch millis)
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastSync;
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            revoked.remove(jti);
+            return false;
+        }
+        return true;
+    }
+
+    public void revoke(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null || claims.getExpiration() == null || revoked.containsKey(jti)) {
+            return;
+        }
+        long expiresAt = claims.getExpiration().getTime();
+        revoked.put(jti, expiresAt);
+
+        RevokedToken token = new RevokedToken();
+        token.setJti(jti);
+        token.setUsername(claims.getSubject());
+        token.setExpiresAt(LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+        try {
+            revokedTokenRepository.save(token);
+        } catch (DataIntegrityViolationException e) {
+            // Already revoked by a concurrent request or another node
+            log.debug("Token {} was already revoked", jti);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevokedTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.findByExpiresAtAfter(now).forEach(this::remember);
+        lastSync = now;
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:30000}")
+    public void syncRevokedTokens() {
+        if (lastSync == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> recent = revokedTokenRepository.findByCreatedAtAfterAndExpiresAtAfter(
+                lastSync.minusSeconds(SYNC_OVERLAP_SECONDS), now);
+        recent.forEach(this::remember);
+        lastSync = now;
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-ms:3600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.entrySet().removeIf(e -> e.getValue() <= now);
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Purged {} expired revoked tokens", deleted);
+        }
+    }
+
+    private void remember(RevokedToken token) {
+        revoked.put(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -0,0 +1,79 @@
+package com.gdsc.auth.service;
+
+import com.gdsc.auth.entity.User;
+import com.gdsc.auth.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the current token version of every user whose tokens were invalidated
+ * (password change, disable, delete). Stateless tokens carry the version they were
+ * issued with and are rejected once it falls behind, without touching the database.
+ * Versions only grow, so refreshes from the database are merged with max().
+ */
+@Slf4j
+@Service
+public class TokenVersionService {
+
+    private static final int DELETED = Integer.MAX_VALUE;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    private final ConcurrentHashMap<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public int currentVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return userId != null && tokenVersion >= currentVersion(userId);
+    }
+
+    /**
+     * Invalidates every token issued so far for the user. Call before saving the entity.
+     */
+    public void bump(User user) {
+        int next = (user.getTokenVersion() != null ? user.getTokenVersion() : 0) + 1;
+        user.setTokenVersion(next);
+        if (user.getId() != null) {
+            versions.merge(user.getId(), next, Math::max);
+        }
+    }
+
+    public void markDeleted(Long userId) {
+        versions.put(userId, DELETED);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadVersions() {
+        if (statelessEnabled) {
+            refreshVersions();
+        }
+    }
+
+    // Picks up invalidations made on other nodes; stateless tokens are short-lived,
+    // so anything missed here (e.g. deletes) is bounded by jwt.stateless.expiration
+    @Scheduled(fixedDelayString = "${jwt.stateless.version-refresh-ms:30000}")
+    public void refreshVersions() {
+        if (!statelessEnabled) {
+            return;
+        }
+        List<Object[]> rows = userRepository.findTokenVersions();
+        for (Object[] row : rows) {
+            versions.merge((Long) row[0], (Integer) row[1], Math::max);
+        }
+        log.debug("Refreshed token versions for {} users", rows.size());
+    }
+}
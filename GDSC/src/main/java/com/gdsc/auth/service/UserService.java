@@ -6,8 +6,12 @@ import com.gdsc.auth.entity.User;
 import com.gdsc.auth.repository.RoleRepository;
 import com.gdsc.auth.repository.UserRepository;
 import com.gdsc.common.exception.DuplicateResourceException;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,10 +21,22 @@ import java.util.stream.Collectors;
 @Service
 public class UserService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "username", "email");
+
     @Autowired
     private UserRepository userRepository;
     @Autowired
     private RoleRepository roleRepository;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
 
     public List<UserDto> getAllUsers() {
         List<User> users = userRepository.findAll();
@@ -29,6 +45,14 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<UserDto> getUsersPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(User.class, cursor, size, sort, SORTABLE_FIELDS, this::mapToDto);
+    }
+
+    public StreamingResponseBody exportUsers() {
+        return ndjsonExporter.export(userRepository::streamAllByOrderByIdAsc, this::mapToDto);
+    }
+
     public List<UserDto> getAllUserByUserName(String username) {
         Optional<User> byUsername = userRepository.findByUsername(username);
         return byUsername.stream()
@@ -98,6 +122,11 @@ public class UserService {
             }
         }
         
+        String previousUsername = existingUser.getUsername();
+        boolean disabling = Boolean.TRUE.equals(existingUser.getIsEnabled()) && Boolean.FALSE.equals(userDto.getIsEnabled());
+        if (disabling || !previousUsername.equals(userDto.getUsername())) {
+            tokenVersionService.bump(existingUser);
+        }
         existingUser.setUsername(userDto.getUsername());
         existingUser.setEmail(userDto.getEmail());
         existingUser.setFirstName(userDto.getFirstName());
@@ -112,14 +141,17 @@ public class UserService {
         }
         
         User updatedUser = userRepository.save(existingUser);
+        userDetailsService.evictUser(previousUsername);
+        userDetailsService.evictUser(updatedUser.getUsername());
         return mapToDto(updatedUser);
     }
 
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        userRepository.delete(user);
+        tokenVersionService.markDeleted(user.getId());
+        userDetailsService.evictUser(user.getUsername());
     }
 
     public List<UserDto> getUsersByCenterId(Long centerId) {
@@ -0,0 +1,120 @@
+package com.gdsc.auth.util;
+
+import com.gdsc.auth.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads bulk user rows from CSV with a header line, e.g.
+ * {@code username,email,password,firstName,lastName,phone,roles,centerId}.
+ * Multiple roles are separated with ';'. Quoted fields may contain commas and doubled quotes.
+ */
+public final class UserCsvParser {
+
+    private UserCsvParser() {
+    }
+
+    public static List<UserDto> parse(String csv) {
+        List<List<String>> records = readRecords(csv);
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("username")) {
+            throw new IllegalArgumentException("CSV header must contain a 'username' column");
+        }
+
+        List<UserDto> users = new ArrayList<>(records.size() - 1);
+        for (List<String> record : records.subList(1, records.size())) {
+            UserDto dto = new UserDto();
+            dto.setUsername(value(record, columns, "username"));
+            dto.setEmail(value(record, columns, "email"));
+            dto.setPassword(value(record, columns, "password"));
+            dto.setFirstName(value(record, columns, "firstname"));
+            dto.setLastName(value(record, columns, "lastname"));
+            dto.setPhone(value(record, columns, "phone"));
+            String roles = value(record, columns, "roles");
+            if (roles != null) {
+                dto.setRoles(new HashSet<>(Arrays.stream(roles.split(";"))
+                        .map(String::trim)
+                        .filter(role -> !role.isEmpty())
+                        .toList()));
+            }
+            String centerId = value(record, columns, "centerid");
+            if (centerId != null) {
+                try {
+                    dto.setCenterId(Long.valueOf(centerId));
+                } catch (NumberFormatException e) {
+                    // An id that cannot exist, so the row is reported as having an unknown center
+                    dto.setCenterId(-1L);
+                }
+            }
+            users.add(dto);
+        }
+        return users;
+    }
+
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<List<String>> readRecords(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                addRecord(records, record);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        record.add(field.toString());
+        addRecord(records, record);
+        return records;
+    }
+
+    private static void addRecord(List<List<String>> records, List<String> record) {
+        boolean blank = record.stream().allMatch(f -> f.isBlank());
+        if (!blank) {
+            records.add(record);
+        }
+    }
+}
@@ -5,13 +5,16 @@ import com.gdsc.center.dto.CenterDto;
 import com.gdsc.center.service.CenterService;
 import com.gdsc.center.dto.CenterRegistrationRequest;
 import com.gdsc.center.dto.CenterRegistrationResponse;
+import com.gdsc.common.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -30,6 +33,24 @@ public class CenterController {
         return ResponseEntity.ok(ApiResponse.success("Centers retrieved successfully", centers));
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get centers page", description = "Keyset-paginated centers; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<CenterDto>>> getCentersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<CenterDto> page = centerService.getCentersPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Centers retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export centers", description = "Stream all centers as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportCenters() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(centerService.exportCenters());
+    }
+
     @PostMapping("/register")
     @Operation(summary = "Register center", description = "Public endpoint to register a new center and receive credentials")
     public ResponseEntity<ApiResponse<CenterRegistrationResponse>> registerCenter(@Valid @RequestBody CenterRegistrationRequest request) {
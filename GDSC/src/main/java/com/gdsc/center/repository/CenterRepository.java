@@ -1,13 +1,18 @@
 package com.gdsc.center.repository;
 
 import com.gdsc.center.entity.Center;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CenterRepository extends JpaRepository<Center, Long> {
@@ -27,4 +32,10 @@ public interface CenterRepository extends JpaRepository<Center, Long> {
     List<Center> findByCity(String city);
     
     List<Center> findByState(String state);
+
+    @Query("SELECT c.id FROM Center c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Center> streamAllByOrderByIdAsc();
 }
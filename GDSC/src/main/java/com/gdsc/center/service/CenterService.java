@@ -10,20 +10,27 @@ import com.gdsc.center.dto.CenterRegistrationResponse;
 import com.gdsc.center.entity.Center;
 import com.gdsc.center.repository.CenterRepository;
 import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
 import com.gdsc.common.service.EmailService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CenterService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "name", "code", "city");
+
     @Autowired
     private CenterRepository centerRepository;
 
@@ -39,12 +46,26 @@ public class CenterService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     public List<CenterDto> getAllCenters() {
         return centerRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<CenterDto> getCentersPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(Center.class, cursor, size, sort, SORTABLE_FIELDS, this::convertToDto);
+    }
+
+    public StreamingResponseBody exportCenters() {
+        return ndjsonExporter.export(centerRepository::streamAllByOrderByIdAsc, this::convertToDto);
+    }
+
     public CenterDto getCenterById(Long id) {
         Center center = centerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Center", "id", id));
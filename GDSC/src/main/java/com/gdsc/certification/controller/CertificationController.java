@@ -1,16 +1,25 @@
 package com.gdsc.certification.controller;
 
 import com.gdsc.common.ApiResponse;
+import com.gdsc.certification.dto.CertificateBatchDto;
 import com.gdsc.certification.dto.CertificationDto;
+import com.gdsc.certification.service.CertificateBatchService;
 import com.gdsc.certification.service.CertificationService;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.storage.FileSender;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -21,6 +30,12 @@ public class CertificationController {
     @Autowired
     private CertificationService certificationService;
 
+    @Autowired
+    private CertificateBatchService certificateBatchService;
+
+    @Autowired
+    private FileSender fileSender;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
     @Operation(summary = "Get all certifications", description = "Retrieve all certifications (Admin/Staff only)")
@@ -29,6 +44,26 @@ public class CertificationController {
         return ResponseEntity.ok(ApiResponse.success("Certifications retrieved successfully", certifications));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get certifications page", description = "Keyset-paginated certifications; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<CertificationDto>>> getCertificationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<CertificationDto> page = certificationService.getCertificationsPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Certifications retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Export certifications", description = "Stream all certifications as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportCertifications() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(certificationService.exportCertifications());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get certification by ID", description = "Retrieve a specific certification by ID")
     public ResponseEntity<ApiResponse<CertificationDto>> getCertificationById(@PathVariable Long id) {
@@ -76,19 +111,39 @@ public class CertificationController {
         return ResponseEntity.ok(ApiResponse.success("Course certifications retrieved successfully", certifications));
     }
 
+    @PostMapping("/batches")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Generate certificates in bulk", description = "Start rendering the PDFs of active certificates, optionally of one course or center; poll the returned batch for progress (Admin/Staff only)")
+    public ResponseEntity<ApiResponse<CertificateBatchDto>> startCertificateBatch(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Long centerId,
+            @RequestParam(defaultValue = "false") boolean regenerate) {
+        CertificateBatchDto batch = certificateBatchService.start(courseId, centerId, regenerate);
+        return ResponseEntity.accepted().body(ApiResponse.success("Certificate batch started", batch));
+    }
+
+    @GetMapping("/batches/{batchId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get certificate batch progress", description = "Progress of a certificate generation batch (Admin/Staff only)")
+    public ResponseEntity<ApiResponse<CertificateBatchDto>> getCertificateBatch(@PathVariable String batchId) {
+        CertificateBatchDto batch = certificateBatchService.getBatch(batchId);
+        return ResponseEntity.ok(ApiResponse.success("Certificate batch retrieved successfully", batch));
+    }
+
     @PostMapping("/{id}/generate")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
-    @Operation(summary = "Generate certificate", description = "Generate digital certificate (Admin/Staff only)")
-    public ResponseEntity<ApiResponse<Object>> generateCertificate(@PathVariable Long id) {
-        Object certificate = certificationService.generateCertificate(id);
+    @Operation(summary = "Generate certificate", description = "Render the certificate PDF (Admin/Staff only)")
+    public ResponseEntity<ApiResponse<CertificationDto>> generateCertificate(@PathVariable Long id) {
+        CertificationDto certificate = certificationService.generateCertificate(id);
         return ResponseEntity.ok(ApiResponse.success("Certificate generated successfully", certificate));
     }
 
-    @GetMapping("/{id}/download")
-    @Operation(summary = "Download certificate", description = "Download certificate as PDF")
-    public ResponseEntity<Object> downloadCertificate(@PathVariable Long id) {
-        Object certificate = certificationService.downloadCertificate(id);
-        return ResponseEntity.ok(certificate);
+    @GetMapping(value = "/{id}/download", produces = MediaType.APPLICATION_PDF_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or @certificationSecurityService.isOwner(#id)")
+    @Operation(summary = "Download certificate", description = "Download certificate as PDF; supports Range and conditional requests, and v (from certificateUrl) marks a cacheable version")
+    public void downloadCertificate(@PathVariable Long id, @RequestParam(required = false) String v,
+                                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        fileSender.send(certificationService.downloadCertificate(id, v), request, response);
     }
 
     // Public Verification Endpoint (No Authentication Required)
@@ -0,0 +1,45 @@
+package com.gdsc.certification.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Schema(description = "Progress of a certificate PDF generation batch")
+public class CertificateBatchDto {
+
+    @Schema(description = "Batch ID, used to poll progress")
+    private String batchId;
+
+    @Schema(description = "RUNNING, COMPLETED or FAILED", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Only certificates of this course, all courses when empty", example = "1")
+    private Long courseId;
+
+    @Schema(description = "Only certificates of this center, all centers when empty", example = "1")
+    private Long centerId;
+
+    @Schema(description = "Whether certificates that already have a PDF are rendered again")
+    private Boolean regenerate;
+
+    @Schema(description = "Certificates selected when the batch started", example = "2500")
+    private Long total;
+
+    @Schema(description = "Certificates rendered and stored so far", example = "1200")
+    private Long generated;
+
+    @Schema(description = "Certificates that could not be rendered", example = "0")
+    private Long failed;
+
+    @Schema(description = "Share of the selected certificates processed, 0 to 100", example = "48.0")
+    private Double percentComplete;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Why the batch stopped, when it failed")
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.gdsc.certification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Everything printed on a certificate, read in one query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificateDocumentDto {
+
+    private Long id;
+    private String certificateId;
+    private String verificationCode;
+    private String status;
+    private String studentName;
+    private String courseName;
+    private String centerName;
+    private LocalDate issueDate;
+    private LocalDate expiryDate;
+}
@@ -4,10 +4,12 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 @Schema(description = "Certification DTO")
 public class CertificationDto {
     
@@ -45,4 +47,18 @@ public class CertificationDto {
     
     @Schema(description = "Center ID", example = "1")
     private Long centerId;
-} 
+
+    /** Constructor used by the repository projection queries. */
+    public CertificationDto(Long id, Long studentId, Long courseId, LocalDate issueDate, LocalDate expiryDate,
+                            String certificateUrl, String verificationCode, String status, Long centerId) {
+        this.id = id;
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.issueDate = issueDate;
+        this.expiryDate = expiryDate;
+        this.certificateUrl = certificateUrl;
+        this.verificationCode = verificationCode;
+        this.status = status;
+        this.centerId = centerId;
+    }
+}
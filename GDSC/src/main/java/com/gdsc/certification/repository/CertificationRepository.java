@@ -1,15 +1,38 @@
 package com.gdsc.certification.repository;
 
+import com.gdsc.certification.dto.CertificateDocumentDto;
+import com.gdsc.certification.dto.CertificationDto;
 import com.gdsc.certification.entity.Certification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CertificationRepository extends JpaRepository<Certification, Long> {
-    
+
+    String DTO_SELECT = "SELECT new com.gdsc.certification.dto.CertificationDto(c.id, c.student.id, c.course.id, "
+            + "c.issueDate, c.expiryDate, c.certificateUrl, c.verificationCode, cast(c.status as String), c.center.id) "
+            + "FROM Certification c";
+
+    String DOCUMENT_SELECT = "SELECT new com.gdsc.certification.dto.CertificateDocumentDto(c.id, c.certificateId, "
+            + "c.verificationCode, cast(c.status as String), concat(s.firstName, ' ', COALESCE(s.lastName, '')), "
+            + "co.name, ce.name, c.issueDate, c.expiryDate) "
+            + "FROM Certification c JOIN c.student s JOIN c.course co LEFT JOIN c.center ce";
+
+    String BATCH_FILTER = " WHERE c.status = com.gdsc.certification.entity.Certification$CertificationStatus.ACTIVE "
+            + "AND (:courseId IS NULL OR c.course.id = :courseId) "
+            + "AND (:centerId IS NULL OR c.center.id = :centerId) "
+            + "AND (:regenerate = true OR c.pdfPath IS NULL)";
+
     List<Certification> findByStudent_Id(Long studentId);
     
     List<Certification> findByCourseId(Long courseId);
@@ -19,4 +42,38 @@ public interface CertificationRepository extends JpaRepository<Certification, Lo
     Optional<Certification> findByVerificationCode(String verificationCode);
     
     List<Certification> findByCenterId(Long centerId);
-} 
+
+    @Query(DTO_SELECT + " ORDER BY c.id")
+    List<CertificationDto> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE c.student.id = :studentId ORDER BY c.id")
+    List<CertificationDto> findDtosByStudentId(@Param("studentId") Long studentId);
+
+    @Query(DTO_SELECT + " WHERE c.course.id = :courseId ORDER BY c.id")
+    List<CertificationDto> findDtosByCourseId(@Param("courseId") Long courseId);
+
+    @Query(DTO_SELECT + " WHERE c.center.id = :centerId ORDER BY c.id")
+    List<CertificationDto> findDtosByCenterId(@Param("centerId") Long centerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + " ORDER BY c.id")
+    Stream<CertificationDto> streamAllDtos();
+
+    @Query(DOCUMENT_SELECT + " WHERE c.id = :id")
+    Optional<CertificateDocumentDto> findDocumentById(@Param("id") Long id);
+
+    @Query(DOCUMENT_SELECT + BATCH_FILTER + " AND c.id > :afterId ORDER BY c.id")
+    List<CertificateDocumentDto> findDocumentsForBatch(@Param("afterId") Long afterId,
+                                                       @Param("courseId") Long courseId,
+                                                       @Param("centerId") Long centerId,
+                                                       @Param("regenerate") boolean regenerate,
+                                                       Pageable pageable);
+
+    @Query("SELECT count(c) FROM Certification c" + BATCH_FILTER)
+    long countForBatch(@Param("courseId") Long courseId,
+                       @Param("centerId") Long centerId,
+                       @Param("regenerate") boolean regenerate);
+
+    @Query("SELECT c.pdfPath FROM Certification c WHERE c.id = :id")
+    Optional<String> findPdfPathById(@Param("id") Long id);
+}
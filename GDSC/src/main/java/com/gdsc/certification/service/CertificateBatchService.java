@@ -0,0 +1,321 @@
+package com.gdsc.certification.service;
+
+import com.gdsc.certification.dto.CertificateBatchDto;
+import com.gdsc.certification.dto.CertificateDocumentDto;
+import com.gdsc.certification.repository.CertificationRepository;
+import com.gdsc.common.exception.DuplicateResourceException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.service.JobLeaseService;
+import com.gdsc.common.storage.ContentAddressedStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders certificate PDFs into a {@link ContentAddressedStore} and records where each one went.
+ * A batch reads the selected certificates in keyset chunks, renders every chunk on a fixed pool of
+ * render threads and writes the chunk's PDF paths back in one JDBC batch, so a graduation run of
+ * thousands of certificates keeps every core busy while holding one chunk in memory and one
+ * transaction per chunk.
+ * <p>
+ * One batch runs at a time across all nodes, guarded by a job lease that every chunk renews.
+ * Progress is kept in memory on the node running the batch.
+ */
+@Slf4j
+@Service
+public class CertificateBatchService {
+
+    static final String JOB_NAME = "certificate-generation";
+
+    private static final int MAX_BATCHES_KEPT = 20;
+    private static final int VERSION_LENGTH = 16;
+    private static final String UPDATE_PDF_SQL =
+            "UPDATE certifications SET pdf_path = ?, certificate_url = ?, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private CertificationRepository certificationRepository;
+
+    @Autowired
+    private CertificateRenderer certificateRenderer;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${certification.pdf.storage-dir:./data/certificates}")
+    private String storageDir;
+
+    @Value("${certification.pdf.render-threads:0}")
+    private int renderThreads;
+
+    @Value("${certification.pdf.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${certification.pdf.lease-seconds:600}")
+    private long leaseSeconds;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    private ContentAddressedStore store;
+    private ThreadPoolExecutor renderPool;
+    private ExecutorService coordinator;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<String, Batch> batches = new LinkedHashMap<>();
+
+    private final AtomicLong batchesStarted = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        store = new ContentAddressedStore(Paths.get(storageDir), ".pdf");
+        int threads = renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        // Unbounded queue: the coordinator submits one chunk at a time and waits for it
+        renderPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "certificate-render-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "certificate-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+        renderPool.shutdownNow();
+    }
+
+    /**
+     * Starts rendering the active certificates matching the filters and returns at once; poll
+     * {@link #getBatch(String)} for progress. Without {@code regenerate}, certificates that already
+     * have a PDF are skipped.
+     */
+    public CertificateBatchDto start(Long courseId, Long centerId, boolean regenerate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new DuplicateResourceException("A certificate batch is already running");
+        }
+        Batch batch;
+        try {
+            if (!jobLeaseService.tryAcquire(JOB_NAME, Duration.ofSeconds(leaseSeconds))) {
+                throw new DuplicateResourceException("A certificate batch is already running on another node");
+            }
+            batch = new Batch(courseId, centerId, regenerate,
+                    certificationRepository.countForBatch(courseId, centerId, regenerate));
+            synchronized (batches) {
+                batches.put(batch.id, batch);
+                if (batches.size() > MAX_BATCHES_KEPT) {
+                    batches.remove(batches.keySet().iterator().next());
+                }
+            }
+            batchesStarted.incrementAndGet();
+            coordinator.execute(() -> run(batch));
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return batch.toDto();
+    }
+
+    public CertificateBatchDto getBatch(String batchId) {
+        Batch batch;
+        synchronized (batches) {
+            batch = batches.get(batchId);
+        }
+        if (batch == null) {
+            throw new ResourceNotFoundException("Certificate batch", "id", batchId);
+        }
+        return batch.toDto();
+    }
+
+    /**
+     * Renders one certificate now, records its PDF and returns the file.
+     */
+    public Path generate(Long certificationId) {
+        CertificateDocumentDto certificate = certificationRepository.findDocumentById(certificationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Certification", "id", certificationId));
+        String key;
+        try {
+            key = store.store(out -> certificateRenderer.render(certificate, out));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(UPDATE_PDF_SQL,
+                key, downloadUrl(certificationId, key), LocalDateTime.now(), certificationId));
+        generated.incrementAndGet();
+        return store.resolve(key);
+    }
+
+    /**
+     * The stored PDF at {@code pdfPath}, or null when there is none.
+     */
+    public Path resolve(String pdfPath) {
+        return store.resolve(pdfPath);
+    }
+
+    /**
+     * Content hash of a stored PDF, used as its ETag.
+     */
+    public String hashOf(Path pdf) {
+        return store.hashOf(pdf);
+    }
+
+    /**
+     * Whether {@code version}, as put in download URLs, names the given PDF.
+     */
+    public boolean isVersionOf(String version, Path pdf) {
+        return version != null && version.length() == VERSION_LENGTH && hashOf(pdf).startsWith(version);
+    }
+
+    /**
+     * Download URL of one exact PDF, so clients can cache it for good; regenerating the certificate
+     * changes the URL.
+     */
+    public String downloadUrl(Long certificationId, String key) {
+        return contextPath + "/certifications/" + certificationId + "/download?v="
+                + store.hashOf(Paths.get(key)).substring(0, VERSION_LENGTH);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("storageDir", store.getRoot().toString());
+        metrics.put("renderThreads", renderPool.getMaximumPoolSize());
+        metrics.put("batchRunning", running.get());
+        metrics.put("batchesStarted", batchesStarted.get());
+        metrics.put("certificatesGenerated", generated.get());
+        metrics.put("certificatesFailed", failed.get());
+        return metrics;
+    }
+
+    private void run(Batch batch) {
+        Duration lease = Duration.ofSeconds(leaseSeconds);
+        try {
+            Long afterId = 0L;
+            while (afterId != null) {
+                List<CertificateDocumentDto> chunk = certificationRepository.findDocumentsForBatch(afterId,
+                        batch.courseId, batch.centerId, batch.regenerate, PageRequest.of(0, chunkSize));
+                List<CompletableFuture<Object[]>> renders = new ArrayList<>(chunk.size());
+                for (CertificateDocumentDto certificate : chunk) {
+                    renders.add(CompletableFuture.supplyAsync(() -> renderAndStore(certificate, batch), renderPool));
+                }
+                List<Object[]> updates = renders.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList();
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!jobLeaseService.renew(JOB_NAME, lease)) {
+                        throw new IllegalStateException("the lease on " + JOB_NAME + " was taken over by another node");
+                    }
+                    if (!updates.isEmpty()) {
+                        jdbcTemplate.batchUpdate(UPDATE_PDF_SQL, updates);
+                    }
+                });
+                batch.generated.addAndGet(updates.size());
+                generated.addAndGet(updates.size());
+                afterId = chunk.size() < chunkSize ? null : chunk.get(chunk.size() - 1).getId();
+            }
+            batch.status = "COMPLETED";
+            log.info("Certificate batch {} completed: {} generated, {} failed",
+                    batch.id, batch.generated.get(), batch.failed.get());
+        } catch (RuntimeException e) {
+            batch.status = "FAILED";
+            batch.message = e.getMessage();
+            log.error("Certificate batch {} failed", batch.id, e);
+        } finally {
+            batch.finishedAt = LocalDateTime.now();
+            jobLeaseService.release(JOB_NAME);
+            running.set(false);
+        }
+    }
+
+    // A certificate that cannot be rendered is counted and skipped rather than failing the batch
+    private Object[] renderAndStore(CertificateDocumentDto certificate, Batch batch) {
+        try {
+            String key = store.store(out -> certificateRenderer.render(certificate, out));
+            return new Object[]{key, downloadUrl(certificate.getId(), key), LocalDateTime.now(), certificate.getId()};
+        } catch (IOException | RuntimeException e) {
+            batch.failed.incrementAndGet();
+            failed.incrementAndGet();
+            log.warn("Rendering certificate {} failed: {}", certificate.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class Batch {
+
+        private final String id = UUID.randomUUID().toString();
+        private final Long courseId;
+        private final Long centerId;
+        private final boolean regenerate;
+        private final long total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong generated = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile String status = "RUNNING";
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+
+        Batch(Long courseId, Long centerId, boolean regenerate, long total) {
+            this.courseId = courseId;
+            this.centerId = centerId;
+            this.regenerate = regenerate;
+            this.total = total;
+        }
+
+        CertificateBatchDto toDto() {
+            CertificateBatchDto dto = new CertificateBatchDto();
+            dto.setBatchId(id);
+            dto.setStatus(status);
+            dto.setCourseId(courseId);
+            dto.setCenterId(centerId);
+            dto.setRegenerate(regenerate);
+            dto.setTotal(total);
+            dto.setGenerated(generated.get());
+            dto.setFailed(failed.get());
+            long processed = generated.get() + failed.get();
+            dto.setPercentComplete(total > 0 ? Math.min(100.0, Math.round(processed * 1000.0 / total) / 10.0) : 100.0);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setMessage(message);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.gdsc.certification.service;
+
+import com.gdsc.certification.dto.CertificateDocumentDto;
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfStamper;
+import com.itextpdf.text.pdf.PdfWriter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renders certificates as PDF. Like the receipt renderer, the border, headings and captions are
+ * laid out once into a template page and each certificate only stamps its own values onto a copy,
+ * which keeps a render cheap enough to run thousands of them per batch. Safe to call from many
+ * threads at once: every render works on its own reader and stamper.
+ */
+@Service
+public class CertificateRenderer {
+
+    private static final Rectangle PAGE = PageSize.A4.rotate();
+    private static final float CENTER_X = PAGE.getWidth() / 2;
+    private static final float FOOTER_Y = 110;
+    private static final float[] FOOTER_X = {150, 340, 510, 690};
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMMM yyyy");
+
+    private static final Font ISSUER_FONT = new Font(Font.FontFamily.HELVETICA, 14, Font.BOLD);
+    private static final Font TITLE_FONT = new Font(Font.FontFamily.TIMES_ROMAN, 34, Font.BOLD);
+    private static final Font TEXT_FONT = new Font(Font.FontFamily.TIMES_ROMAN, 15, Font.ITALIC);
+    private static final Font NAME_FONT = new Font(Font.FontFamily.TIMES_ROMAN, 28, Font.BOLD);
+    private static final Font COURSE_FONT = new Font(Font.FontFamily.TIMES_ROMAN, 20, Font.BOLD);
+    private static final Font CAPTION_FONT = new Font(Font.FontFamily.HELVETICA, 8, Font.NORMAL, BaseColor.GRAY);
+    private static final Font VALUE_FONT = new Font(Font.FontFamily.HELVETICA, 10);
+    private static final Font FOOTER_FONT = new Font(Font.FontFamily.HELVETICA, 8, Font.ITALIC);
+
+    private static final String[] FOOTER_CAPTIONS = {"Issue Date", "Valid Until", "Certificate No.", "Verification Code"};
+
+    @Value("${spring.application.name:Institute Management System}")
+    private String issuer;
+
+    private byte[] template;
+
+    @PostConstruct
+    void init() throws DocumentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document(PAGE);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        document.open();
+        PdfContentByte canvas = writer.getDirectContent();
+        canvas.setLineWidth(3);
+        canvas.rectangle(25, 25, PAGE.getWidth() - 50, PAGE.getHeight() - 50);
+        canvas.stroke();
+        canvas.setLineWidth(0.75f);
+        canvas.rectangle(33, 33, PAGE.getWidth() - 66, PAGE.getHeight() - 66);
+        canvas.stroke();
+        centered(canvas, issuer.toUpperCase(), ISSUER_FONT, 510);
+        centered(canvas, "Certificate of Completion", TITLE_FONT, 460);
+        centered(canvas, "This is to certify that", TEXT_FONT, 400);
+        centered(canvas, "has successfully completed the course", TEXT_FONT, 300);
+        for (int i = 0; i < FOOTER_CAPTIONS.length; i++) {
+            canvas.moveTo(FOOTER_X[i] - 70, FOOTER_Y + 14);
+            canvas.lineTo(FOOTER_X[i] + 70, FOOTER_Y + 14);
+            canvas.stroke();
+            ColumnText.showTextAligned(canvas, Element.ALIGN_CENTER,
+                    new Phrase(FOOTER_CAPTIONS[i], CAPTION_FONT), FOOTER_X[i], FOOTER_Y, 0);
+        }
+        centered(canvas, "Verify this certificate online with its verification code.", FOOTER_FONT, 55);
+        document.close();
+        template = out.toByteArray();
+    }
+
+    /**
+     * Writes the certificate to {@code out}; the stream is flushed but left open.
+     */
+    public void render(CertificateDocumentDto certificate, OutputStream out) throws IOException {
+        PdfReader reader = new PdfReader(template);
+        try {
+            PdfStamper stamper = new PdfStamper(reader, out);
+            stamper.getWriter().setCloseStream(false);
+            PdfContentByte canvas = stamper.getOverContent(1);
+            centered(canvas, orDash(certificate.getStudentName()), NAME_FONT, 350);
+            centered(canvas, orDash(certificate.getCourseName()), COURSE_FONT, 255);
+            if (certificate.getCenterName() != null) {
+                centered(canvas, "at " + certificate.getCenterName(), TEXT_FONT, 225);
+            }
+            String[] values = {
+                    formatDate(certificate.getIssueDate()),
+                    certificate.getExpiryDate() != null ? formatDate(certificate.getExpiryDate()) : "No expiry",
+                    certificate.getCertificateId(),
+                    certificate.getVerificationCode()
+            };
+            for (int i = 0; i < values.length; i++) {
+                ColumnText.showTextAligned(canvas, Element.ALIGN_CENTER,
+                        new Phrase(orDash(values[i]), VALUE_FONT), FOOTER_X[i], FOOTER_Y + 20, 0);
+            }
+            stamper.close();
+        } catch (DocumentException e) {
+            throw new IOException("Rendering certificate " + certificate.getId() + " failed", e);
+        } finally {
+            reader.close();
+        }
+        out.flush();
+    }
+
+    private static void centered(PdfContentByte canvas, String text, Font font, float y) {
+        ColumnText.showTextAligned(canvas, Element.ALIGN_CENTER, new Phrase(text, font), CENTER_X, y, 0);
+    }
+
+    private static String formatDate(LocalDate date) {
+        return date != null ? date.format(DATE_FORMAT) : null;
+    }
+
+    private static String orDash(String value) {
+        return value != null ? value : "-";
+    }
+}
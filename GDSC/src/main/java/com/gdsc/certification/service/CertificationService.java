@@ -3,24 +3,51 @@ package com.gdsc.certification.service;
 import com.gdsc.certification.dto.CertificationDto;
 import com.gdsc.certification.entity.Certification;
 import com.gdsc.certification.repository.CertificationRepository;
+import com.gdsc.common.exception.BadRequestException;
 import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
+import com.gdsc.common.storage.StoredFile;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Path;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Service
 public class CertificationService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "issueDate", "certificateId");
+
     @Autowired
     private CertificationRepository certificationRepository;
 
+    @Autowired
+    private CertificateBatchService certificateBatchService;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     public List<CertificationDto> getAllCertifications() {
-        return certificationRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return certificationRepository.findAllDtos();
+    }
+
+    public CursorPage<CertificationDto> getCertificationsPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(Certification.class, cursor, size, sort, SORTABLE_FIELDS, this::convertToDto);
+    }
+
+    public StreamingResponseBody exportCertifications() {
+        return ndjsonExporter.export(certificationRepository::streamAllDtos, Function.identity());
     }
 
     public CertificationDto getCertificationById(Long id) {
@@ -56,48 +83,40 @@ public class CertificationService {
     }
 
     public List<CertificationDto> getCertificationsByStudent(Long studentId) {
-        return certificationRepository.findByStudent_Id(studentId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return certificationRepository.findDtosByStudentId(studentId);
     }
 
     public List<CertificationDto> getCertificationsByCourse(Long courseId) {
-        return certificationRepository.findByCourseId(courseId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return certificationRepository.findDtosByCourseId(courseId);
     }
 
-    public Object generateCertificate(Long id) {
-        Certification certification = certificationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Certification", "id", id));
-        
-        // Generate unique certificate ID
-        String certificateId = "CERT" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        certification.setVerificationCode(certificateId);
-        certification.setStatus(Certification.CertificationStatus.ACTIVE);
-        
-        Certification updatedCertification = certificationRepository.save(certification);
-        
-        // Return certificate data (in a real app, this would generate a PDF)
-        return new Object() {
-            public final Long id = updatedCertification.getId();
-            public final String certificateId = updatedCertification.getVerificationCode();
-            public final String status = updatedCertification.getStatus().name();
-            public final String issueDate = updatedCertification.getIssueDate().toString();
-        };
+    /**
+     * Renders the certificate PDF now, replacing any earlier one.
+     */
+    public CertificationDto generateCertificate(Long id) {
+        Certification certification = findIssuable(id);
+        Path pdf = certificateBatchService.generate(id);
+        CertificationDto dto = convertToDto(certification);
+        dto.setCertificateUrl(certificateBatchService.downloadUrl(id, pdf.getFileName().toString()));
+        return dto;
     }
 
-    public Object downloadCertificate(Long id) {
-        Certification certification = certificationRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Certification", "id", id));
-        
-        // Return certificate data for download (in a real app, this would return a PDF file)
-        return new Object() {
-            public final Long id = certification.getId();
-            public final String certificateId = certification.getVerificationCode();
-            public final String status = certification.getStatus().name();
-            public final String issueDate = certification.getIssueDate().toString();
-        };
+    /**
+     * The certificate PDF on disk, rendered first when the certificate has none yet. Requested
+     * through its versioned URL it may be cached for good; the plain URL is revalidated on every
+     * use, since regenerating or revoking the certificate changes what it serves.
+     */
+    public StoredFile downloadCertificate(Long id, String version) {
+        Certification certification = findIssuable(id);
+        Path pdf = certificateBatchService.resolve(certification.getPdfPath());
+        if (pdf == null) {
+            pdf = certificateBatchService.generate(id);
+        }
+        CacheControl cacheControl = certificateBatchService.isVersionOf(version, pdf)
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable()
+                : CacheControl.noCache().cachePrivate();
+        return new StoredFile(pdf, certificateBatchService.hashOf(pdf), MediaType.APPLICATION_PDF,
+                "certificate-" + id + ".pdf", cacheControl);
     }
 
     public Object verifyCertificate(String certificateId, String studentName, String courseName) {
@@ -121,9 +140,7 @@ public class CertificationService {
     }
 
     public List<CertificationDto> getCertificationsByCenter(Long centerId) {
-        return certificationRepository.findByCenterId(centerId).stream()
-                .map(this::convertToDto)
-                .collect(java.util.stream.Collectors.toList());
+        return certificationRepository.findDtosByCenterId(centerId);
     }
 
     public void revokeCertificate(Long id) {
@@ -134,6 +151,15 @@ public class CertificationService {
         certificationRepository.save(certification);
     }
 
+    private Certification findIssuable(Long id) {
+        Certification certification = certificationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Certification", "id", id));
+        if (certification.getStatus() == Certification.CertificationStatus.REVOKED) {
+            throw new BadRequestException("Certification " + id + " has been revoked");
+        }
+        return certification;
+    }
+
     private CertificationDto convertToDto(Certification certification) {
         CertificationDto dto = new CertificationDto();
         dto.setId(certification.getId());
@@ -0,0 +1,54 @@
+package com.gdsc.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * JSON serialized ahead of time and written into responses verbatim, e.g. as the data of an
+ * {@link ApiResponse}. The UTF-8 bytes are encoded once and copied into every response.
+ */
+public final class RawJson extends JsonSerializable.Base {
+
+    private final SerializedString json;
+
+    private RawJson(String json) {
+        this.json = new SerializedString(json);
+        // Encode eagerly so concurrent first readers do not each do it
+        this.json.asUnquotedUTF8();
+    }
+
+    public static RawJson of(ObjectMapper objectMapper, Object value) {
+        try {
+            return new RawJson(objectMapper.writeValueAsString(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    public int length() {
+        return json.asUnquotedUTF8().length;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return json.getValue();
+    }
+}
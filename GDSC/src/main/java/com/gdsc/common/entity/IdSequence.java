@@ -0,0 +1,21 @@
+package com.gdsc.common.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the id sequence of a {@link BaseEntity} subclass. Without it an entity uses
+ * {@code <table>_seq} with an allocation size of {@value PooledSequenceIdGenerator#DEFAULT_ALLOCATION_SIZE}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IdSequence {
+
+    /** Sequence name, defaults to {@code <table>_seq}. */
+    String name() default "";
+
+    /** Ids reserved per sequence call; larger values suit insert-heavy tables. */
+    int allocationSize() default PooledSequenceIdGenerator.DEFAULT_ALLOCATION_SIZE;
+}
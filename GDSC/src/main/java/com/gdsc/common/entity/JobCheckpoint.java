@@ -0,0 +1,34 @@
+package com.gdsc.common.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDate;
+
+/**
+ * Progress of a chunked batch job: the run date being processed and the last id committed for it,
+ * written in the same transaction as each chunk so a restarted job resumes after that id.
+ */
+@Data
+@Entity
+@Table(name = "job_checkpoints",
+        uniqueConstraints = @UniqueConstraint(name = "uk_job_checkpoints_job_name", columnNames = "job_name"))
+@EqualsAndHashCode(callSuper = true)
+public class JobCheckpoint extends BaseEntity {
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount = 0L;
+
+    @Column(name = "completed", nullable = false)
+    private Boolean completed = false;
+}
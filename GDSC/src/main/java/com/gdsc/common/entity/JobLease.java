@@ -0,0 +1,28 @@
+package com.gdsc.common.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease row guarding a scheduled job that must run on one node at a time. The holder extends
+ * {@code expiresAt} while it works; a crashed holder's lease simply runs out.
+ */
+@Data
+@Entity
+@Table(name = "job_leases",
+        uniqueConstraints = @UniqueConstraint(name = "uk_job_leases_job_name", columnNames = "job_name"))
+@EqualsAndHashCode(callSuper = true)
+public class JobLease extends BaseEntity {
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
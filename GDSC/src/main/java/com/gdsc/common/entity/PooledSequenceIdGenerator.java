@@ -0,0 +1,45 @@
+package com.gdsc.common.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Per-table pooled sequence ids. Unlike IDENTITY, ids are known before the insert so
+ * Hibernate can group inserts into JDBC batches. Entities may tune the sequence with {@link IdSequence}.
+ */
+public class PooledSequenceIdGenerator extends SequenceStyleGenerator {
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        String sequenceName = params.getProperty(PersistentIdentifierGenerator.TABLE) + "_seq";
+        int allocationSize = DEFAULT_ALLOCATION_SIZE;
+
+        IdSequence idSequence = entityClass(params, serviceRegistry).getAnnotation(IdSequence.class);
+        if (idSequence != null) {
+            if (!idSequence.name().isEmpty()) {
+                sequenceName = idSequence.name();
+            }
+            allocationSize = idSequence.allocationSize();
+        }
+
+        params.setProperty(SEQUENCE_PARAM, sequenceName);
+        params.setProperty(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.setProperty(OptimizableGenerator.OPT_PARAM, "pooled");
+        super.configure(type, params, serviceRegistry);
+    }
+
+    private static Class<?> entityClass(Properties params, ServiceRegistry serviceRegistry) {
+        String entityName = params.getProperty(IdentifierGenerator.ENTITY_NAME);
+        return serviceRegistry.getService(ClassLoaderService.class).classForName(entityName);
+    }
+}
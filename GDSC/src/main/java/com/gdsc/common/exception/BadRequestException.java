@@ -0,0 +1,8 @@
+package com.gdsc.common.exception;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
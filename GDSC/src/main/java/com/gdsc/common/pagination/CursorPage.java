@@ -0,0 +1,32 @@
+package com.gdsc.common.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "One page of a keyset-paginated list")
+public class CursorPage<T> {
+
+    @Schema(description = "Items of this page in sort order")
+    private List<T> items;
+
+    @Schema(description = "Cursor of the next page, null on the last page")
+    private String nextCursor;
+
+    @Schema(description = "Number of items on this page", example = "50")
+    private Integer size;
+
+    @Schema(description = "Sort applied, as field,direction", example = "id,asc")
+    private String sort;
+
+    @Schema(description = "Whether more items follow")
+    private Boolean hasMore;
+}
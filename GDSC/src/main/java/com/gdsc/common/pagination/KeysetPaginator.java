@@ -0,0 +1,159 @@
+package com.gdsc.common.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gdsc.common.entity.BaseEntity;
+import com.gdsc.common.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination over any entity: each page continues strictly after the last row of the
+ * previous one on (sort field, id), so the database seeks through the index instead of skipping
+ * an offset, and rows inserted meanwhile never shift a page. Only one page of entities is held.
+ * <p>
+ * Sort fields must be non-null columns; the cursor is opaque to clients and bound to its sort.
+ */
+@Component
+public class KeysetPaginator {
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${pagination.default-size:50}")
+    private int defaultSize;
+
+    @Value("${pagination.max-size:500}")
+    private int maxSize;
+
+    private record Sort(String field, boolean ascending) {
+
+        @Override
+        public String toString() {
+            return field + "," + (ascending ? "asc" : "desc");
+        }
+    }
+
+    /**
+     * @param cursor   nextCursor of the previous page, null for the first page
+     * @param size     page size, capped at the configured maximum
+     * @param sort     field,direction; defaults to id,asc
+     * @param sortable fields clients may sort on
+     */
+    public <E extends BaseEntity, D> CursorPage<D> page(Class<E> type, String cursor, Integer size, String sort,
+                                                        Set<String> sortable, Function<E, D> mapper) {
+        Sort order = parseSort(sort, sortable);
+        int limit = size == null ? defaultSize : Math.max(1, Math.min(size, maxSize));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = cb.createQuery(type);
+        Root<E> root = query.from(type);
+        Path<Comparable<Object>> sortPath = root.get(order.field());
+        Path<Long> idPath = root.get(ID);
+        if (cursor != null && !cursor.isBlank()) {
+            query.where(after(cb, order, sortPath, idPath, cursor));
+        }
+        query.orderBy(order.ascending()
+                ? List.of(cb.asc(sortPath), cb.asc(idPath))
+                : List.of(cb.desc(sortPath), cb.desc(idPath)));
+
+        List<E> rows = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        String nextCursor = hasMore ? encode(order, rows.get(rows.size() - 1)) : null;
+        List<D> items = rows.stream().map(mapper).collect(Collectors.toList());
+        return CursorPage.<D>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .size(items.size())
+                .sort(order.toString())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private Sort parseSort(String sort, Set<String> sortable) {
+        if (sort == null || sort.isBlank()) {
+            return new Sort(ID, true);
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!field.equals(ID) && !sortable.contains(field)) {
+            throw new BadRequestException("Cannot sort by " + field + "; sortable fields are "
+                    + sortable.stream().sorted().collect(Collectors.joining(", ")));
+        }
+        String direction = parts.length > 1 ? parts[1].trim().toLowerCase(Locale.ROOT) : "asc";
+        if (!direction.equals("asc") && !direction.equals("desc")) {
+            throw new BadRequestException("Sort direction must be asc or desc");
+        }
+        return new Sort(field, direction.equals("asc"));
+    }
+
+    private Predicate after(CriteriaBuilder cb, Sort order, Path<Comparable<Object>> sortPath, Path<Long> idPath,
+                            String cursor) {
+        JsonNode decoded;
+        try {
+            decoded = objectMapper.readTree(Base64.getUrlDecoder().decode(cursor));
+        } catch (IllegalArgumentException | IOException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (decoded == null || !order.toString().equals(decoded.path("sort").asText()) || !decoded.path(ID).canConvertToLong()) {
+            throw new BadRequestException("Cursor does not belong to sort " + order);
+        }
+        Long lastId = decoded.get(ID).asLong();
+        Predicate afterId = order.ascending() ? cb.greaterThan(idPath, lastId) : cb.lessThan(idPath, lastId);
+        if (order.field().equals(ID)) {
+            return afterId;
+        }
+        Comparable<Object> lastValue;
+        try {
+            @SuppressWarnings("unchecked")
+            Comparable<Object> value = (Comparable<Object>) objectMapper.treeToValue(decoded.get("value"), sortPath.getJavaType());
+            lastValue = value;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (lastValue == null) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        Predicate afterValue = order.ascending() ? cb.greaterThan(sortPath, lastValue) : cb.lessThan(sortPath, lastValue);
+        return cb.or(afterValue, cb.and(cb.equal(sortPath, lastValue), afterId));
+    }
+
+    private String encode(Sort order, BaseEntity last) {
+        ObjectNode cursor = objectMapper.createObjectNode();
+        cursor.put("sort", order.toString());
+        cursor.put(ID, last.getId());
+        if (!order.field().equals(ID)) {
+            cursor.set("value", objectMapper.valueToTree(new BeanWrapperImpl(last).getPropertyValue(order.field())));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
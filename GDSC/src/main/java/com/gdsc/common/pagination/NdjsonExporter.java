@@ -0,0 +1,74 @@
+package com.gdsc.common.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a whole table as newline-delimited JSON, one object per line, while reading it.
+ * Rows come from a Spring Data {@link Stream} inside a read-only transaction and the
+ * persistence context is cleared as the export goes, so memory stays flat however large
+ * the table is.
+ */
+@Component
+public class NdjsonExporter {
+
+    private static final int CLEAR_EVERY = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${pagination.export-buffer-bytes:65536}")
+    private int bufferBytes;
+
+    public NdjsonExporter(PlatformTransactionManager transactionManager) {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param rows   opens the stream; called on the thread that writes the response
+     * @param mapper converts each row while its lazy associations can still load
+     */
+    public <E, D> StreamingResponseBody export(Supplier<Stream<E>> rows, Function<E, D> mapper) {
+        return out -> readOnlyTransaction.executeWithoutResult(status -> write(rows, mapper, out));
+    }
+
+    private <E, D> void write(Supplier<Stream<E>> rows, Function<E, D> mapper, OutputStream out) {
+        try (Stream<E> stream = rows.get()) {
+            OutputStream buffered = new BufferedOutputStream(out, bufferBytes);
+            Iterator<E> iterator = stream.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                buffered.write(objectMapper.writeValueAsBytes(mapper.apply(iterator.next())));
+                buffered.write('\n');
+                if (++written % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+            buffered.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.gdsc.common.repository;
+
+import com.gdsc.common.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, Long> {
+
+    Optional<JobCheckpoint> findByJobName(String jobName);
+
+    @Modifying
+    @Query("UPDATE JobCheckpoint c SET c.runDate = :runDate, c.lastId = 0, c.processedCount = 0, c.completed = false, " +
+           "c.updatedAt = :now WHERE c.jobName = :jobName")
+    int start(@Param("jobName") String jobName, @Param("runDate") LocalDate runDate, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE JobCheckpoint c SET c.lastId = :lastId, c.processedCount = c.processedCount + :processed, " +
+           "c.updatedAt = :now WHERE c.jobName = :jobName AND c.runDate = :runDate")
+    int advance(@Param("jobName") String jobName, @Param("runDate") LocalDate runDate, @Param("lastId") Long lastId,
+                @Param("processed") long processed, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE JobCheckpoint c SET c.completed = true, c.updatedAt = :now WHERE c.jobName = :jobName AND c.runDate = :runDate")
+    int complete(@Param("jobName") String jobName, @Param("runDate") LocalDate runDate, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,27 @@
+package com.gdsc.common.repository;
+
+import com.gdsc.common.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, Long> {
+
+    boolean existsByJobName(String jobName);
+
+    // Takes over an expired lease or extends our own; the row lock decides between racing nodes
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.expiresAt = :expiresAt, l.updatedAt = :now " +
+           "WHERE l.jobName = :jobName AND (l.owner = :owner OR l.expiresAt < :now)")
+    int acquire(@Param("jobName") String jobName, @Param("owner") String owner,
+                @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :now, l.updatedAt = :now WHERE l.jobName = :jobName AND l.owner = :owner")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
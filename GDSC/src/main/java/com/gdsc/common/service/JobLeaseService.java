@@ -0,0 +1,82 @@
+package com.gdsc.common.service;
+
+import com.gdsc.common.entity.JobLease;
+import com.gdsc.common.repository.JobLeaseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database leases that keep a scheduled job to one node at a time. A lease is held until it is
+ * released or its expiry passes, so a holder renews it while working and a crashed node blocks
+ * the job for at most one lease period.
+ */
+@Service
+public class JobLeaseService {
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String owner = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Takes or extends the lease on {@code jobName} for {@code ttl}; false while another node holds it.
+     */
+    public boolean tryAcquire(String jobName, Duration ttl) {
+        if (transactionTemplate.execute(status -> renew(jobName, ttl))) {
+            return true;
+        }
+        if (jobLeaseRepository.existsByJobName(jobName)) {
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                JobLease lease = new JobLease();
+                lease.setJobName(jobName);
+                lease.setOwner(owner);
+                lease.setExpiresAt(LocalDateTime.now().plus(ttl));
+                jobLeaseRepository.saveAndFlush(lease);
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lease first
+            return transactionTemplate.execute(status -> renew(jobName, ttl));
+        }
+    }
+
+    /**
+     * Extends a lease this node holds or takes over an expired one. Must run inside a transaction;
+     * the lease row stays locked until it commits, which fences out other nodes meanwhile.
+     */
+    public boolean renew(String jobName, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobLeaseRepository.acquire(jobName, owner, now.plus(ttl), now) == 1;
+    }
+
+    public void release(String jobName) {
+        transactionTemplate.executeWithoutResult(status ->
+                jobLeaseRepository.release(jobName, owner, LocalDateTime.now()));
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.gdsc.common.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Files named after the SHA-256 of their content, under {@code root/<first two hex digits>/}.
+ * Content is hashed while it is written, so storing costs one pass over the bytes, and a stored
+ * file never changes: its key can be cached and served forever.
+ */
+public class ContentAddressedStore {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Path root;
+    private final String extension;
+
+    public ContentAddressedStore(Path root, String extension) {
+        try {
+            this.root = Files.createDirectories(root).toAbsolutePath().normalize();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create content store " + root, e);
+        }
+        this.extension = extension;
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Stores what {@code writer} writes and returns its key, the path relative to the root.
+     * Content already stored under the same key is kept as it is.
+     */
+    public String store(ContentWriter writer) throws IOException {
+        MessageDigest digest = newDigest();
+        Path temporary = root.resolve(UUID.randomUUID() + ".tmp");
+        try {
+            try (OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE), digest)) {
+                writer.writeTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String key = hash.substring(0, 2) + "/" + hash + extension;
+            Path target = root.resolve(key);
+            Files.createDirectories(target.getParent());
+            try {
+                // A link appears complete and never replaces what is already stored
+                Files.createLink(target, temporary);
+            } catch (FileAlreadyExistsException e) {
+                // Same content, stored before or concurrently
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Path of a stored file, or null when the key does not name one.
+     */
+    public Path resolve(String key) {
+        if (key == null) {
+            return null;
+        }
+        Path path = root.resolve(key).normalize();
+        return path.startsWith(root) && Files.isRegularFile(path) ? path : null;
+    }
+
+    /**
+     * The content hash a stored file is named after.
+     */
+    public String hashOf(Path file) {
+        String name = file.getFileName().toString();
+        return name.substring(0, name.length() - extension.length());
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
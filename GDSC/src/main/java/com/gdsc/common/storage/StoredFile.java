@@ -0,0 +1,14 @@
+package com.gdsc.common.storage;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+
+/**
+ * A file on disk as {@link FileSender} serves it. The file must not change while it is served
+ * under the same {@code etag}; a null {@code etag} is derived from the file's size and
+ * modification time, which is enough for files written once and never modified.
+ */
+public record StoredFile(Path path, String etag, MediaType contentType, String filename, CacheControl cacheControl) {
+}
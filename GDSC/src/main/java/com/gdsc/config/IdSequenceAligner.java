@@ -0,0 +1,60 @@
+package com.gdsc.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tables created while ids came from IDENTITY columns already hold rows, while their new
+ * id sequences start at 1. Before anything is inserted, every sequence that is behind the
+ * highest existing id of its table is restarted past it.
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alignSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entityPersister) {
+                align(dialect, entityPersister, generator.getDatabaseStructure());
+            }
+        });
+    }
+
+    private void align(Dialect dialect, AbstractEntityPersister persister, DatabaseStructure structure) {
+        String sequenceName = structure.getPhysicalName().render();
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(" + persister.getIdentifierColumnNames()[0] + ") FROM "
+                + persister.getTableName(), Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // Consumes one value; pooled ranges end at the value returned, so ids below it may be in use
+        Long nextValue = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(sequenceName), Long.class);
+        if (nextValue != null && nextValue >= maxId) {
+            return;
+        }
+        long restartWith = maxId + structure.getIncrementSize() + 1;
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequenceName + " RESTART WITH " + restartWith);
+        log.info("Restarted id sequence {} at {} (max id in {} is {})",
+                sequenceName, restartWith, persister.getTableName(), maxId);
+    }
+}
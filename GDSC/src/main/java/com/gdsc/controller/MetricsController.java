@@ -0,0 +1,128 @@
+package com.gdsc.controller;
+
+import com.gdsc.auth.service.PasswordHashingService;
+import com.gdsc.certification.service.CertificateBatchService;
+import com.gdsc.common.ApiResponse;
+import com.gdsc.common.storage.FileSender;
+import com.gdsc.exam.service.ExamEventBroadcaster;
+import com.gdsc.exam.service.ExamPaperCache;
+import com.gdsc.exam.service.ExamSessionService;
+import com.gdsc.exam.service.ExamSubmissionService;
+import com.gdsc.fee.service.FeeAccrualJob;
+import com.gdsc.fee.service.PaymentKeyCache;
+import com.gdsc.fee.service.PaymentProcessor;
+import com.gdsc.fee.service.PaymentRetryScheduler;
+import com.gdsc.fee.service.ReceiptService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Operational metrics of the services that keep in-memory state, for administrators only;
+ * {@code /health} stays the public liveness probe.
+ */
+@RestController
+@RequestMapping("/admin/metrics")
+@PreAuthorize("hasRole('ADMIN')")
+public class MetricsController {
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private ExamSubmissionService examSubmissionService;
+
+    @Autowired
+    private ExamSessionService examSessionService;
+
+    @Autowired
+    private ExamEventBroadcaster examEventBroadcaster;
+
+    @Autowired
+    private ExamPaperCache examPaperCache;
+
+    @Autowired
+    private PaymentKeyCache paymentKeyCache;
+
+    @Autowired
+    private PaymentRetryScheduler paymentRetryScheduler;
+
+    @Autowired
+    private PaymentProcessor paymentProcessor;
+
+    @Autowired
+    private FeeAccrualJob feeAccrualJob;
+
+    @Autowired
+    private ReceiptService receiptService;
+
+    @Autowired
+    private CertificateBatchService certificateBatchService;
+
+    @Autowired
+    private FileSender fileSender;
+
+    @GetMapping("/password-hashing")
+    public ApiResponse<Map<String, Object>> passwordHashing() {
+        return ApiResponse.success("Password hashing pool", passwordHashingService.getMetrics());
+    }
+
+    @GetMapping("/exam-submissions")
+    public ApiResponse<Map<String, Object>> examSubmissions() {
+        return ApiResponse.success("Exam submission queue", examSubmissionService.getMetrics());
+    }
+
+    @GetMapping("/exam-sessions")
+    public ApiResponse<Map<String, Object>> examSessions() {
+        return ApiResponse.success("Exam sessions", examSessionService.getMetrics());
+    }
+
+    @GetMapping("/exam-events")
+    public ApiResponse<Map<String, Object>> examEvents() {
+        return ApiResponse.success("Exam event subscribers", examEventBroadcaster.getMetrics());
+    }
+
+    @GetMapping("/exam-papers")
+    public ApiResponse<Map<String, Object>> examPapers() {
+        return ApiResponse.success("Exam paper cache", examPaperCache.getMetrics());
+    }
+
+    @GetMapping("/payment-keys")
+    public ApiResponse<Map<String, Object>> paymentKeys() {
+        return ApiResponse.success("Payment idempotency keys", paymentKeyCache.getMetrics());
+    }
+
+    @GetMapping("/fee-accrual")
+    public ApiResponse<Map<String, Object>> feeAccrual() {
+        return ApiResponse.success("Fee accrual", feeAccrualJob.getMetrics());
+    }
+
+    @GetMapping("/receipts")
+    public ApiResponse<Map<String, Object>> receipts() {
+        return ApiResponse.success("Receipts", receiptService.getMetrics());
+    }
+
+    @GetMapping("/certificates")
+    public ApiResponse<Map<String, Object>> certificates() {
+        return ApiResponse.success("Certificates", certificateBatchService.getMetrics());
+    }
+
+    @GetMapping("/file-transfers")
+    public ApiResponse<Map<String, Object>> fileTransfers() {
+        return ApiResponse.success("File transfers", fileSender.getMetrics());
+    }
+
+    @GetMapping("/payment-gateway")
+    public ApiResponse<Map<String, Object>> paymentGateway() {
+        return ApiResponse.success("Payment gateway", paymentProcessor.getMetrics());
+    }
+
+    @GetMapping("/payment-retries")
+    public ApiResponse<Map<String, Object>> paymentRetries() {
+        return ApiResponse.success("Payment retries", paymentRetryScheduler.getMetrics());
+    }
+}
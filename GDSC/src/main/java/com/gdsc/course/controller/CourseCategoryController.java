@@ -1,15 +1,18 @@
 package com.gdsc.course.controller;
 
 import com.gdsc.common.ApiResponse;
+import com.gdsc.common.pagination.CursorPage;
 import com.gdsc.course.dto.CourseCategoryDto;
 import com.gdsc.course.service.CourseCategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -28,6 +31,24 @@ public class CourseCategoryController {
         return ResponseEntity.ok(ApiResponse.success("Categories retrieved successfully", categories));
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get course categories page", description = "Keyset-paginated course categories; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<CourseCategoryDto>>> getCategoriesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<CourseCategoryDto> page = courseCategoryService.getCategoriesPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Course categories retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export course categories", description = "Stream all course categories as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportCategories() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(courseCategoryService.exportCategories());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID", description = "Retrieve a specific course category by its ID")
     public ResponseEntity<ApiResponse<CourseCategoryDto>> getCategoryById(@PathVariable Long id) {
@@ -1,15 +1,18 @@
 package com.gdsc.course.controller;
 
 import com.gdsc.common.ApiResponse;
+import com.gdsc.common.pagination.CursorPage;
 import com.gdsc.course.dto.CourseDto;
 import com.gdsc.course.service.CourseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -28,6 +31,24 @@ public class CourseController {
         return ResponseEntity.ok(ApiResponse.success("Courses retrieved successfully", courses));
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get courses page", description = "Keyset-paginated courses; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<CourseDto>>> getCoursesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<CourseDto> page = courseService.getCoursesPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Courses retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export courses", description = "Stream all courses as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportCourses() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(courseService.exportCourses());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get course by ID", description = "Retrieve a specific course by its ID")
     public ResponseEntity<ApiResponse<CourseDto>> getCourseById(@PathVariable Long id) {
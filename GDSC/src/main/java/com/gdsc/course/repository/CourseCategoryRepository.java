@@ -1,10 +1,14 @@
 package com.gdsc.course.repository;
 
 import com.gdsc.course.entity.CourseCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseCategoryRepository extends JpaRepository<CourseCategory, Long> {
@@ -12,4 +16,7 @@ public interface CourseCategoryRepository extends JpaRepository<CourseCategory,
     Optional<CourseCategory> findByName(String name);
     
     boolean existsByName(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<CourseCategory> streamAllByOrderByIdAsc();
 }
@@ -1,12 +1,16 @@
 package com.gdsc.course.repository;
 
 import com.gdsc.course.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
@@ -23,4 +27,7 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByIsPublished(Boolean isPublished);
     
     List<Course> findByCategoryIdAndIsPublished(Long categoryId, Boolean isPublished);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Course> streamAllByOrderByIdAsc();
 }
@@ -2,27 +2,48 @@ package com.gdsc.course.service;
 
 import com.gdsc.common.exception.DuplicateResourceException;
 import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
 import com.gdsc.course.dto.CourseCategoryDto;
 import com.gdsc.course.entity.CourseCategory;
 import com.gdsc.course.repository.CourseCategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CourseCategoryService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "name");
+
     @Autowired
     private CourseCategoryRepository courseCategoryRepository;
 
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     public List<CourseCategoryDto> getAllCategories() {
         return courseCategoryRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<CourseCategoryDto> getCategoriesPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(CourseCategory.class, cursor, size, sort, SORTABLE_FIELDS, this::convertToDto);
+    }
+
+    public StreamingResponseBody exportCategories() {
+        return ndjsonExporter.export(courseCategoryRepository::streamAllByOrderByIdAsc, this::convertToDto);
+    }
+
     public CourseCategoryDto getCategoryById(Long id) {
         CourseCategory category = courseCategoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("CourseCategory", "id", id));
@@ -8,12 +8,17 @@ import com.gdsc.course.repository.CourseRepository;
 import com.gdsc.course.repository.CourseCategoryRepository;
 import com.gdsc.center.entity.Center;
 import com.gdsc.center.repository.CenterRepository;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,9 +27,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class CourseService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "name", "fees");
+
     private final CourseRepository courseRepository;
     private final CourseCategoryRepository courseCategoryRepository;
     private final CenterRepository centerRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final NdjsonExporter ndjsonExporter;
 
     public List<CourseDto> getAllCourses() {
         return courseRepository.findAll().stream()
@@ -32,6 +41,14 @@ public class CourseService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<CourseDto> getCoursesPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(Course.class, cursor, size, sort, SORTABLE_FIELDS, this::convertToDto);
+    }
+
+    public StreamingResponseBody exportCourses() {
+        return ndjsonExporter.export(courseRepository::streamAllByOrderByIdAsc, this::convertToDto);
+    }
+
     public CourseDto getCourseById(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
@@ -1,15 +1,18 @@
 package com.gdsc.enquiry.controller;
 
 import com.gdsc.common.ApiResponse;
+import com.gdsc.common.pagination.CursorPage;
 import com.gdsc.enquiry.dto.EnquiryDto;
 import com.gdsc.enquiry.service.EnquiryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,6 +32,26 @@ public class EnquiryController {
         return ResponseEntity.ok(ApiResponse.success("Enquiries retrieved successfully", enquiries));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get enquiries page", description = "Keyset-paginated enquiries; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<EnquiryDto>>> getEnquiriesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<EnquiryDto> page = enquiryService.getEnquiriesPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Enquiries retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Export enquiries", description = "Stream all enquiries as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportEnquiries() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(enquiryService.exportEnquiries());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
     @Operation(summary = "Get enquiry by ID", description = "Retrieve a specific enquiry by ID")
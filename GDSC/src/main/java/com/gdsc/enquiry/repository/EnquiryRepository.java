@@ -1,12 +1,16 @@
 package com.gdsc.enquiry.repository;
 
 import com.gdsc.enquiry.entity.Enquiry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnquiryRepository extends JpaRepository<Enquiry, Long> {
@@ -22,4 +26,7 @@ public interface EnquiryRepository extends JpaRepository<Enquiry, Long> {
     List<Enquiry> findByCenterId(Long centerId);
     
     List<Enquiry> findByInterestedCourseId(Long courseId);
-} 
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Enquiry> streamAllByOrderByIdAsc();
+}
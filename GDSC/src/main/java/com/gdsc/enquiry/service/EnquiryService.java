@@ -4,24 +4,45 @@ import com.gdsc.enquiry.dto.EnquiryDto;
 import com.gdsc.enquiry.entity.Enquiry;
 import com.gdsc.enquiry.repository.EnquiryRepository;
 import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class EnquiryService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "name", "email");
+
     @Autowired
     private EnquiryRepository enquiryRepository;
 
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     public List<EnquiryDto> getAllEnquiries() {
         return enquiryRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<EnquiryDto> getEnquiriesPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(Enquiry.class, cursor, size, sort, SORTABLE_FIELDS, this::convertToDto);
+    }
+
+    public StreamingResponseBody exportEnquiries() {
+        return ndjsonExporter.export(enquiryRepository::streamAllByOrderByIdAsc, this::convertToDto);
+    }
+
     public EnquiryDto getEnquiryById(Long id) {
         Enquiry enquiry = enquiryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Enquiry", "id", id));
@@ -1,9 +1,19 @@
 package com.gdsc.exam.controller;
 
 import com.gdsc.common.ApiResponse;
+import com.gdsc.common.RawJson;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.exam.dto.ExamAnalyticsDto;
+import com.gdsc.exam.dto.ExamBlueprintRuleDto;
 import com.gdsc.exam.dto.ExamDto;
+import com.gdsc.exam.dto.ExamEvaluationSummary;
 import com.gdsc.exam.dto.QuestionDto;
 import com.gdsc.exam.dto.ExamResultDto;
+import com.gdsc.exam.dto.ExamSubmissionRequest;
+import com.gdsc.exam.dto.ExamSubmissionResponse;
+import com.gdsc.exam.service.ExamAnalyticsService;
+import com.gdsc.exam.service.ExamBlueprintService;
+import com.gdsc.exam.service.ExamEventBroadcaster;
 import com.gdsc.exam.service.ExamService;
 import com.gdsc.exam.service.QuestionService;
 import com.gdsc.exam.service.ExamResultService;
@@ -11,9 +21,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -31,6 +44,15 @@ public class ExamController {
     @Autowired
     private ExamResultService examResultService;
 
+    @Autowired
+    private ExamEventBroadcaster examEventBroadcaster;
+
+    @Autowired
+    private ExamBlueprintService examBlueprintService;
+
+    @Autowired
+    private ExamAnalyticsService examAnalyticsService;
+
     // Exam Management Endpoints
     @GetMapping
     @Operation(summary = "Get all exams", description = "Retrieve all available exams")
@@ -39,6 +61,24 @@ public class ExamController {
         return ResponseEntity.ok(ApiResponse.success("Exams retrieved successfully", exams));
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get exams page", description = "Keyset-paginated exams; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<ExamDto>>> getExamsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<ExamDto> page = examService.getExamsPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Exams retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export exams", description = "Stream all exams as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportExams() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(examService.exportExams());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get exam by ID", description = "Retrieve a specific exam by ID")
     public ResponseEntity<ApiResponse<ExamDto>> getExamById(@PathVariable Long id) {
@@ -93,14 +133,70 @@ public class ExamController {
         return ResponseEntity.ok(ApiResponse.success("Center exams retrieved successfully", exams));
     }
 
+    @PostMapping("/{id}/start")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "Start exam", description = "Move the exam to IN_PROGRESS and notify connected candidates")
+    public ResponseEntity<ApiResponse<ExamDto>> startExam(@PathVariable Long id) {
+        ExamDto exam = examService.startExam(id);
+        return ResponseEntity.ok(ApiResponse.success("Exam started successfully", exam));
+    }
+
+    @PostMapping("/{id}/complete")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "Complete exam", description = "Submit open sessions, move the exam to COMPLETED and notify connected candidates")
+    public ResponseEntity<ApiResponse<ExamDto>> completeExam(@PathVariable Long id) {
+        ExamDto exam = examService.completeExam(id);
+        return ResponseEntity.ok(ApiResponse.success("Exam completed successfully", exam));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to exam events", description = "Server-sent events for status changes, remaining time and forced submits")
+    public SseEmitter subscribeToEvents(@PathVariable Long id) {
+        return examEventBroadcaster.subscribe(id);
+    }
+
     // Question Management Endpoints
     @GetMapping("/{examId}/questions")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "Get exam questions", description = "Get all questions for a specific exam")
     public ResponseEntity<ApiResponse<List<QuestionDto>>> getExamQuestions(@PathVariable Long examId) {
         List<QuestionDto> questions = questionService.getQuestionsByExam(examId);
         return ResponseEntity.ok(ApiResponse.success("Exam questions retrieved successfully", questions));
     }
 
+    @GetMapping("/{examId}/paper")
+    @Operation(summary = "Get exam paper", description = "Get the questions and options of an open exam as shown to candidates, without answers")
+    public ResponseEntity<ApiResponse<RawJson>> getExamPaper(@PathVariable Long examId) {
+        RawJson paper = questionService.getExamPaper(examId);
+        return ResponseEntity.ok(ApiResponse.success("Exam paper retrieved successfully", paper));
+    }
+
+    @GetMapping("/{examId}/papers/{studentId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or @studentSecurityService.isOwner(#studentId)")
+    @Operation(summary = "Get candidate paper", description = "Get the paper of one candidate; exams with a blueprint draw it from the question pool")
+    public ResponseEntity<ApiResponse<RawJson>> getCandidatePaper(@PathVariable Long examId, @PathVariable Long studentId) {
+        RawJson paper = questionService.getCandidatePaper(examId, studentId);
+        return ResponseEntity.ok(ApiResponse.success("Exam paper retrieved successfully", paper));
+    }
+
+    @GetMapping("/{examId}/blueprint")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "Get exam blueprint", description = "Get the rules that draw each candidate's paper from the question pool")
+    public ResponseEntity<ApiResponse<List<ExamBlueprintRuleDto>>> getBlueprint(@PathVariable Long examId) {
+        List<ExamBlueprintRuleDto> rules = examBlueprintService.getRules(examId);
+        return ResponseEntity.ok(ApiResponse.success("Exam blueprint retrieved successfully", rules));
+    }
+
+    @PutMapping("/{examId}/blueprint")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "Replace exam blueprint", description = "Replace the blueprint rules; an empty list gives every candidate all questions")
+    public ResponseEntity<ApiResponse<List<ExamBlueprintRuleDto>>> replaceBlueprint(
+            @PathVariable Long examId,
+            @RequestBody List<ExamBlueprintRuleDto> rules) {
+        List<ExamBlueprintRuleDto> saved = examBlueprintService.replaceRules(examId, rules);
+        return ResponseEntity.ok(ApiResponse.success("Exam blueprint updated successfully", saved));
+    }
+
     @PostMapping("/{examId}/questions")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "Add question to exam", description = "Add a new question to an exam")
@@ -138,6 +234,16 @@ public class ExamController {
         return ResponseEntity.ok(ApiResponse.success("Exam results retrieved successfully", results));
     }
 
+    @GetMapping("/{examId}/leaderboard")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "Get exam leaderboard", description = "Get the top ranked results of an exam")
+    public ResponseEntity<ApiResponse<List<ExamResultDto>>> getLeaderboard(
+            @PathVariable Long examId,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ExamResultDto> results = examResultService.getLeaderboard(examId, limit);
+        return ResponseEntity.ok(ApiResponse.success("Leaderboard retrieved successfully", results));
+    }
+
     @GetMapping("/results/student/{studentId}")
     @Operation(summary = "Get student results", description = "Get all exam results for a student")
     public ResponseEntity<ApiResponse<List<ExamResultDto>>> getStudentResults(@PathVariable Long studentId) {
@@ -148,17 +254,55 @@ public class ExamController {
     @PostMapping("/{examId}/evaluate")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "Evaluate exam", description = "Evaluate and grade an exam")
-    public ResponseEntity<ApiResponse<String>> evaluateExam(@PathVariable Long examId) {
-        examService.evaluateExam(examId);
-        return ResponseEntity.ok(ApiResponse.success("Exam evaluated successfully"));
+    public ResponseEntity<ApiResponse<ExamEvaluationSummary>> evaluateExam(@PathVariable Long examId) {
+        ExamEvaluationSummary summary = examService.evaluateExam(examId);
+        return ResponseEntity.ok(ApiResponse.success("Exam evaluated successfully", summary));
+    }
+
+    @PostMapping("/{examId}/evaluate/students/{studentId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "Evaluate student", description = "Grade one student's answers and update the exam ranking")
+    public ResponseEntity<ApiResponse<ExamEvaluationSummary>> evaluateStudent(
+            @PathVariable Long examId,
+            @PathVariable Long studentId) {
+        ExamEvaluationSummary summary = examService.evaluateStudent(examId, studentId);
+        return ResponseEntity.ok(ApiResponse.success("Student evaluated successfully", summary));
+    }
+
+    @GetMapping("/{examId}/analytics")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "Get exam analytics", description = "Get item difficulty, discrimination, option selection and time per question, computed when the exam is graded")
+    public ResponseEntity<ApiResponse<ExamAnalyticsDto>> getExamAnalytics(@PathVariable Long examId) {
+        ExamAnalyticsDto analytics = examAnalyticsService.getAnalytics(examId);
+        return ResponseEntity.ok(ApiResponse.success("Exam analytics retrieved successfully", analytics));
+    }
+
+    @PostMapping("/{examId}/analytics")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
+    @Operation(summary = "Recompute exam analytics", description = "Recompute the analytics, e.g. after re-grading individual students or manual review")
+    public ResponseEntity<ApiResponse<ExamAnalyticsDto>> recomputeExamAnalytics(@PathVariable Long examId) {
+        ExamAnalyticsDto analytics = examAnalyticsService.recompute(examId);
+        return ResponseEntity.ok(ApiResponse.success("Exam analytics recomputed successfully", analytics));
     }
 
     @PostMapping("/{examId}/submit")
-    @Operation(summary = "Submit exam", description = "Submit exam answers for evaluation")
-    public ResponseEntity<ApiResponse<String>> submitExam(
-            @PathVariable Long examId, 
-            @RequestBody Object answers) {
-        examService.submitExam(examId, answers);
-        return ResponseEntity.ok(ApiResponse.success("Exam submitted successfully"));
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or @studentSecurityService.isOwner(#request.studentId)")
+    @Operation(summary = "Submit exam", description = "Submit exam answers; they are stored asynchronously. Retries must reuse the idempotency key")
+    public ResponseEntity<ApiResponse<ExamSubmissionResponse>> submitExam(
+            @PathVariable Long examId,
+            @Valid @RequestBody ExamSubmissionRequest request) {
+        ExamSubmissionResponse response = examService.submitExam(examId, request);
+        return ResponseEntity.accepted().body(ApiResponse.success("Exam submission received", response));
+    }
+
+    @GetMapping("/{examId}/submissions/{studentId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or @studentSecurityService.isOwner(#studentId)")
+    @Operation(summary = "Get submission status", description = "Whether the submission with this idempotency key is still queued, stored or failed to store")
+    public ResponseEntity<ApiResponse<ExamSubmissionResponse>> getSubmissionStatus(
+            @PathVariable Long examId,
+            @PathVariable Long studentId,
+            @RequestParam String idempotencyKey) {
+        ExamSubmissionResponse response = examService.getSubmissionStatus(examId, studentId, idempotencyKey);
+        return ResponseEntity.ok(ApiResponse.success("Exam submission status retrieved successfully", response));
     }
 }
@@ -0,0 +1,64 @@
+package com.gdsc.exam.controller;
+
+import com.gdsc.common.ApiResponse;
+import com.gdsc.exam.dto.ExamSessionDto;
+import com.gdsc.exam.dto.ExamSubmissionRequest;
+import com.gdsc.exam.dto.ExamSubmissionResponse;
+import com.gdsc.exam.service.ExamSessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/exams/{examId}/sessions/{studentId}")
+@Tag(name = "Exam Sessions", description = "Online exam session APIs")
+public class ExamSessionController {
+
+    @Autowired
+    private ExamSessionService examSessionService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN') or @studentSecurityService.isOwner(#studentId)")
+    @Operation(summary = "Start exam session", description = "Start an online exam, or resume the running session")
+    public ResponseEntity<ApiResponse<ExamSessionDto>> startSession(
+            @PathVariable Long examId,
+            @PathVariable Long studentId) {
+        ExamSessionDto session = examSessionService.startSession(examId, studentId);
+        return ResponseEntity.ok(ApiResponse.success("Exam session started", session));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or @studentSecurityService.isOwner(#studentId)")
+    @Operation(summary = "Get exam session", description = "Get the running session with the answers saved so far")
+    public ResponseEntity<ApiResponse<ExamSessionDto>> getSession(
+            @PathVariable Long examId,
+            @PathVariable Long studentId) {
+        ExamSessionDto session = examSessionService.getSession(examId, studentId);
+        return ResponseEntity.ok(ApiResponse.success("Exam session retrieved successfully", session));
+    }
+
+    @PutMapping("/answers")
+    @PreAuthorize("hasRole('ADMIN') or @studentSecurityService.isOwner(#studentId)")
+    @Operation(summary = "Autosave answer", description = "Save the current answer to one question; saved answers are written to the database periodically")
+    public ResponseEntity<ApiResponse<String>> autosave(
+            @PathVariable Long examId,
+            @PathVariable Long studentId,
+            @Valid @RequestBody ExamSubmissionRequest.Answer answer) {
+        examSessionService.autosave(examId, studentId, answer);
+        return ResponseEntity.ok(ApiResponse.success("Answer saved"));
+    }
+
+    @PostMapping("/submit")
+    @PreAuthorize("hasRole('ADMIN') or @studentSecurityService.isOwner(#studentId)")
+    @Operation(summary = "Submit exam session", description = "Submit the saved answers of the session")
+    public ResponseEntity<ApiResponse<ExamSubmissionResponse>> submitSession(
+            @PathVariable Long examId,
+            @PathVariable Long studentId) {
+        ExamSubmissionResponse response = examSessionService.submitSession(examId, studentId);
+        return ResponseEntity.accepted().body(ApiResponse.success("Exam submission received", response));
+    }
+}
@@ -0,0 +1,88 @@
+package com.gdsc.exam.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Item analysis of an exam, computed from its graded answers")
+public class ExamAnalyticsDto {
+
+    @Schema(description = "Exam ID", example = "1")
+    private Long examId;
+
+    @Schema(description = "When the analytics were computed")
+    private LocalDateTime computedAt;
+
+    @Schema(description = "Per-question statistics")
+    private List<Question> questions;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Statistics of one question")
+    public static class Question {
+
+        @Schema(description = "Question ID", example = "10")
+        private Long questionId;
+
+        @Schema(description = "Question text")
+        private String text;
+
+        @Schema(description = "Students with a result who were given the question", example = "2000")
+        private Integer examinees;
+
+        @Schema(description = "Examinees who answered the question", example = "1950")
+        private Integer answered;
+
+        @Schema(description = "Examinees who answered correctly", example = "1200")
+        private Integer correctCount;
+
+        @Schema(description = "Item difficulty (p-value): share of examinees who answered correctly", example = "0.6")
+        private Double difficultyIndex;
+
+        @Schema(description = "Point-biserial correlation between answering correctly and total marks", example = "0.35")
+        private Double pointBiserial;
+
+        @Schema(description = "Average time spent on the question in seconds", example = "42.5")
+        private Double averageTimeSeconds;
+
+        @Schema(description = "Selection statistics per option")
+        private List<Option> options;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Selection statistics of one option")
+    public static class Option {
+
+        @Schema(description = "Option ID", example = "42")
+        private Long optionId;
+
+        @Schema(description = "Option letter", example = "A")
+        private String letter;
+
+        @Schema(description = "Whether this is a correct option")
+        private Boolean correct;
+
+        @Schema(description = "Examinees who chose this option", example = "300")
+        private Integer selectedCount;
+
+        @Schema(description = "Share of the question's examinees who chose this option", example = "0.15")
+        private Double selectionRate;
+
+        @Schema(description = "Average total marks of the students who chose this option", example = "48.2")
+        private Double averageTotalMarks;
+    }
+}
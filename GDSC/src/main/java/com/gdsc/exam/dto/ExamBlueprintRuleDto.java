@@ -0,0 +1,25 @@
+package com.gdsc.exam.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Schema(description = "Blueprint rule: how many questions of a topic and difficulty each candidate gets")
+public class ExamBlueprintRuleDto {
+
+    @Schema(description = "Rule ID")
+    private Long id;
+
+    @Schema(description = "Topic to draw from, any topic when empty", example = "Java Basics")
+    private String topic;
+
+    @Schema(description = "Difficulty to draw from, any difficulty when empty", example = "EASY")
+    private String difficulty;
+
+    @NotNull(message = "Question count is required")
+    @Positive(message = "Question count must be positive")
+    @Schema(description = "Questions drawn for each candidate", example = "5")
+    private Integer questionCount;
+}
@@ -4,10 +4,12 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 @Schema(description = "Exam DTO")
 public class ExamDto {
     
@@ -51,4 +53,24 @@ public class ExamDto {
     
     @Schema(description = "Center ID", example = "1")
     private Long centerId;
-} 
+
+    @Schema(description = "Exam status, changed through the start and complete endpoints", example = "SCHEDULED", accessMode = Schema.AccessMode.READ_ONLY)
+    private String status;
+
+    /** Constructor used by the repository projection queries. */
+    public ExamDto(Long id, String name, String description, Long courseId, LocalDateTime examDate,
+                   Integer duration, String type, Integer totalMarks, Boolean isOnline, Long centerId,
+                   String status) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.courseId = courseId;
+        this.examDate = examDate;
+        this.duration = duration;
+        this.type = type;
+        this.totalMarks = totalMarks;
+        this.isOnline = isOnline;
+        this.centerId = centerId;
+        this.status = status;
+    }
+}
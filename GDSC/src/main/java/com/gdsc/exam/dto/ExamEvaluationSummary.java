@@ -0,0 +1,33 @@
+package com.gdsc.exam.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Outcome of an exam evaluation run")
+public class ExamEvaluationSummary {
+
+    @Schema(description = "Exam ID", example = "1")
+    private Long examId;
+
+    @Schema(description = "Number of students with a result", example = "2000")
+    private Integer studentsGraded;
+
+    @Schema(description = "Number of answers scored", example = "80000")
+    private Long answersGraded;
+
+    @Schema(description = "Answers that need manual review (descriptive or matching questions)", example = "0")
+    private Long answersPendingReview;
+
+    @Schema(description = "Total marks used for percentages", example = "100")
+    private Integer totalMarks;
+
+    @Schema(description = "Evaluation time in milliseconds", example = "1830")
+    private Long elapsedMillis;
+}
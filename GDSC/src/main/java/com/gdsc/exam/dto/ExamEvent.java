@@ -0,0 +1,40 @@
+package com.gdsc.exam.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Event pushed to candidates connected to an exam")
+public class ExamEvent {
+
+    @Schema(description = "Exam ID", example = "1")
+    private Long examId;
+
+    @Schema(description = "Event type: status, timer or forced-submit", example = "timer")
+    private String type;
+
+    @Schema(description = "Exam status", example = "IN_PROGRESS")
+    private String status;
+
+    @Schema(description = "Seconds until the exam opens, 0 once it is open", example = "0")
+    private Long startsInSeconds;
+
+    @Schema(description = "Seconds until the exam closes, 0 once it is over", example = "1800")
+    private Long remainingSeconds;
+
+    @Schema(description = "Reason for a forced submit")
+    private String message;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "Server time the event was created, for clock correction")
+    private LocalDateTime serverTime;
+}
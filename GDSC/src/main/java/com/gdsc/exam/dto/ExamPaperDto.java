@@ -0,0 +1,75 @@
+package com.gdsc.exam.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Exam paper as shown to candidates, without answers")
+public class ExamPaperDto {
+
+    @Schema(description = "Exam ID", example = "1")
+    private Long examId;
+
+    @Schema(description = "Exam name", example = "Java Basics Midterm")
+    private String name;
+
+    @Schema(description = "Duration in minutes", example = "60")
+    private Integer durationMinutes;
+
+    @Schema(description = "Total marks", example = "100")
+    private Integer totalMarks;
+
+    @Schema(description = "Instructions for candidates")
+    private String instructions;
+
+    @Schema(description = "Questions in paper order")
+    private List<Question> questions;
+
+    @Data
+    @Builder(toBuilder = true)
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Question as shown to candidates")
+    public static class Question {
+
+        @Schema(description = "Question ID", example = "10")
+        private Long id;
+
+        @Schema(description = "Question text")
+        private String text;
+
+        @Schema(description = "Question type", example = "MCQ")
+        private String type;
+
+        @Schema(description = "Marks for this question", example = "5")
+        private Integer marks;
+
+        @Schema(description = "Options for objective questions")
+        private List<Option> options;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Answer option as shown to candidates")
+    public static class Option {
+
+        @Schema(description = "Option ID, sent back as selectedOptionId", example = "42")
+        private Long id;
+
+        @Schema(description = "Option letter", example = "A")
+        private String letter;
+
+        @Schema(description = "Option text")
+        private String text;
+    }
+}
@@ -3,10 +3,12 @@ package com.gdsc.exam.dto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 @Schema(description = "Exam Result DTO")
 public class ExamResultDto {
     
@@ -31,6 +33,12 @@ public class ExamResultDto {
     @Schema(description = "Grade", example = "A")
     private String grade;
     
+    @Schema(description = "Competition rank within the exam, equal marks share a rank", example = "3")
+    private Integer rank;
+
+    @Schema(description = "Number of ranked students in the exam", example = "120")
+    private Integer totalStudents;
+
     @Schema(description = "Result status", example = "PASSED")
     private String status;
     
@@ -44,4 +52,23 @@ public class ExamResultDto {
     
     @Schema(description = "Remarks")
     private String remarks;
-} 
+
+    /** Constructor used by the repository projection queries. */
+    public ExamResultDto(Long id, Long studentId, Long examId, Integer obtainedMarks, Integer totalMarks,
+                         Double percentage, String grade, Integer rank, Integer totalStudents, String status,
+                         LocalDateTime submissionDate, LocalDateTime evaluationDate, String remarks) {
+        this.id = id;
+        this.studentId = studentId;
+        this.examId = examId;
+        this.obtainedMarks = obtainedMarks;
+        this.totalMarks = totalMarks;
+        this.percentage = percentage;
+        this.grade = grade;
+        this.rank = rank;
+        this.totalStudents = totalStudents;
+        this.status = status;
+        this.submissionDate = submissionDate;
+        this.evaluationDate = evaluationDate;
+        this.remarks = remarks;
+    }
+}
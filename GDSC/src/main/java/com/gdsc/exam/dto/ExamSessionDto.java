@@ -0,0 +1,46 @@
+package com.gdsc.exam.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "In-progress exam session of a student")
+public class ExamSessionDto {
+
+    @Schema(description = "Session ID")
+    private Long sessionId;
+
+    @Schema(description = "Exam ID", example = "1")
+    private Long examId;
+
+    @Schema(description = "Student ID", example = "1")
+    private Long studentId;
+
+    @Schema(description = "ACTIVE while answers can be saved, SUBMITTED afterwards")
+    private String status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "When the student started the exam")
+    private LocalDateTime startedAt;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "When the exam closes for this student")
+    private LocalDateTime deadline;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "When saved answers were last written to the database")
+    private LocalDateTime lastCheckpointAt;
+
+    @Schema(description = "Answers saved so far")
+    private List<ExamSubmissionRequest.Answer> answers;
+}
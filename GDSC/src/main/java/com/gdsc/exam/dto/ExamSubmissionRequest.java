@@ -0,0 +1,51 @@
+package com.gdsc.exam.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Exam submission request")
+public class ExamSubmissionRequest {
+
+    @NotNull(message = "Student ID is required")
+    @Schema(description = "Student ID", example = "1")
+    private Long studentId;
+
+    @NotBlank(message = "Idempotency key is required")
+    @Size(max = 64, message = "Idempotency key must be at most 64 characters")
+    @Schema(description = "Client generated key, reused when the submission is retried", example = "6f1c2a9e-7d1b-4c55-9b5e-0c8d2f7a4e11")
+    private String idempotencyKey;
+
+    @NotEmpty(message = "At least one answer is required")
+    @Valid
+    @Schema(description = "Answers, at most one per question")
+    private List<Answer> answers;
+
+    @Data
+    @Schema(description = "Answer to a single question")
+    public static class Answer {
+
+        @NotNull(message = "Question ID is required")
+        @Schema(description = "Question ID", example = "10")
+        private Long questionId;
+
+        @Schema(description = "Selected option ID for objective questions", example = "42")
+        private Long selectedOptionId;
+
+        @Size(max = 10000, message = "Answer text must be at most 10000 characters")
+        @Schema(description = "Answer text for descriptive questions")
+        private String answerText;
+
+        @PositiveOrZero(message = "Time taken must not be negative")
+        @Schema(description = "Seconds spent on the question", example = "35")
+        private Integer timeTakenSeconds;
+    }
+}
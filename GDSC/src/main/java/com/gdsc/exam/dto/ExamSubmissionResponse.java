@@ -0,0 +1,41 @@
+package com.gdsc.exam.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Exam submission acknowledgement")
+public class ExamSubmissionResponse {
+
+    @Schema(description = "Exam ID", example = "1")
+    private Long examId;
+
+    @Schema(description = "Student ID", example = "1")
+    private Long studentId;
+
+    @Schema(description = "Idempotency key of the accepted submission")
+    private String idempotencyKey;
+
+    @Schema(description = "Number of answers accepted", example = "40")
+    private Integer answerCount;
+
+    @Schema(description = "ACCEPTED for a new submission, DUPLICATE when a retry of an accepted one; "
+            + "status lookups answer ACCEPTED while queued, STORED or FAILED")
+    private String status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "When the submission was received")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "Why the submission could not be stored, when FAILED; retry with the same idempotency key")
+    private String failureReason;
+}
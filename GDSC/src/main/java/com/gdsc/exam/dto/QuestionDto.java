@@ -40,7 +40,7 @@ public class QuestionDto {
     private String explanation;
     
     @Schema(description = "Question options for MCQ")
-    private List<String> options;
+    private List<@NotBlank(message = "Options must not be blank") String> options;
     
     @Schema(description = "Exam ID", example = "1")
     private Long examId;
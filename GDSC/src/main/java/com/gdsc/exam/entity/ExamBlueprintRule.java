@@ -0,0 +1,34 @@
+package com.gdsc.exam.entity;
+
+import com.gdsc.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Draw {@code questionCount} questions of a topic and difficulty from the exam's question pool
+ * into every candidate's paper. A missing topic or difficulty matches any.
+ */
+@Data
+@Entity
+@Table(name = "exam_blueprint_rules")
+@EqualsAndHashCode(callSuper = true)
+public class ExamBlueprintRule extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exam_id", nullable = false)
+    private Exam exam;
+
+    @Column(name = "topic")
+    private String topic;
+
+    @Column(name = "difficulty_level")
+    private String difficultyLevel;
+
+    @NotNull(message = "Question count is required")
+    @Positive(message = "Question count must be positive")
+    @Column(name = "question_count", nullable = false)
+    private Integer questionCount;
+}
@@ -12,7 +12,12 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "exam_results")
+@Table(name = "exam_results", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_exam_result_exam_student", columnNames = {"exam_id", "student_id"})
+}, indexes = {
+        @Index(name = "idx_exam_result_exam_rank", columnList = "exam_id, rank"),
+        @Index(name = "idx_exam_result_exam_marks", columnList = "exam_id, obtained_marks")
+})
 @EqualsAndHashCode(callSuper = true)
 public class ExamResult extends BaseEntity {
 
@@ -0,0 +1,43 @@
+package com.gdsc.exam.entity;
+
+import com.gdsc.common.entity.BaseEntity;
+import com.gdsc.student.entity.Student;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "exam_sessions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_exam_session_exam_student", columnNames = {"exam_id", "student_id"})
+})
+@EqualsAndHashCode(callSuper = true)
+public class ExamSession extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exam_id", nullable = false)
+    private Exam exam;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SessionStatus status = SessionStatus.ACTIVE;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "deadline", nullable = false)
+    private LocalDateTime deadline;
+
+    @Column(name = "last_checkpoint_at")
+    private LocalDateTime lastCheckpointAt;
+
+    public enum SessionStatus {
+        ACTIVE, SUBMITTED
+    }
+}
@@ -0,0 +1,35 @@
+package com.gdsc.exam.entity;
+
+import com.gdsc.common.entity.BaseEntity;
+import com.gdsc.student.entity.Student;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "exam_submissions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_exam_submission_exam_student", columnNames = {"exam_id", "student_id"})
+})
+@EqualsAndHashCode(callSuper = true)
+public class ExamSubmission extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exam_id", nullable = false)
+    private Exam exam;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @Column(name = "idempotency_key", nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "answer_count", nullable = false)
+    private Integer answerCount;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+}
@@ -0,0 +1,63 @@
+package com.gdsc.exam.entity;
+
+import com.gdsc.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Item statistics of one question, computed from the graded answers of its exam.
+ */
+@Data
+@Entity
+@Table(name = "question_analytics", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_question_analytics_question", columnNames = {"question_id"})
+}, indexes = {
+        @Index(name = "idx_question_analytics_exam", columnList = "exam_id")
+})
+@EqualsAndHashCode(callSuper = true)
+public class QuestionAnalytics extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exam_id", nullable = false)
+    private Exam exam;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "question_id", nullable = false)
+    private Question question;
+
+    // Students with a result whose paper contained the question
+    @Column(name = "examinees", nullable = false)
+    private Integer examinees;
+
+    @Column(name = "answered", nullable = false)
+    private Integer answered;
+
+    @Column(name = "correct_count", nullable = false)
+    private Integer correctCount;
+
+    // Classical p-value: share of examinees who answered correctly
+    @Column(name = "p_value")
+    private Double difficultyIndex;
+
+    @Column(name = "point_biserial")
+    private Double pointBiserial;
+
+    @Column(name = "average_time_seconds")
+    private Double averageTimeSeconds;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    @OneToMany(mappedBy = "analytics", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<QuestionOptionAnalytics> options = new ArrayList<>();
+
+    public void addOption(QuestionOptionAnalytics option) {
+        options.add(option);
+        option.setAnalytics(this);
+    }
+}
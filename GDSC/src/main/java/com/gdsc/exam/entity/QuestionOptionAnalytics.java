@@ -0,0 +1,35 @@
+package com.gdsc.exam.entity;
+
+import com.gdsc.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * How often one option of a question was chosen and how the students who chose it scored overall;
+ * a distractor chosen mostly by strong students points at an ambiguous question.
+ */
+@Data
+@Entity
+@Table(name = "question_option_analytics")
+@EqualsAndHashCode(callSuper = true)
+public class QuestionOptionAnalytics extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "analytics_id", nullable = false)
+    private QuestionAnalytics analytics;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "option_id", nullable = false)
+    private QuestionOption option;
+
+    @Column(name = "selected_count", nullable = false)
+    private Integer selectedCount;
+
+    // Share of examinees of the question who chose this option
+    @Column(name = "selection_rate")
+    private Double selectionRate;
+
+    @Column(name = "average_total_marks")
+    private Double averageTotalMarks;
+}
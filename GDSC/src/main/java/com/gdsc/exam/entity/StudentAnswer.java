@@ -1,6 +1,7 @@
 package com.gdsc.exam.entity;
 
 import com.gdsc.common.entity.BaseEntity;
+import com.gdsc.common.entity.IdSequence;
 import com.gdsc.student.entity.Student;
 import com.gdsc.center.entity.Center;
 import jakarta.persistence.*;
@@ -12,7 +13,10 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "student_answers")
+@Table(name = "student_answers", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_student_answer_exam_student_question", columnNames = {"exam_id", "student_id", "question_id"})
+})
+@IdSequence(allocationSize = 200)
 @EqualsAndHashCode(callSuper = true)
 public class StudentAnswer extends BaseEntity {
 
@@ -0,0 +1,22 @@
+package com.gdsc.exam.repository;
+
+import com.gdsc.exam.entity.ExamBlueprintRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExamBlueprintRuleRepository extends JpaRepository<ExamBlueprintRule, Long> {
+
+    List<ExamBlueprintRule> findByExamIdOrderByIdAsc(Long examId);
+
+    boolean existsByExamId(Long examId);
+
+    @Modifying
+    @Query("DELETE FROM ExamBlueprintRule r WHERE r.exam.id = :examId")
+    int deleteByExamId(@Param("examId") Long examId);
+}
@@ -1,14 +1,27 @@
 package com.gdsc.exam.repository;
 
+import com.gdsc.exam.dto.ExamDto;
 import com.gdsc.exam.entity.Exam;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExamRepository extends JpaRepository<Exam, Long> {
-    
+
+    String DTO_SELECT = "SELECT new com.gdsc.exam.dto.ExamDto(e.id, e.name, e.description, e.course.id, e.examDate, "
+            + "e.durationMinutes, cast(e.examType as String), e.totalMarks, e.isOnline, e.center.id, "
+            + "cast(e.status as String)) FROM Exam e";
+
     List<Exam> findByCourseId(Long courseId);
     
     List<Exam> findByAssignedStudents_Id(Long studentId);
@@ -19,4 +32,26 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
     List<Exam> findByIsOnline(Boolean isOnline);
     
     List<Exam> findByCenterId(Long centerId);
-} 
+
+    // Status only: a full save would re-validate examDate, which is in the past once the exam runs
+    @Modifying
+    @Transactional
+    @Query("UPDATE Exam e SET e.status = :status WHERE e.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") Exam.ExamStatus status);
+
+    @Query(DTO_SELECT + " ORDER BY e.id")
+    List<ExamDto> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE e.course.id = :courseId ORDER BY e.id")
+    List<ExamDto> findDtosByCourseId(@Param("courseId") Long courseId);
+
+    @Query(DTO_SELECT + " JOIN e.assignedStudents s WHERE s.id = :studentId ORDER BY e.id")
+    List<ExamDto> findDtosByAssignedStudentId(@Param("studentId") Long studentId);
+
+    @Query(DTO_SELECT + " WHERE e.center.id = :centerId ORDER BY e.id")
+    List<ExamDto> findDtosByCenterId(@Param("centerId") Long centerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + " ORDER BY e.id")
+    Stream<ExamDto> streamAllDtos();
+}
@@ -1,20 +1,50 @@
 package com.gdsc.exam.repository;
 
+import com.gdsc.exam.dto.ExamResultDto;
 import com.gdsc.exam.entity.ExamResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ExamResultRepository extends JpaRepository<ExamResult, Long> {
-    
+
+    String DTO_SELECT = "SELECT new com.gdsc.exam.dto.ExamResultDto(r.id, r.student.id, r.exam.id, r.obtainedMarks, "
+            + "r.totalMarks, r.percentage, r.grade, r.rank, r.totalStudents, cast(r.resultStatus as String), "
+            + "r.examStartTime, r.evaluationDate, r.remarks) FROM ExamResult r";
+
     List<ExamResult> findByExamId(Long examId);
 
+    long countByExamId(Long examId);
+
 
     List<ExamResult> findByStudent_Id(Long studentId);
     
     List<ExamResult> findByResultStatus(ExamResult.ResultStatus resultStatus);
     
     List<ExamResult> findByCenterId(Long centerId);
-} 
+
+    @Query("SELECT r.student.id, r.id FROM ExamResult r WHERE r.exam.id = :examId")
+    List<Object[]> findStudentResultIdsByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT r.student.id, r.obtainedMarks FROM ExamResult r WHERE r.exam.id = :examId")
+    List<Object[]> findStudentScoresByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT r.id, r.obtainedMarks FROM ExamResult r WHERE r.exam.id = :examId ORDER BY r.obtainedMarks DESC")
+    List<Object[]> findScoresByExamIdOrderByMarksDesc(@Param("examId") Long examId);
+
+    @Query("SELECT r.id, r.obtainedMarks FROM ExamResult r WHERE r.exam.id = :examId AND r.student.id = :studentId")
+    List<Object[]> findIdAndMarksByExamIdAndStudentId(@Param("examId") Long examId, @Param("studentId") Long studentId);
+
+    @Query(DTO_SELECT + " WHERE r.exam.id = :examId ORDER BY r.rank ASC NULLS LAST, r.id ASC")
+    List<ExamResultDto> findDtosByExamIdOrderByRank(@Param("examId") Long examId);
+
+    @Query(DTO_SELECT + " WHERE r.exam.id = :examId AND r.rank <= :rank ORDER BY r.rank ASC, r.id ASC")
+    List<ExamResultDto> findDtosByExamIdAndRankAtMost(@Param("examId") Long examId, @Param("rank") Integer rank);
+
+    @Query(DTO_SELECT + " WHERE r.student.id = :studentId ORDER BY r.id")
+    List<ExamResultDto> findDtosByStudentId(@Param("studentId") Long studentId);
+}
@@ -0,0 +1,25 @@
+package com.gdsc.exam.repository;
+
+import com.gdsc.exam.entity.ExamSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExamSessionRepository extends JpaRepository<ExamSession, Long> {
+
+    Optional<ExamSession> findByExamIdAndStudentId(Long examId, Long studentId);
+
+    @Query("SELECT s.student.id FROM ExamSession s WHERE s.exam.id = :examId AND s.status = :status")
+    List<Long> findStudentIdsByExamIdAndStatus(@Param("examId") Long examId,
+                                               @Param("status") ExamSession.SessionStatus status);
+
+    @Query("SELECT DISTINCT s.exam.id FROM ExamSession s WHERE s.status = :status AND s.deadline <= :now")
+    List<Long> findExamIdsWithSessionsPastDeadline(@Param("status") ExamSession.SessionStatus status,
+                                                   @Param("now") LocalDateTime now);
+}
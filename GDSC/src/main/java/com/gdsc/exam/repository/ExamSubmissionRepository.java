@@ -0,0 +1,23 @@
+package com.gdsc.exam.repository;
+
+import com.gdsc.exam.entity.ExamSubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExamSubmissionRepository extends JpaRepository<ExamSubmission, Long> {
+
+    Optional<ExamSubmission> findByExamIdAndStudentId(Long examId, Long studentId);
+
+    @Query("SELECT s.student.id, s.submittedAt FROM ExamSubmission s WHERE s.exam.id = :examId")
+    List<Object[]> findSubmissionTimesByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT s.student.id FROM ExamSubmission s WHERE s.exam.id = :examId AND s.student.id IN :studentIds")
+    List<Long> findSubmittedStudentIds(@Param("examId") Long examId, @Param("studentIds") Collection<Long> studentIds);
+}
@@ -0,0 +1,39 @@
+package com.gdsc.exam.repository;
+
+import com.gdsc.exam.entity.QuestionAnalytics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionAnalyticsRepository extends JpaRepository<QuestionAnalytics, Long> {
+
+    @Query("SELECT DISTINCT a FROM QuestionAnalytics a JOIN FETCH a.question q " +
+           "LEFT JOIN FETCH a.options o LEFT JOIN FETCH o.option " +
+           "WHERE a.exam.id = :examId ORDER BY q.id")
+    List<QuestionAnalytics> findWithOptionsByExamId(@Param("examId") Long examId);
+
+    boolean existsByExamId(Long examId);
+
+    @Modifying
+    @Query("DELETE FROM QuestionOptionAnalytics o WHERE o.analytics.id IN " +
+           "(SELECT a.id FROM QuestionAnalytics a WHERE a.exam.id = :examId)")
+    int deleteOptionsByExamId(@Param("examId") Long examId);
+
+    @Modifying
+    @Query("DELETE FROM QuestionAnalytics a WHERE a.exam.id = :examId")
+    int deleteByExamId(@Param("examId") Long examId);
+
+    @Modifying
+    @Query("DELETE FROM QuestionOptionAnalytics o WHERE o.analytics.id IN " +
+           "(SELECT a.id FROM QuestionAnalytics a WHERE a.question.id = :questionId)")
+    int deleteOptionsByQuestionId(@Param("questionId") Long questionId);
+
+    @Modifying
+    @Query("DELETE FROM QuestionAnalytics a WHERE a.question.id = :questionId")
+    int deleteByQuestionId(@Param("questionId") Long questionId);
+}
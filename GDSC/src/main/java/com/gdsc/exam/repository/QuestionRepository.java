@@ -2,6 +2,8 @@ package com.gdsc.exam.repository;
 
 import com.gdsc.exam.entity.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +12,10 @@ import java.util.List;
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     
     List<Question> findByExamId(Long examId);
+
+    @Query("SELECT q FROM Question q LEFT JOIN FETCH q.options o WHERE q.exam.id = :examId " +
+           "ORDER BY q.id, o.displayOrder, o.id")
+    List<Question> findWithOptionsByExamId(@Param("examId") Long examId);
     
     List<Question> findByQuestionType(Question.QuestionType questionType);
     
@@ -18,4 +24,17 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByTopic(String topic);
     
     List<Question> findByCenterId(Long centerId);
-} 
+
+    @Query("SELECT q.id FROM Question q WHERE q.exam.id = :examId")
+    List<Long> findIdsByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT q.id, q.marks, q.questionType, q.correctAnswer FROM Question q WHERE q.exam.id = :examId")
+    List<Object[]> findAnswerKeyByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT o.id, o.question.id FROM QuestionOption o WHERE o.question.exam.id = :examId")
+    List<Object[]> findOptionIdsByExamId(@Param("examId") Long examId);
+
+    @Query("SELECT o.id, o.question.id, o.optionLetter, o.optionText FROM QuestionOption o " +
+           "WHERE o.question.exam.id = :examId AND o.isCorrect = true")
+    List<Object[]> findCorrectOptionsByExamId(@Param("examId") Long examId);
+}
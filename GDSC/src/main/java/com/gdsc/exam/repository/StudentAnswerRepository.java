@@ -0,0 +1,46 @@
+package com.gdsc.exam.repository;
+
+import com.gdsc.exam.entity.StudentAnswer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StudentAnswerRepository extends JpaRepository<StudentAnswer, Long> {
+
+    /**
+     * Keyset page of the grading inputs of an exam: id, student id, question id,
+     * selected option id, answer text, reviewed flag and marks obtained.
+     */
+    @Query("SELECT a.id, a.student.id, a.question.id, a.selectedOptionId, a.answerText, a.isReviewed, a.marksObtained " +
+           "FROM StudentAnswer a " +
+           "WHERE a.exam.id = :examId AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findGradingPage(@Param("examId") Long examId, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of the analytics inputs of an exam: id, student id, question id,
+     * selected option id, correct flag, marks obtained and time taken.
+     */
+    @Query("SELECT a.id, a.student.id, a.question.id, a.selectedOptionId, a.isCorrect, a.marksObtained, a.timeTakenSeconds " +
+           "FROM StudentAnswer a " +
+           "WHERE a.exam.id = :examId AND a.id > :afterId ORDER BY a.id")
+    List<Object[]> findAnalyticsPage(@Param("examId") Long examId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT a.id, a.student.id, a.question.id, a.selectedOptionId, a.answerText, a.isReviewed, a.marksObtained " +
+           "FROM StudentAnswer a " +
+           "WHERE a.exam.id = :examId AND a.student.id = :studentId ORDER BY a.id")
+    List<Object[]> findGradingRowsByExamIdAndStudentId(@Param("examId") Long examId, @Param("studentId") Long studentId);
+
+    @Query("SELECT a.question.id, a.selectedOptionId, a.answerText, a.timeTakenSeconds, a.submissionTime " +
+           "FROM StudentAnswer a WHERE a.exam.id = :examId AND a.student.id = :studentId")
+    List<Object[]> findSessionAnswers(@Param("examId") Long examId, @Param("studentId") Long studentId);
+
+    @Query("SELECT a.student.id, a.question.id, a.id FROM StudentAnswer a " +
+           "WHERE a.exam.id = :examId AND a.student.id IN :studentIds")
+    List<Object[]> findAnswerIds(@Param("examId") Long examId, @Param("studentIds") Collection<Long> studentIds);
+}
@@ -0,0 +1,134 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.exam.entity.Question;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable answer key of one exam held in sorted primitive arrays, so scoring an answer is two
+ * binary searches and no allocation. Safe to share between grading threads.
+ */
+public final class AnswerKey {
+
+    /** Score returned for answers that cannot be marked automatically. */
+    public static final int NEEDS_REVIEW = -1;
+
+    private final long[] questionIds;
+    private final int[] marks;
+    private final boolean[] autoGraded;
+    private final String[][] acceptedAnswers;
+    private final long[] correctOptionIds;
+    private final long[] correctOptionQuestionIds;
+    private final int totalMarks;
+
+    private AnswerKey(long[] questionIds, int[] marks, boolean[] autoGraded, String[][] acceptedAnswers,
+                      long[] correctOptionIds, long[] correctOptionQuestionIds) {
+        this.questionIds = questionIds;
+        this.marks = marks;
+        this.autoGraded = autoGraded;
+        this.acceptedAnswers = acceptedAnswers;
+        this.correctOptionIds = correctOptionIds;
+        this.correctOptionQuestionIds = correctOptionQuestionIds;
+        this.totalMarks = Arrays.stream(marks).sum();
+    }
+
+    /**
+     * @param questions      rows of question id, marks, question type and correct answer text
+     * @param correctOptions rows of option id, question id, option letter and option text
+     */
+    public static AnswerKey of(List<Object[]> questions, List<Object[]> correctOptions) {
+        List<Object[]> sortedQuestions = new ArrayList<>(questions);
+        sortedQuestions.sort(Comparator.comparingLong(row -> (Long) row[0]));
+        List<Object[]> sortedOptions = new ArrayList<>(correctOptions);
+        sortedOptions.sort(Comparator.comparingLong(row -> (Long) row[0]));
+
+        int questionCount = sortedQuestions.size();
+        long[] questionIds = new long[questionCount];
+        int[] marks = new int[questionCount];
+        Question.QuestionType[] types = new Question.QuestionType[questionCount];
+        List<List<String>> accepted = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            Object[] row = sortedQuestions.get(i);
+            questionIds[i] = (Long) row[0];
+            marks[i] = row[1] != null ? (Integer) row[1] : 0;
+            types[i] = (Question.QuestionType) row[2];
+            accepted.add(new ArrayList<>());
+            addAccepted(accepted.get(i), (String) row[3]);
+        }
+
+        long[] correctOptionIds = new long[sortedOptions.size()];
+        long[] correctOptionQuestionIds = new long[sortedOptions.size()];
+        for (int i = 0; i < sortedOptions.size(); i++) {
+            Object[] row = sortedOptions.get(i);
+            correctOptionIds[i] = (Long) row[0];
+            correctOptionQuestionIds[i] = (Long) row[1];
+            int question = Arrays.binarySearch(questionIds, correctOptionQuestionIds[i]);
+            if (question >= 0) {
+                addAccepted(accepted.get(question), (String) row[2]);
+                addAccepted(accepted.get(question), (String) row[3]);
+            }
+        }
+
+        boolean[] autoGraded = new boolean[questionCount];
+        String[][] acceptedAnswers = new String[questionCount][];
+        for (int i = 0; i < questionCount; i++) {
+            acceptedAnswers[i] = accepted.get(i).toArray(String[]::new);
+            autoGraded[i] = isObjective(types[i]) && acceptedAnswers[i].length > 0;
+        }
+        return new AnswerKey(questionIds, marks, autoGraded, acceptedAnswers, correctOptionIds, correctOptionQuestionIds);
+    }
+
+    public int getTotalMarks() {
+        return totalMarks;
+    }
+
+    /**
+     * Marks for one answer, 0 when wrong, or {@link #NEEDS_REVIEW} for questions that are not
+     * objective or have no answer configured. A selected option takes precedence over answer text.
+     */
+    public int score(long questionId, Long selectedOptionId, String answerText) {
+        int question = Arrays.binarySearch(questionIds, questionId);
+        if (question < 0) {
+            return 0;
+        }
+        if (!autoGraded[question]) {
+            return NEEDS_REVIEW;
+        }
+        if (selectedOptionId != null) {
+            int option = Arrays.binarySearch(correctOptionIds, selectedOptionId);
+            return option >= 0 && correctOptionQuestionIds[option] == questionId ? marks[question] : 0;
+        }
+        if (answerText != null) {
+            String normalized = normalize(answerText);
+            for (String acceptedAnswer : acceptedAnswers[question]) {
+                if (acceptedAnswer.equals(normalized)) {
+                    return marks[question];
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isObjective(Question.QuestionType type) {
+        return type == Question.QuestionType.MCQ
+                || type == Question.QuestionType.TRUE_FALSE
+                || type == Question.QuestionType.FILL_IN_THE_BLANK;
+    }
+
+    private static void addAccepted(List<String> accepted, String answer) {
+        if (answer != null && !answer.isBlank()) {
+            String normalized = normalize(answer);
+            if (!accepted.contains(normalized)) {
+                accepted.add(normalized);
+            }
+        }
+    }
+
+    private static String normalize(String answer) {
+        return answer.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
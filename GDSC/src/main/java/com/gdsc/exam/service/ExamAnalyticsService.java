@@ -0,0 +1,239 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.common.exception.DuplicateResourceException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.exam.dto.ExamAnalyticsDto;
+import com.gdsc.exam.entity.Exam;
+import com.gdsc.exam.entity.Question;
+import com.gdsc.exam.entity.QuestionAnalytics;
+import com.gdsc.exam.entity.QuestionOption;
+import com.gdsc.exam.entity.QuestionOptionAnalytics;
+import com.gdsc.exam.repository.ExamBlueprintRuleRepository;
+import com.gdsc.exam.repository.ExamRepository;
+import com.gdsc.exam.repository.ExamResultRepository;
+import com.gdsc.exam.repository.QuestionAnalyticsRepository;
+import com.gdsc.exam.repository.QuestionRepository;
+import com.gdsc.exam.repository.StudentAnswerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Item analytics of an exam: difficulty, discrimination, option selection and time per question.
+ * Computed once grading finishes from a single keyset pass over the graded answers, reading only
+ * the columns it needs, and stored so that reads never touch the answers again.
+ */
+@Slf4j
+@Service
+public class ExamAnalyticsService {
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private StudentAnswerRepository studentAnswerRepository;
+
+    @Autowired
+    private ExamResultRepository examResultRepository;
+
+    @Autowired
+    private QuestionAnalyticsRepository questionAnalyticsRepository;
+
+    @Autowired
+    private ExamBlueprintRuleRepository blueprintRuleRepository;
+
+    @Autowired
+    private ExamPaperCache examPaperCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${exam.analytics.page-size:10000}")
+    private int pageSize;
+
+    // Completed when the computation ends, whether or not it succeeded
+    private final Map<Long, CompletableFuture<Void>> computations = new ConcurrentHashMap<>();
+
+    /**
+     * Stored analytics of an exam; computed on first request for exams graded before analytics
+     * were stored. A request arriving while they are being computed waits for that computation.
+     */
+    public ExamAnalyticsDto getAnalytics(Long examId) {
+        if (!examRepository.existsById(examId)) {
+            throw new ResourceNotFoundException("Exam", "id", examId);
+        }
+        List<QuestionAnalytics> analytics = questionAnalyticsRepository.findWithOptionsByExamId(examId);
+        if (analytics.isEmpty() && examResultRepository.countByExamId(examId) > 0) {
+            computeOrAwait(examId);
+            analytics = questionAnalyticsRepository.findWithOptionsByExamId(examId);
+        }
+        return convertToDto(examId, analytics);
+    }
+
+    public ExamAnalyticsDto recompute(Long examId) {
+        if (!examRepository.existsById(examId)) {
+            throw new ResourceNotFoundException("Exam", "id", examId);
+        }
+        compute(examId);
+        return getAnalytics(examId);
+    }
+
+    /**
+     * Recomputes and replaces the analytics of an exam from its current results and answers.
+     */
+    public void compute(Long examId) {
+        CompletableFuture<Void> computation = new CompletableFuture<>();
+        if (computations.putIfAbsent(examId, computation) != null) {
+            throw new DuplicateResourceException("Analytics of exam " + examId + " are already being computed");
+        }
+        run(examId, computation);
+    }
+
+    private void computeOrAwait(Long examId) {
+        CompletableFuture<Void> computation = new CompletableFuture<>();
+        CompletableFuture<Void> running = computations.putIfAbsent(examId, computation);
+        if (running != null) {
+            running.join();
+            return;
+        }
+        run(examId, computation);
+    }
+
+    private void run(Long examId, CompletableFuture<Void> computation) {
+        try {
+            long started = System.nanoTime();
+            Map<Long, Integer> totals = new HashMap<>();
+            for (Object[] row : examResultRepository.findStudentScoresByExamId(examId)) {
+                totals.put((Long) row[0], (Integer) row[1]);
+            }
+            ItemAnalysis analysis = new ItemAnalysis(questionRepository.findIdsByExamId(examId),
+                    questionRepository.findOptionIdsByExamId(examId), totals);
+            if (blueprintRuleRepository.existsByExamId(examId)) {
+                // Papers are reproducible, so who was given which question is recomputed, not stored
+                for (Long studentId : totals.keySet()) {
+                    analysis.present(studentId, examPaperCache.drawnPaper(examId, studentId).questionIds());
+                }
+            } else {
+                analysis.presentAll();
+            }
+
+            long answers = 0;
+            long afterId = 0;
+            while (true) {
+                List<Object[]> page = studentAnswerRepository.findAnalyticsPage(examId, afterId, PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                page.forEach(analysis::accept);
+                answers += page.size();
+                afterId = (Long) page.get(page.size() - 1)[0];
+            }
+
+            store(examId, analysis.results());
+            log.info("Computed analytics of exam {}: {} answers of {} students in {} ms", examId, answers,
+                    totals.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } finally {
+            computations.remove(examId, computation);
+            computation.complete(null);
+        }
+    }
+
+    @Transactional
+    public void deleteForExam(Long examId) {
+        questionAnalyticsRepository.deleteOptionsByExamId(examId);
+        questionAnalyticsRepository.deleteByExamId(examId);
+    }
+
+    @Transactional
+    public void deleteForQuestion(Long questionId) {
+        questionAnalyticsRepository.deleteOptionsByQuestionId(questionId);
+        questionAnalyticsRepository.deleteByQuestionId(questionId);
+    }
+
+    private void store(Long examId, List<ItemAnalysis.QuestionStats> results) {
+        LocalDateTime computedAt = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            deleteForExam(examId);
+            Exam exam = entityManager.getReference(Exam.class, examId);
+            for (ItemAnalysis.QuestionStats stats : results) {
+                QuestionAnalytics analytics = new QuestionAnalytics();
+                analytics.setExam(exam);
+                analytics.setQuestion(entityManager.getReference(Question.class, stats.questionId()));
+                analytics.setExaminees(stats.examinees());
+                analytics.setAnswered(stats.answered());
+                analytics.setCorrectCount(stats.correct());
+                analytics.setDifficultyIndex(stats.difficultyIndex());
+                analytics.setPointBiserial(stats.pointBiserial());
+                analytics.setAverageTimeSeconds(stats.averageTimeSeconds());
+                analytics.setComputedAt(computedAt);
+                for (ItemAnalysis.OptionStats optionStats : stats.options()) {
+                    QuestionOptionAnalytics option = new QuestionOptionAnalytics();
+                    option.setOption(entityManager.getReference(QuestionOption.class, optionStats.optionId()));
+                    option.setSelectedCount(optionStats.selected());
+                    option.setSelectionRate(optionStats.selectionRate());
+                    option.setAverageTotalMarks(optionStats.averageTotalMarks());
+                    analytics.addOption(option);
+                }
+                entityManager.persist(analytics);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private ExamAnalyticsDto convertToDto(Long examId, List<QuestionAnalytics> analytics) {
+        return ExamAnalyticsDto.builder()
+                .examId(examId)
+                .computedAt(analytics.isEmpty() ? null : analytics.get(0).getComputedAt())
+                .questions(analytics.stream().map(this::convertToDto).collect(Collectors.toList()))
+                .build();
+    }
+
+    private ExamAnalyticsDto.Question convertToDto(QuestionAnalytics analytics) {
+        return ExamAnalyticsDto.Question.builder()
+                .questionId(analytics.getQuestion().getId())
+                .text(analytics.getQuestion().getQuestionText())
+                .examinees(analytics.getExaminees())
+                .answered(analytics.getAnswered())
+                .correctCount(analytics.getCorrectCount())
+                .difficultyIndex(analytics.getDifficultyIndex())
+                .pointBiserial(analytics.getPointBiserial())
+                .averageTimeSeconds(analytics.getAverageTimeSeconds())
+                .options(analytics.getOptions().stream()
+                        .sorted(Comparator.comparing((QuestionOptionAnalytics option) -> option.getOption().getDisplayOrder(),
+                                        Comparator.nullsLast(Comparator.naturalOrder()))
+                                .thenComparing(option -> option.getOption().getId()))
+                        .map(option -> ExamAnalyticsDto.Option.builder()
+                                .optionId(option.getOption().getId())
+                                .letter(option.getOption().getOptionLetter())
+                                .correct(option.getOption().getIsCorrect())
+                                .selectedCount(option.getSelectedCount())
+                                .selectionRate(option.getSelectionRate())
+                                .averageTotalMarks(option.getAverageTotalMarks())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
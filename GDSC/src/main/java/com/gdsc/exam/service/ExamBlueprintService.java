@@ -0,0 +1,170 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.exam.dto.ExamBlueprintRuleDto;
+import com.gdsc.exam.entity.Exam;
+import com.gdsc.exam.entity.ExamBlueprintRule;
+import com.gdsc.exam.entity.Question;
+import com.gdsc.exam.repository.ExamBlueprintRuleRepository;
+import com.gdsc.exam.repository.ExamRepository;
+import com.gdsc.exam.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Blueprints turn an exam's questions into a pool: each candidate gets the questions the rules
+ * draw for them instead of every question of the exam.
+ */
+@Service
+public class ExamBlueprintService {
+
+    @Autowired
+    private ExamBlueprintRuleRepository blueprintRuleRepository;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ExamSubmissionService examSubmissionService;
+
+    @Autowired
+    private ExamPaperCache examPaperCache;
+
+    public List<ExamBlueprintRuleDto> getRules(Long examId) {
+        if (!examRepository.existsById(examId)) {
+            throw new ResourceNotFoundException("Exam", "id", examId);
+        }
+        return blueprintRuleRepository.findByExamIdOrderByIdAsc(examId).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Replaces the blueprint of an exam; an empty list turns it back into a fixed paper. Rules are
+     * applied in order and never draw a question twice, so each rule must match enough questions
+     * to fill it whatever the rules before it drew.
+     * <p>
+     * Every candidate's paper must be worth the exam's total marks, so all questions a rule can
+     * draw must carry the same marks and the rules together must add up to the exam's total.
+     */
+    @Transactional
+    public List<ExamBlueprintRuleDto> replaceRules(Long examId, List<ExamBlueprintRuleDto> ruleDtos) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
+        checkChangeable(exam, "Blueprint");
+
+        List<ExamBlueprintRule> rules = new ArrayList<>(ruleDtos.size());
+        for (ExamBlueprintRuleDto dto : ruleDtos) {
+            if (dto.getQuestionCount() == null || dto.getQuestionCount() <= 0) {
+                throw new BadRequestException("Question count of every blueprint rule must be positive");
+            }
+            ExamBlueprintRule rule = new ExamBlueprintRule();
+            rule.setExam(exam);
+            rule.setTopic(blankToNull(dto.getTopic()));
+            rule.setDifficultyLevel(blankToNull(dto.getDifficulty()));
+            rule.setQuestionCount(dto.getQuestionCount());
+            rules.add(rule);
+        }
+        checkRules(exam, rules, questionRepository.findWithOptionsByExamId(examId));
+
+        blueprintRuleRepository.deleteByExamId(examId);
+        List<ExamBlueprintRule> saved = blueprintRuleRepository.saveAll(rules);
+        examSubmissionService.evictExamWindow(examId);
+        examPaperCache.evict(examId);
+        return saved.stream().map(this::convertToDto).collect(Collectors.toList());
+    }
+
+    /**
+     * Checks that the blueprint of an exam still holds once {@code changed} replaces the question
+     * with id {@code replacedId} in its pool; either may be null for a question being added or
+     * deleted. Candidates' papers are drawn from the current pool, so the pool of a blueprint exam
+     * is as frozen as the blueprint itself while the exam runs. Exams without a blueprint are not
+     * checked.
+     */
+    public void checkQuestionChange(Exam exam, Long replacedId, Question changed) {
+        List<ExamBlueprintRule> rules = blueprintRuleRepository.findByExamIdOrderByIdAsc(exam.getId());
+        if (rules.isEmpty()) {
+            return;
+        }
+        checkChangeable(exam, "Questions");
+        List<Question> pool = new ArrayList<>(questionRepository.findWithOptionsByExamId(exam.getId()));
+        if (replacedId != null) {
+            pool.removeIf(question -> replacedId.equals(question.getId()));
+        }
+        if (changed != null) {
+            pool.add(changed);
+        }
+        checkRules(exam, rules, pool);
+    }
+
+    private static void checkChangeable(Exam exam, String what) {
+        if (exam.getStatus() == Exam.ExamStatus.IN_PROGRESS || exam.isCompleted()) {
+            throw new BadRequestException(what + " of exam " + exam.getId() + " cannot be changed while " + exam.getStatus());
+        }
+    }
+
+    private static void checkRules(Exam exam, List<ExamBlueprintRule> rules, List<Question> pool) {
+        List<Set<Long>> matching = new ArrayList<>(rules.size());
+        int paperMarks = 0;
+        for (int r = 0; r < rules.size(); r++) {
+            ExamBlueprintRule rule = rules.get(r);
+            List<Question> matched = pool.stream()
+                    .filter(question -> QuestionPoolIndex.matches(rule, question))
+                    .collect(Collectors.toList());
+            Set<Long> candidates = matched.stream().map(Question::getId).collect(Collectors.toSet());
+            Set<Integer> marks = matched.stream().map(Question::getMarks).collect(Collectors.toCollection(TreeSet::new));
+            if (marks.size() > 1) {
+                throw new BadRequestException("Blueprint rule for topic " + describe(rule.getTopic())
+                        + " and difficulty " + describe(rule.getDifficultyLevel()) + " matches questions worth "
+                        + marks + " marks; every question a rule can draw must carry the same marks");
+            }
+            // Worst case: every earlier rule drew its questions from the ones this rule also matches
+            int available = candidates.size();
+            for (int i = 0; i < r; i++) {
+                Set<Long> shared = new HashSet<>(matching.get(i));
+                shared.retainAll(candidates);
+                available -= Math.min(rules.get(i).getQuestionCount(), shared.size());
+            }
+            if (available < rule.getQuestionCount()) {
+                throw new BadRequestException("Blueprint rule for topic " + describe(rule.getTopic())
+                        + " and difficulty " + describe(rule.getDifficultyLevel()) + " needs "
+                        + rule.getQuestionCount() + " questions but the pool guarantees only " + Math.max(available, 0));
+            }
+            matching.add(candidates);
+            paperMarks += rule.getQuestionCount() * marks.iterator().next();
+        }
+        if (!rules.isEmpty() && (exam.getTotalMarks() == null || exam.getTotalMarks() != paperMarks)) {
+            throw new BadRequestException("Papers drawn by this blueprint are worth " + paperMarks
+                    + " marks but exam " + exam.getId() + " has total marks " + exam.getTotalMarks());
+        }
+    }
+
+    private ExamBlueprintRuleDto convertToDto(ExamBlueprintRule rule) {
+        ExamBlueprintRuleDto dto = new ExamBlueprintRuleDto();
+        dto.setId(rule.getId());
+        dto.setTopic(rule.getTopic());
+        dto.setDifficulty(rule.getDifficultyLevel());
+        dto.setQuestionCount(rule.getQuestionCount());
+        return dto;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String describe(String value) {
+        return value != null ? value : "any";
+    }
+}
@@ -0,0 +1,323 @@
+package com.gdsc.exam.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdsc.exam.dto.ExamEvent;
+import com.gdsc.exam.entity.Exam;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes exam status changes, remaining time and forced-submit notices to connected candidates
+ * over server-sent events. Every event is serialized once into a complete SSE frame that is
+ * written unchanged to all subscribers of the exam, off the publishing thread.
+ * <p>
+ * Writes to a client block while its socket is full, so each subscriber has its own short queue
+ * of frames, drained by one sender thread at a time. A stalled client holds up only its own
+ * frames; once its queue overflows or a single write takes longer than
+ * {@code exam.events.send-timeout-ms} it is disconnected and reconnects like after a timeout.
+ */
+@Slf4j
+@Service
+public class ExamEventBroadcaster {
+
+    public static final String EVENT_STATUS = "status";
+    public static final String EVENT_TIMER = "timer";
+    public static final String EVENT_FORCED_SUBMIT = "forced-submit";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ExamSubmissionService examSubmissionService;
+
+    @Autowired
+    private ExamSessionService examSessionService;
+
+    @Value("${exam.events.emitter-timeout-ms:3600000}")
+    private long emitterTimeoutMillis;
+
+    @Value("${exam.events.send-threads:4}")
+    private int sendThreads;
+
+    @Value("${exam.events.max-queued-frames:16}")
+    private int maxQueuedFrames;
+
+    @Value("${exam.events.send-timeout-ms:10000}")
+    private long sendTimeoutMillis;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // Exams whose time-up notice went out, so the timer sends it only once
+    private final Set<Long> timeUpSent = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesFailed = new AtomicLong();
+    private final AtomicLong slowDropped = new AtomicLong();
+
+    private ExecutorService senders;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "exam-events-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        senders.shutdownNow();
+        subscribers.values().forEach(exam -> exam.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    public SseEmitter subscribe(Long examId) {
+        ExamSubmissionService.ExamWindow window = examSubmissionService.getExamWindow(examId);
+        Subscriber subscriber = new Subscriber(examId, new SseEmitter(emitterTimeoutMillis));
+        subscribers.compute(examId, (id, exam) -> {
+            Set<Subscriber> result = exam != null ? exam : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(error -> unsubscribe(subscriber));
+        // The current state right away, so a client never needs to poll the exam first
+        enqueue(subscriber, frame(timerEvent(examId, window, LocalDateTime.now())));
+        return subscriber.emitter;
+    }
+
+    public void publishStatus(Long examId, String status) {
+        publish(ExamEvent.builder()
+                .examId(examId)
+                .type(EVENT_STATUS)
+                .status(status)
+                .serverTime(LocalDateTime.now())
+                .build());
+    }
+
+    public void publishForcedSubmit(Long examId, String message) {
+        publish(ExamEvent.builder()
+                .examId(examId)
+                .type(EVENT_FORCED_SUBMIT)
+                .message(message)
+                .serverTime(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Re-sends the timer after the exam was rescheduled, so clients pick up the new times at once.
+     */
+    public void examChanged(Long examId) {
+        timeUpSent.remove(examId);
+        if (subscribers.containsKey(examId)) {
+            publish(timerEvent(examId, examSubmissionService.getExamWindow(examId), LocalDateTime.now()));
+        }
+    }
+
+    public void examDeleted(Long examId) {
+        closeAll(examId);
+    }
+
+    /**
+     * Sends remaining time to every exam with subscribers; the ticks double as keep-alives.
+     * When an exam's time is up candidates are told so once; their open sessions are submitted by
+     * {@link ExamSessionService#submitExpiredSessions()} whether or not anyone is connected.
+     */
+    @Scheduled(fixedDelayString = "${exam.events.tick-interval-ms:15000}")
+    public void tick() {
+        dropStalled();
+        LocalDateTime now = LocalDateTime.now();
+        for (Long examId : new HashSet<>(subscribers.keySet())) {
+            ExamSubmissionService.ExamWindow window;
+            try {
+                window = examSubmissionService.getExamWindow(examId);
+            } catch (RuntimeException e) {
+                // Exam deleted while candidates were connected
+                closeAll(examId);
+                continue;
+            }
+            publish(timerEvent(examId, window, now));
+            if (!now.isBefore(window.closesAt()) && timeUpSent.add(examId)) {
+                publishForcedSubmit(examId, "Exam time is over");
+            }
+        }
+    }
+
+    /**
+     * Tells candidates to submit and submits every open session of the exam on their behalf.
+     */
+    public void forceSubmit(Long examId, String message) {
+        publishForcedSubmit(examId, message);
+        int submitted = examSessionService.submitOpenSessions(examId);
+        log.info("Forced submit of exam {}: {} open session(s) submitted", examId, submitted);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("exams", subscribers.size());
+        metrics.put("subscribers", subscribers.values().stream().mapToInt(Set::size).sum());
+        metrics.put("framesSent", framesSent.get());
+        metrics.put("framesFailed", framesFailed.get());
+        metrics.put("slowSubscribersDropped", slowDropped.get());
+        return metrics;
+    }
+
+    private void publish(ExamEvent event) {
+        Set<Subscriber> exam = subscribers.get(event.getExamId());
+        if (exam == null || exam.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(event);
+        for (Subscriber subscriber : exam) {
+            enqueue(subscriber, frame);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (subscriber.queued.incrementAndGet() > maxQueuedFrames) {
+            drop(subscriber, "fell " + maxQueuedFrames + " frames behind");
+            return;
+        }
+        subscriber.pending.add(frame);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Frames of one subscriber go out in order, on one sender thread at a time
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = subscriber.pending.poll();
+            if (frame == null) {
+                subscriber.draining.set(false);
+                // A frame queued between the poll and the reset would otherwise wait for the next one
+                if (subscriber.pending.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            subscriber.queued.decrementAndGet();
+            if (subscriber.dropped) {
+                continue;
+            }
+            subscriber.sendStartedAt = System.currentTimeMillis();
+            try {
+                subscriber.emitter.send(frame);
+                framesSent.incrementAndGet();
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the container completes the emitter
+                framesFailed.incrementAndGet();
+                unsubscribe(subscriber);
+            } finally {
+                subscriber.sendStartedAt = 0;
+            }
+        }
+    }
+
+    private void dropStalled() {
+        long startedBefore = System.currentTimeMillis() - sendTimeoutMillis;
+        for (Set<Subscriber> exam : subscribers.values()) {
+            for (Subscriber subscriber : exam) {
+                long startedAt = subscriber.sendStartedAt;
+                if (startedAt != 0 && startedAt < startedBefore) {
+                    drop(subscriber, "a write blocked for more than " + sendTimeoutMillis + " ms");
+                }
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscriber.dropped) {
+            return;
+        }
+        subscriber.dropped = true;
+        slowDropped.incrementAndGet();
+        unsubscribe(subscriber);
+        log.debug("Disconnected a slow subscriber of exam {}: {}", subscriber.examId, reason);
+        try {
+            subscriber.emitter.complete();
+        } catch (RuntimeException e) {
+            // Already completed by the container
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(ExamEvent event) {
+        try {
+            String text = "event:" + event.getType() + "\ndata:" + objectMapper.writeValueAsString(event) + "\n\n";
+            return Set.of(new ResponseBodyEmitter.DataWithMediaType(text, MediaType.TEXT_PLAIN));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize exam event", e);
+        }
+    }
+
+    private static ExamEvent timerEvent(Long examId, ExamSubmissionService.ExamWindow window, LocalDateTime now) {
+        boolean over = window.status() == Exam.ExamStatus.COMPLETED || window.status() == Exam.ExamStatus.CANCELLED;
+        return ExamEvent.builder()
+                .examId(examId)
+                .type(EVENT_TIMER)
+                .status(window.status().name())
+                .startsInSeconds(Math.max(0, Duration.between(now, window.opensAt()).getSeconds()))
+                .remainingSeconds(over ? 0 : Math.max(0, Duration.between(now, window.closesAt()).getSeconds()))
+                .serverTime(now)
+                .build();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.examId, (id, exam) -> {
+            exam.remove(subscriber);
+            return exam.isEmpty() ? null : exam;
+        });
+    }
+
+    private void closeAll(Long examId) {
+        Set<Subscriber> exam = subscribers.remove(examId);
+        if (exam != null) {
+            exam.forEach(subscriber -> subscriber.emitter.complete());
+        }
+        timeUpSent.remove(examId);
+    }
+
+    private static final class Subscriber {
+
+        private final Long examId;
+        private final SseEmitter emitter;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // When the write in progress started, 0 while none is
+        private volatile long sendStartedAt;
+        private volatile boolean dropped;
+
+        Subscriber(Long examId, SseEmitter emitter) {
+            this.examId = examId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.center.entity.Center;
+import com.gdsc.common.exception.DuplicateResourceException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.exam.dto.ExamEvaluationSummary;
+import com.gdsc.exam.entity.Exam;
+import com.gdsc.exam.entity.ExamResult;
+import com.gdsc.exam.repository.ExamRepository;
+import com.gdsc.exam.repository.ExamResultRepository;
+import com.gdsc.exam.repository.ExamSubmissionRepository;
+import com.gdsc.exam.repository.QuestionRepository;
+import com.gdsc.exam.repository.StudentAnswerRepository;
+import com.gdsc.student.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Grades every stored answer of an exam and writes one {@link ExamResult} per student.
+ * The answer key is loaded once, answers are read in keyset pages and scored in parallel,
+ * and scores go back as JDBC batch updates. Ranks and item analytics are recomputed once the
+ * results are written.
+ */
+@Slf4j
+@Service
+public class ExamGradingService {
+
+    private static final String UPDATE_ANSWER_SQL =
+            "UPDATE student_answers SET is_correct = ?, marks_obtained = ? WHERE id = ?";
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private StudentAnswerRepository studentAnswerRepository;
+
+    @Autowired
+    private ExamResultRepository examResultRepository;
+
+    @Autowired
+    private ExamSubmissionRepository examSubmissionRepository;
+
+    @Autowired
+    private ExamRankService examRankService;
+
+    @Autowired
+    private ExamAnalyticsService examAnalyticsService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${exam.grading.page-size:10000}")
+    private int pageSize;
+
+    @Value("${exam.grading.result-chunk-size:500}")
+    private int resultChunkSize;
+
+    private final Set<Long> examsBeingGraded = ConcurrentHashMap.newKeySet();
+
+    private static final class StudentTotals {
+        private int obtainedMarks;
+        private int pendingReview;
+    }
+
+    public ExamEvaluationSummary evaluate(Long examId) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
+        if (!examsBeingGraded.add(examId)) {
+            throw new DuplicateResourceException("Evaluation of exam " + examId + " is already running");
+        }
+        try {
+            return grade(exam);
+        } finally {
+            examsBeingGraded.remove(examId);
+        }
+    }
+
+    /**
+     * Grades one student's answers, e.g. a late submission or a re-grade after manual review,
+     * and moves only the ranks affected by the change in their score.
+     */
+    public ExamEvaluationSummary evaluateStudent(Long examId, Long studentId) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
+        if (!examsBeingGraded.add(examId)) {
+            throw new DuplicateResourceException("Evaluation of exam " + examId + " is already running");
+        }
+        try {
+            long started = System.nanoTime();
+            AnswerKey answerKey = loadAnswerKey(examId);
+            int totalMarks = totalMarks(exam, answerKey);
+            Map<Long, StudentTotals> totals = new HashMap<>();
+            long[] counts = scoreAndStore(
+                    studentAnswerRepository.findGradingRowsByExamIdAndStudentId(examId, studentId), answerKey, totals);
+            if (totals.isEmpty()) {
+                throw new ResourceNotFoundException("Answers", "studentId", studentId);
+            }
+
+            List<Object[]> previous = examResultRepository.findIdAndMarksByExamIdAndStudentId(examId, studentId);
+            Integer previousMarks = previous.isEmpty() ? null : (Integer) previous.get(0)[1];
+            writeResults(examId, totalMarks, totals);
+            Long resultId = previous.isEmpty()
+                    ? (Long) examResultRepository.findIdAndMarksByExamIdAndStudentId(examId, studentId).get(0)[0]
+                    : (Long) previous.get(0)[0];
+            examRankService.applyScoreChange(examId, resultId, previousMarks, totals.get(studentId).obtainedMarks);
+
+            return ExamEvaluationSummary.builder()
+                    .examId(examId)
+                    .studentsGraded(1)
+                    .answersGraded(counts[0])
+                    .answersPendingReview(counts[1])
+                    .totalMarks(totalMarks)
+                    .elapsedMillis(Duration.ofNanos(System.nanoTime() - started).toMillis())
+                    .build();
+        } finally {
+            examsBeingGraded.remove(examId);
+        }
+    }
+
+    private ExamEvaluationSummary grade(Exam exam) {
+        long started = System.nanoTime();
+        Long examId = exam.getId();
+        AnswerKey answerKey = loadAnswerKey(examId);
+        int totalMarks = totalMarks(exam, answerKey);
+
+        Map<Long, StudentTotals> totals = new HashMap<>();
+        long answersGraded = 0;
+        long answersPendingReview = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> page = studentAnswerRepository.findGradingPage(examId, afterId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            long[] counts = scoreAndStore(page, answerKey, totals);
+            answersGraded += counts[0];
+            answersPendingReview += counts[1];
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+
+        writeResults(examId, totalMarks, totals);
+        examRankService.rankExam(examId);
+        try {
+            examAnalyticsService.compute(examId);
+        } catch (RuntimeException e) {
+            // Results stand without analytics; they are computed again on first read
+            log.warn("Analytics of exam {} could not be computed", examId, e);
+        }
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        log.info("Graded exam {}: {} answers, {} pending review, {} students in {} ms",
+                examId, answersGraded, answersPendingReview, totals.size(), elapsedMillis);
+        return ExamEvaluationSummary.builder()
+                .examId(examId)
+                .studentsGraded(totals.size())
+                .answersGraded(answersGraded)
+                .answersPendingReview(answersPendingReview)
+                .totalMarks(totalMarks)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    private AnswerKey loadAnswerKey(Long examId) {
+        return AnswerKey.of(
+                questionRepository.findAnswerKeyByExamId(examId),
+                questionRepository.findCorrectOptionsByExamId(examId));
+    }
+
+    private static int totalMarks(Exam exam, AnswerKey answerKey) {
+        return exam.getTotalMarks() != null && exam.getTotalMarks() > 0
+                ? exam.getTotalMarks()
+                : answerKey.getTotalMarks();
+    }
+
+    /**
+     * Scores grading rows in parallel, writes the marks back and adds them to the student totals.
+     * Returns the number of graded answers and of answers left for manual review.
+     */
+    private long[] scoreAndStore(List<Object[]> rows, AnswerKey answerKey, Map<Long, StudentTotals> totals) {
+        int[] scores = new int[rows.size()];
+        IntStream.range(0, rows.size()).parallel().forEach(i -> {
+            Object[] row = rows.get(i);
+            scores[i] = answerKey.score((Long) row[2], (Long) row[3], (String) row[4]);
+        });
+
+        long answersGraded = 0;
+        long answersPendingReview = 0;
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            StudentTotals studentTotals = totals.computeIfAbsent((Long) row[1], id -> new StudentTotals());
+            if (scores[i] != AnswerKey.NEEDS_REVIEW) {
+                studentTotals.obtainedMarks += scores[i];
+                updates.add(new Object[]{scores[i] > 0, scores[i], row[0]});
+                answersGraded++;
+            } else if (Boolean.TRUE.equals(row[5]) && row[6] != null) {
+                // Already marked by a reviewer
+                studentTotals.obtainedMarks += (Integer) row[6];
+                answersGraded++;
+            } else {
+                studentTotals.pendingReview++;
+                answersPendingReview++;
+            }
+        }
+        if (!updates.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_ANSWER_SQL, updates));
+        }
+        return new long[]{answersGraded, answersPendingReview};
+    }
+
+    private void writeResults(Long examId, int totalMarks, Map<Long, StudentTotals> totals) {
+        Map<Long, Long> resultIdsByStudent = new HashMap<>();
+        for (Object[] row : examResultRepository.findStudentResultIdsByExamId(examId)) {
+            resultIdsByStudent.put((Long) row[0], (Long) row[1]);
+        }
+        Map<Long, LocalDateTime> submittedAtByStudent = new HashMap<>();
+        for (Object[] row : examSubmissionRepository.findSubmissionTimesByExamId(examId)) {
+            submittedAtByStudent.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+        String evaluatedBy = currentUsername();
+        LocalDateTime evaluationDate = LocalDateTime.now();
+
+        List<Long> studentIds = new ArrayList<>(totals.keySet());
+        for (int from = 0; from < studentIds.size(); from += resultChunkSize) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + resultChunkSize, studentIds.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                Exam exam = entityManager.find(Exam.class, examId);
+                Map<Long, ExamResult> existing = loadResults(chunk, resultIdsByStudent);
+                for (Long studentId : chunk) {
+                    StudentTotals studentTotals = totals.get(studentId);
+                    ExamResult result = existing.get(studentId);
+                    boolean isNew = result == null;
+                    if (isNew) {
+                        result = new ExamResult();
+                        result.setExam(exam);
+                        result.setStudent(entityManager.getReference(Student.class, studentId));
+                        result.setCenter(exam.getCenter() != null
+                                ? entityManager.getReference(Center.class, exam.getCenter().getId())
+                                : null);
+                    }
+                    result.setTotalMarks(totalMarks);
+                    result.setObtainedMarks(studentTotals.obtainedMarks);
+                    result.calculatePercentage();
+                    result.calculateGrade();
+                    result.determineResultStatus();
+                    if (exam.getPassingMarks() == null) {
+                        // Without configured passing marks the grade scale decides: below 40% is a fail
+                        result.setResultStatus(result.getPercentage() != null && result.getPercentage() >= 40
+                                ? ExamResult.ResultStatus.PASS
+                                : ExamResult.ResultStatus.FAIL);
+                    }
+                    LocalDateTime submittedAt = submittedAtByStudent.get(studentId);
+                    result.setExamStartTime(exam.getExamDate());
+                    result.setExamEndTime(submittedAt);
+                    if (submittedAt != null && exam.getExamDate() != null) {
+                        result.setTotalTimeTakenMinutes((int) Math.max(0,
+                                Duration.between(exam.getExamDate(), submittedAt).toMinutes()));
+                    }
+                    result.setRemarks(studentTotals.pendingReview > 0
+                            ? studentTotals.pendingReview + " answer(s) awaiting manual review"
+                            : null);
+                    result.setEvaluatedBy(evaluatedBy);
+                    result.setEvaluationDate(evaluationDate);
+                    if (isNew) {
+                        entityManager.persist(result);
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private Map<Long, ExamResult> loadResults(List<Long> studentIds, Map<Long, Long> resultIdsByStudent) {
+        List<Long> resultIds = studentIds.stream()
+                .map(resultIdsByStudent::get)
+                .filter(id -> id != null)
+                .toList();
+        Map<Long, ExamResult> results = new HashMap<>();
+        if (resultIds.isEmpty()) {
+            return results;
+        }
+        entityManager.createQuery("SELECT r FROM ExamResult r WHERE r.id IN :ids", ExamResult.class)
+                .setParameter("ids", resultIds)
+                .getResultList()
+                .forEach(result -> results.put(result.getStudent().getId(), result));
+        return results;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "system";
+    }
+}
@@ -0,0 +1,198 @@
+package com.gdsc.exam.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gdsc.common.RawJson;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.exam.dto.ExamPaperDto;
+import com.gdsc.exam.dto.QuestionDto;
+import com.gdsc.exam.entity.Exam;
+import com.gdsc.exam.entity.ExamBlueprintRule;
+import com.gdsc.exam.entity.Question;
+import com.gdsc.exam.entity.QuestionOption;
+import com.gdsc.exam.repository.ExamBlueprintRuleRepository;
+import com.gdsc.exam.repository.ExamRepository;
+import com.gdsc.exam.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable per-exam snapshot of the question paper: the staff view as DTOs and the candidate
+ * view, stripped of answers, as pre-serialized JSON. The question/option graph is read with a
+ * single fetch-join query, and concurrent first requests for an exam share one load. Entries are
+ * dropped whenever the exam or one of its questions changes.
+ * <p>
+ * Exams with a blueprint keep the pool index instead of a single candidate view; each candidate's
+ * paper is drawn from it on request, so no per-candidate state is stored or queried.
+ */
+@Service
+public class ExamPaperCache {
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ExamBlueprintRuleRepository blueprintRuleRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${exam.paper.max-cached:500}")
+    private int maxCached;
+
+    /**
+     * @param candidateJson      the fixed paper, or null when papers are drawn per candidate
+     * @param candidateQuestions candidate view of every pool question by id
+     * @param pool               the pool index, or null when the exam has no blueprint
+     */
+    record ExamPaper(List<QuestionDto> questions, RawJson candidateJson, ExamPaperDto header,
+                     Map<Long, ExamPaperDto.Question> candidateQuestions, QuestionPoolIndex pool) {
+    }
+
+    private final Map<Long, CompletableFuture<ExamPaper>> papers = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong drawnPapers = new AtomicLong();
+
+    ExamPaper get(Long examId) {
+        CompletableFuture<ExamPaper> paper = papers.get(examId);
+        if (paper != null) {
+            hits.incrementAndGet();
+        } else {
+            CompletableFuture<ExamPaper> loading = new CompletableFuture<>();
+            paper = papers.putIfAbsent(examId, loading);
+            if (paper == null) {
+                paper = loading;
+                load(examId, loading);
+            }
+        }
+        try {
+            return paper.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The questions and option order of one candidate, or null when every candidate of the exam
+     * gets the same paper.
+     */
+    QuestionPoolIndex.DrawnPaper drawnPaper(Long examId, Long studentId) {
+        QuestionPoolIndex pool = get(examId).pool();
+        return pool != null ? pool.draw(examId, studentId) : null;
+    }
+
+    /**
+     * The candidate view of one student's paper, drawn from the pool index.
+     */
+    RawJson candidatePaper(Long examId, Long studentId) {
+        ExamPaper paper = get(examId);
+        if (paper.pool() == null) {
+            return paper.candidateJson();
+        }
+        QuestionPoolIndex.DrawnPaper drawn = paper.pool().draw(examId, studentId);
+        List<ExamPaperDto.Question> questions = new ArrayList<>(drawn.questionIds().length);
+        for (int i = 0; i < drawn.questionIds().length; i++) {
+            ExamPaperDto.Question question = paper.candidateQuestions().get(drawn.questionIds()[i]);
+            Map<Long, ExamPaperDto.Option> options = new HashMap<>();
+            question.getOptions().forEach(option -> options.put(option.getId(), option));
+            List<ExamPaperDto.Option> shuffled = new ArrayList<>(options.size());
+            for (long optionId : drawn.optionIds()[i]) {
+                shuffled.add(options.get(optionId));
+            }
+            questions.add(question.toBuilder().options(shuffled).build());
+        }
+        drawnPapers.incrementAndGet();
+        return RawJson.of(objectMapper, paper.header().toBuilder().questions(questions).build());
+    }
+
+    public void evict(Long examId) {
+        papers.remove(examId);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("cachedPapers", papers.size());
+        metrics.put("hits", hits.get());
+        metrics.put("loads", loads.get());
+        metrics.put("drawnPapers", drawnPapers.get());
+        return metrics;
+    }
+
+    private void load(Long examId, CompletableFuture<ExamPaper> loading) {
+        try {
+            loading.complete(transactionTemplate.execute(status -> build(examId)));
+            loads.incrementAndGet();
+            if (papers.size() > maxCached) {
+                // Past exams are rarely opened again; dropping any other entry is good enough
+                papers.keySet().stream().filter(id -> !id.equals(examId)).findFirst().ifPresent(papers::remove);
+            }
+        } catch (RuntimeException e) {
+            papers.remove(examId, loading);
+            loading.completeExceptionally(e);
+        }
+    }
+
+    private ExamPaper build(Long examId) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
+        List<Question> questions = questionRepository.findWithOptionsByExamId(examId);
+        List<ExamBlueprintRule> rules = blueprintRuleRepository.findByExamIdOrderByIdAsc(examId);
+
+        List<QuestionDto> staffView = new ArrayList<>(questions.size());
+        Map<Long, ExamPaperDto.Question> candidateQuestions = new LinkedHashMap<>();
+        for (Question question : questions) {
+            staffView.add(QuestionService.convertToDto(question));
+            List<ExamPaperDto.Option> options = new ArrayList<>(question.getOptions().size());
+            for (QuestionOption option : question.getOptions()) {
+                options.add(ExamPaperDto.Option.builder()
+                        .id(option.getId())
+                        .letter(option.getOptionLetter())
+                        .text(option.getOptionText())
+                        .build());
+            }
+            candidateQuestions.put(question.getId(), ExamPaperDto.Question.builder()
+                    .id(question.getId())
+                    .text(question.getQuestionText())
+                    .type(question.getQuestionType().name())
+                    .marks(question.getMarks())
+                    .options(options)
+                    .build());
+        }
+        ExamPaperDto header = ExamPaperDto.builder()
+                .examId(examId)
+                .name(exam.getName())
+                .durationMinutes(exam.getDurationMinutes())
+                .totalMarks(exam.getTotalMarks())
+                .instructions(exam.getInstructions())
+                .build();
+        if (!rules.isEmpty()) {
+            return new ExamPaper(List.copyOf(staffView), null, header, candidateQuestions,
+                    QuestionPoolIndex.of(questions, rules));
+        }
+        RawJson candidateJson = RawJson.of(objectMapper,
+                header.toBuilder().questions(new ArrayList<>(candidateQuestions.values())).build());
+        return new ExamPaper(List.copyOf(staffView), candidateJson, header, Map.of(), null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.gdsc.exam.service;
+
+/**
+ * Counts of results per obtained mark in a Fenwick tree, giving the competition rank of any
+ * score (1 + number of strictly higher scores) in O(log maxScore). Not thread-safe; callers
+ * synchronize per exam.
+ */
+public final class ExamRankIndex {
+
+    private long[] tree;
+    private int size;
+
+    public ExamRankIndex(int maxScore) {
+        this.tree = new long[Math.max(maxScore, 0) + 2];
+    }
+
+    public void add(int score) {
+        ensureCapacity(score);
+        update(score, 1);
+        size++;
+    }
+
+    public void remove(int score) {
+        update(score, -1);
+        size--;
+    }
+
+    public int rankOf(int score) {
+        return 1 + (int) (size - countAtMost(score));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private long countAtMost(int score) {
+        long count = 0;
+        for (int i = Math.min(Math.max(score, -1) + 1, tree.length - 1); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private void update(int score, long delta) {
+        for (int i = score + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void ensureCapacity(int score) {
+        if (score + 1 < tree.length) {
+            return;
+        }
+        // Rebuild from per-score counts into a tree large enough for the new maximum
+        int oldMax = tree.length - 2;
+        long[] counts = new long[oldMax + 1];
+        for (int s = 0; s <= oldMax; s++) {
+            counts[s] = countAtMost(s) - (s > 0 ? countAtMost(s - 1) : 0);
+        }
+        tree = new long[Math.max(score + 2, tree.length * 2)];
+        for (int s = 0; s <= oldMax; s++) {
+            if (counts[s] != 0) {
+                update(s, counts[s]);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.exam.repository.ExamResultRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains {@code exam_results.rank} and {@code total_students} so result lists and
+ * leaderboards read a precomputed column. Ranks are competition ranks (1, 2, 2, 4).
+ * A full evaluation ranks the exam in one sorted pass; a single changed or late result
+ * only shifts the ranks between its old and new score.
+ */
+@Slf4j
+@Service
+public class ExamRankService {
+
+    private static final String UPDATE_RANK_SQL =
+            "UPDATE exam_results SET rank = ?, total_students = ? WHERE id = ?";
+
+    @Autowired
+    private ExamResultRepository examResultRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, ExamRankIndex> indexes = new ConcurrentHashMap<>();
+
+    private final Map<Long, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Ranks every result of the exam from its obtained marks and rebuilds the in-memory index.
+     */
+    public void rankExam(Long examId) {
+        synchronized (lockFor(examId)) {
+            List<Object[]> scores = examResultRepository.findScoresByExamIdOrderByMarksDesc(examId);
+            int totalStudents = scores.size();
+            ExamRankIndex index = new ExamRankIndex(totalStudents > 0 ? (Integer) scores.get(0)[1] : 0);
+            List<Object[]> updates = new ArrayList<>(totalStudents);
+            int rank = 0;
+            Integer previousMarks = null;
+            for (int i = 0; i < totalStudents; i++) {
+                Object[] row = scores.get(i);
+                Integer marks = (Integer) row[1];
+                if (!marks.equals(previousMarks)) {
+                    rank = i + 1;
+                    previousMarks = marks;
+                }
+                index.add(marks);
+                updates.add(new Object[]{rank, totalStudents, row[0]});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_RANK_SQL, updates));
+            indexes.put(examId, index);
+        }
+    }
+
+    /**
+     * Re-ranks after one result changed from {@code previousMarks} (null for a new result) to
+     * {@code newMarks}. Only results whose score lies between the two move, by exactly one place.
+     */
+    public void applyScoreChange(Long examId, Long resultId, Integer previousMarks, int newMarks) {
+        synchronized (lockFor(examId)) {
+            ExamRankIndex index = indexes.get(examId);
+            int expectedCount = index == null ? -1 : previousMarks == null ? index.size() + 1 : index.size();
+            if (index == null || examResultRepository.countByExamId(examId) != expectedCount) {
+                // Index missing or out of step with the table: a full pass is the safe answer
+                rankExam(examId);
+                return;
+            }
+            try {
+                shiftRanks(examId, resultId, previousMarks, newMarks, index);
+            } catch (RuntimeException e) {
+                indexes.remove(examId);
+                throw e;
+            }
+        }
+    }
+
+    private void shiftRanks(Long examId, Long resultId, Integer previousMarks, int newMarks, ExamRankIndex index) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (previousMarks == null) {
+                jdbcTemplate.update("UPDATE exam_results SET rank = rank + 1 "
+                        + "WHERE exam_id = ? AND obtained_marks < ? AND id <> ?", examId, newMarks, resultId);
+                jdbcTemplate.update("UPDATE exam_results SET total_students = ? WHERE exam_id = ?",
+                        index.size() + 1, examId);
+            } else if (newMarks > previousMarks) {
+                jdbcTemplate.update("UPDATE exam_results SET rank = rank + 1 WHERE exam_id = ? "
+                        + "AND obtained_marks >= ? AND obtained_marks < ? AND id <> ?",
+                        examId, previousMarks, newMarks, resultId);
+            } else if (newMarks < previousMarks) {
+                jdbcTemplate.update("UPDATE exam_results SET rank = rank - 1 WHERE exam_id = ? "
+                        + "AND obtained_marks >= ? AND obtained_marks < ? AND id <> ?",
+                        examId, newMarks, previousMarks, resultId);
+            }
+            if (previousMarks != null) {
+                index.remove(previousMarks);
+            }
+            index.add(newMarks);
+            jdbcTemplate.update(UPDATE_RANK_SQL, index.rankOf(newMarks), index.size(), resultId);
+        });
+    }
+
+    public void evict(Long examId) {
+        indexes.remove(examId);
+    }
+
+    private Object lockFor(Long examId) {
+        return locks.computeIfAbsent(examId, id -> new Object());
+    }
+}
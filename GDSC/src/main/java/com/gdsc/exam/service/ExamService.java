@@ -1,25 +1,74 @@
 package com.gdsc.exam.service;
 
 import com.gdsc.exam.dto.ExamDto;
+import com.gdsc.exam.dto.ExamEvaluationSummary;
+import com.gdsc.exam.dto.ExamSubmissionRequest;
+import com.gdsc.exam.dto.ExamSubmissionResponse;
 import com.gdsc.exam.entity.Exam;
 import com.gdsc.exam.repository.ExamRepository;
+import com.gdsc.center.repository.CenterRepository;
+import com.gdsc.course.repository.CourseRepository;
+import com.gdsc.common.exception.BadRequestException;
 import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class ExamService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "examDate", "name");
+
     @Autowired
     private ExamRepository examRepository;
 
+    @Autowired
+    private ExamSubmissionService examSubmissionService;
+
+    @Autowired
+    private ExamGradingService examGradingService;
+
+    @Autowired
+    private ExamRankService examRankService;
+
+    @Autowired
+    private ExamAnalyticsService examAnalyticsService;
+
+    @Autowired
+    private ExamEventBroadcaster examEventBroadcaster;
+
+    @Autowired
+    private ExamPaperCache examPaperCache;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     public List<ExamDto> getAllExams() {
-        return examRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return examRepository.findAllDtos();
+    }
+
+    public CursorPage<ExamDto> getExamsPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(Exam.class, cursor, size, sort, SORTABLE_FIELDS, this::convertToDto);
+    }
+
+    public StreamingResponseBody exportExams() {
+        return ndjsonExporter.export(examRepository::streamAllDtos, Function.identity());
     }
 
     public ExamDto getExamById(Long id) {
@@ -48,56 +97,80 @@ public class ExamService {
         existingExam.setIsOnline(examDto.getIsOnline());
         
         Exam updatedExam = examRepository.save(existingExam);
+        examSubmissionService.evictExamWindow(id);
+        examPaperCache.evict(id);
+        examEventBroadcaster.examChanged(id);
         return convertToDto(updatedExam);
     }
 
+    public ExamDto startExam(Long id) {
+        Exam exam = examRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", id));
+        if (exam.getStatus() != Exam.ExamStatus.SCHEDULED && exam.getStatus() != Exam.ExamStatus.POSTPONED) {
+            throw new BadRequestException("Exam " + id + " cannot be started while " + exam.getStatus());
+        }
+        examRepository.updateStatus(id, Exam.ExamStatus.IN_PROGRESS);
+        examSubmissionService.evictExamWindow(id);
+        examEventBroadcaster.publishStatus(id, Exam.ExamStatus.IN_PROGRESS.name());
+        ExamDto dto = convertToDto(exam);
+        dto.setStatus(Exam.ExamStatus.IN_PROGRESS.name());
+        return dto;
+    }
+
+    public ExamDto completeExam(Long id) {
+        Exam exam = examRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", id));
+        if (exam.isCompleted() || exam.getStatus() == Exam.ExamStatus.CANCELLED) {
+            throw new BadRequestException("Exam " + id + " cannot be completed while " + exam.getStatus());
+        }
+        // Open sessions are submitted while the exam still accepts submissions
+        examEventBroadcaster.forceSubmit(id, "Exam has been completed");
+        examRepository.updateStatus(id, Exam.ExamStatus.COMPLETED);
+        examSubmissionService.evictExamWindow(id);
+        examEventBroadcaster.publishStatus(id, Exam.ExamStatus.COMPLETED.name());
+        ExamDto dto = convertToDto(exam);
+        dto.setStatus(Exam.ExamStatus.COMPLETED.name());
+        return dto;
+    }
+
     public void deleteExam(Long id) {
         if (!examRepository.existsById(id)) {
             throw new ResourceNotFoundException("Exam", "id", id);
         }
+        examAnalyticsService.deleteForExam(id);
         examRepository.deleteById(id);
+        examSubmissionService.evictExamWindow(id);
+        examRankService.evict(id);
+        examPaperCache.evict(id);
+        examEventBroadcaster.examDeleted(id);
     }
 
     public List<ExamDto> getExamsByCourse(Long courseId) {
-        return examRepository.findByCourseId(courseId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return examRepository.findDtosByCourseId(courseId);
     }
 
     public List<ExamDto> getExamsByStudent(Long studentId) {
-        return examRepository.findByAssignedStudents_Id(studentId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return examRepository.findDtosByAssignedStudentId(studentId);
     }
 
     public List<ExamDto> getExamsByCenter(Long centerId) {
-        return examRepository.findByCenterId(centerId).stream()
-                .map(this::convertToDto)
-                .collect(java.util.stream.Collectors.toList());
+        return examRepository.findDtosByCenterId(centerId);
     }
 
-    public void evaluateExam(Long examId) {
-        Exam exam = examRepository.findById(examId)
-                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
-        
-        // TODO: Implement exam evaluation logic
-        // This would involve:
-        // 1. Getting all student answers for this exam
-        // 2. Comparing with correct answers
-        // 3. Calculating scores
-        // 4. Generating results
+    public ExamEvaluationSummary evaluateExam(Long examId) {
+        return examGradingService.evaluate(examId);
     }
 
-    public void submitExam(Long examId, Object answers) {
-        Exam exam = examRepository.findById(examId)
-                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
-        
-        // TODO: Implement exam submission logic
-        // This would involve:
-        // 1. Validating exam is still open
-        // 2. Storing student answers
-        // 3. Recording submission time
-        // 4. Triggering evaluation if auto-evaluation is enabled
+    public ExamEvaluationSummary evaluateStudent(Long examId, Long studentId) {
+        return examGradingService.evaluateStudent(examId, studentId);
+    }
+
+    public ExamSubmissionResponse submitExam(Long examId, ExamSubmissionRequest request) {
+        return examSubmissionService.submit(examId, request);
+    }
+
+    public ExamSubmissionResponse getSubmissionStatus(Long examId, Long studentId, String idempotencyKey) {
+        return examSubmissionService.getStatus(examId, studentId, idempotencyKey);
     }
 
     private ExamDto convertToDto(Exam exam) {
@@ -110,6 +183,7 @@ public class ExamService {
         dto.setType(exam.getExamType().name());
         dto.setTotalMarks(exam.getTotalMarks());
         dto.setIsOnline(exam.getIsOnline());
+        dto.setStatus(exam.getStatus().name());
         if (exam.getCourse() != null) {
             dto.setCourseId(exam.getCourse().getId());
         }
@@ -128,6 +202,14 @@ public class ExamService {
         exam.setExamType(Exam.ExamType.valueOf(dto.getType()));
         exam.setTotalMarks(dto.getTotalMarks());
         exam.setIsOnline(dto.getIsOnline());
+        if (dto.getCourseId() != null) {
+            exam.setCourse(courseRepository.findById(dto.getCourseId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Course", "id", dto.getCourseId())));
+        }
+        if (dto.getCenterId() != null) {
+            exam.setCenter(centerRepository.findById(dto.getCenterId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Center", "id", dto.getCenterId())));
+        }
         return exam;
     }
 } 
@@ -0,0 +1,426 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.center.entity.Center;
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.common.exception.DuplicateResourceException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.exam.dto.ExamSessionDto;
+import com.gdsc.exam.dto.ExamSubmissionRequest;
+import com.gdsc.exam.dto.ExamSubmissionResponse;
+import com.gdsc.exam.entity.Exam;
+import com.gdsc.exam.entity.ExamSession;
+import com.gdsc.exam.entity.Question;
+import com.gdsc.exam.entity.StudentAnswer;
+import com.gdsc.exam.repository.ExamSessionRepository;
+import com.gdsc.exam.repository.ExamSubmissionRepository;
+import com.gdsc.exam.repository.StudentAnswerRepository;
+import com.gdsc.student.entity.Student;
+import com.gdsc.student.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Online exam sessions. Autosaves only touch the in-memory {@link ExamSessionStore}; a scheduled
+ * checkpoint writes the changed answers to {@code student_answers} in batches. After a restart a
+ * session is rebuilt from its last checkpoint the first time the student touches it again.
+ * Submitting a session hands its answers to the regular submission queue.
+ * <p>
+ * Sessions still open when their exam's time is up are submitted by a scheduled sweep, on
+ * whichever node runs it and whether or not the candidates are still connected.
+ */
+@Slf4j
+@Service
+public class ExamSessionService {
+
+    private static final String UPDATE_ANSWER_SQL = "UPDATE student_answers SET selected_option_id = ?, "
+            + "answer_text = ?, time_taken_seconds = ?, submission_time = ? WHERE id = ?";
+
+    private static final String UPDATE_CHECKPOINT_SQL = "UPDATE exam_sessions SET last_checkpoint_at = ? WHERE id = ?";
+
+    // Fully checkpointed sessions stay in memory this long after their deadline
+    private static final Duration EVICT_AFTER_DEADLINE = Duration.ofHours(1);
+
+    @Autowired
+    private ExamSessionStore sessionStore;
+
+    @Autowired
+    private ExamSubmissionService examSubmissionService;
+
+    @Autowired
+    private ExamSessionRepository examSessionRepository;
+
+    @Autowired
+    private ExamSubmissionRepository examSubmissionRepository;
+
+    @Autowired
+    private StudentAnswerRepository studentAnswerRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${exam.session.checkpoint-batch-size:500}")
+    private int checkpointBatchSize;
+
+    // Keeps the scheduled checkpoint and the shutdown flush from running at once
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    private final AtomicLong autosaveCount = new AtomicLong();
+    private final AtomicLong checkpointedCount = new AtomicLong();
+    private final AtomicLong failedCheckpointCount = new AtomicLong();
+    private final AtomicLong expiredSubmittedCount = new AtomicLong();
+
+    // Exams whose open sessions have all been dealt with since their time ran out
+    private final Set<Long> sweptExams = ConcurrentHashMap.newKeySet();
+    private volatile LocalDateTime lastCheckpointAt;
+
+    public ExamSessionDto startSession(Long examId, Long studentId) {
+        ExamSubmissionService.ExamWindow window = examSubmissionService.getExamWindow(examId);
+        if (!window.online()) {
+            throw new BadRequestException("Exam " + examId + " is not an online exam");
+        }
+        examSubmissionService.checkOpen(window, LocalDateTime.now());
+        if (examSubmissionRepository.findByExamIdAndStudentId(examId, studentId).isPresent()) {
+            throw new DuplicateResourceException("Exam " + examId + " has already been submitted by student " + studentId);
+        }
+        LiveExamSession session = loadSession(examId, studentId);
+        if (session == null) {
+            session = createSession(examId, studentId, window);
+        }
+        return toDto(session);
+    }
+
+    public ExamSessionDto getSession(Long examId, Long studentId) {
+        return toDto(requireSession(examId, studentId));
+    }
+
+    public void autosave(Long examId, Long studentId, ExamSubmissionRequest.Answer answer) {
+        ExamSubmissionService.ExamWindow window = examSubmissionService.getExamWindow(examId);
+        examSubmissionService.checkQuestion(window,
+                examSubmissionService.drawnPaper(examId, studentId, window), answer.getQuestionId());
+        LocalDateTime now = LocalDateTime.now();
+        examSubmissionService.checkOpen(window, now);
+        LiveExamSession.SavedAnswer saved = new LiveExamSession.SavedAnswer(answer.getQuestionId(),
+                answer.getSelectedOptionId(), answer.getAnswerText(), answer.getTimeTakenSeconds(), now);
+        requireSession(examId, studentId);
+        boolean accepted = sessionStore.compute(examId, studentId, session -> session != null && session.save(saved));
+        if (!accepted) {
+            throw new BadRequestException("Exam session has already been submitted");
+        }
+        autosaveCount.incrementAndGet();
+    }
+
+    public ExamSubmissionResponse submitSession(Long examId, Long studentId) {
+        return submitSession(examId, studentId, true);
+    }
+
+    private ExamSubmissionResponse submitSession(Long examId, Long studentId, boolean checkWindow) {
+        LiveExamSession session = requireSession(examId, studentId);
+        // Once closed, no checkpoint writes the session's answers again
+        List<ExamSubmissionRequest.Answer> answers = sessionStore.computeWhenNotWriting(examId, studentId, live -> {
+            if (live == null || live.isClosed()) {
+                throw new BadRequestException("Exam session has already been submitted");
+            }
+            live.close();
+            return live.toAnswers();
+        });
+        if (answers.isEmpty()) {
+            sessionStore.compute(examId, studentId, live -> {
+                live.reopen();
+                return null;
+            });
+            throw new BadRequestException("At least one answer is required");
+        }
+
+        ExamSubmissionRequest request = new ExamSubmissionRequest();
+        request.setStudentId(studentId);
+        request.setIdempotencyKey("session-" + session.getSessionId());
+        request.setAnswers(answers);
+        ExamSubmissionResponse response;
+        try {
+            response = examSubmissionService.submit(examId, request, checkWindow);
+        } catch (RuntimeException e) {
+            sessionStore.compute(examId, studentId, live -> {
+                live.reopen();
+                return null;
+            });
+            throw e;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE exam_sessions SET status = ? WHERE id = ?",
+                ExamSession.SessionStatus.SUBMITTED.name(), session.getSessionId()));
+        sessionStore.remove(session);
+        return response;
+    }
+
+    /**
+     * Submits every session of the exam that is still open, e.g. when time is up, even after the
+     * submission window has closed. Sessions without any saved answer are left as they are.
+     */
+    public int submitOpenSessions(Long examId) {
+        return submitOpenSessions(examId, new AtomicInteger());
+    }
+
+    /**
+     * Submits the open sessions of every exam whose time is up. Sessions that cannot be submitted
+     * for a transient reason are tried again on the next sweep; empty ones are left as they are.
+     */
+    @Scheduled(fixedDelayString = "${exam.session.expiry-sweep-ms:15000}")
+    public void submitExpiredSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> examIds = examSessionRepository.findExamIdsWithSessionsPastDeadline(
+                ExamSession.SessionStatus.ACTIVE, now);
+        // Forget exams that no longer have open sessions so the set stays small
+        sweptExams.retainAll(examIds);
+        for (Long examId : examIds) {
+            if (sweptExams.contains(examId)) {
+                continue;
+            }
+            ExamSubmissionService.ExamWindow window;
+            try {
+                window = examSubmissionService.getExamWindow(examId);
+            } catch (ResourceNotFoundException e) {
+                sweptExams.add(examId);
+                continue;
+            }
+            // The exam may have been extended, postponed or cancelled after its sessions started
+            if (window.status() == Exam.ExamStatus.CANCELLED || window.status() == Exam.ExamStatus.POSTPONED
+                    || now.isBefore(window.closesAt())) {
+                continue;
+            }
+            AtomicInteger retryable = new AtomicInteger();
+            int submitted = submitOpenSessions(examId, retryable);
+            expiredSubmittedCount.addAndGet(submitted);
+            if (retryable.get() == 0) {
+                sweptExams.add(examId);
+            }
+            log.info("Time is up for exam {}: {} open session(s) submitted, {} to retry", examId, submitted, retryable.get());
+        }
+    }
+
+    private int submitOpenSessions(Long examId, AtomicInteger retryable) {
+        int submitted = 0;
+        for (Long studentId : examSessionRepository.findStudentIdsByExamIdAndStatus(
+                examId, ExamSession.SessionStatus.ACTIVE)) {
+            try {
+                submitSession(examId, studentId, false);
+                submitted++;
+            } catch (BadRequestException | DuplicateResourceException e) {
+                // No answers, or submitted meanwhile: nothing to retry
+                log.debug("Session of student {} for exam {} not submitted: {}", studentId, examId, e.getMessage());
+            } catch (RuntimeException e) {
+                retryable.incrementAndGet();
+                log.debug("Session of student {} for exam {} not submitted: {}", studentId, examId, e.getMessage());
+            }
+        }
+        return submitted;
+    }
+
+    @Scheduled(fixedDelayString = "${exam.session.checkpoint-interval-ms:5000}")
+    public void checkpoint() {
+        if (!checkpointLock.tryLock()) {
+            return;
+        }
+        try {
+            List<ExamSessionStore.Checkpoint> checkpoints = sessionStore.takeUnsaved();
+            for (int from = 0; from < checkpoints.size(); from += checkpointBatchSize) {
+                List<ExamSessionStore.Checkpoint> chunk =
+                        checkpoints.subList(from, Math.min(from + checkpointBatchSize, checkpoints.size()));
+                List<ExamSessionStore.Checkpoint> claimed = sessionStore.claim(chunk);
+                if (claimed.isEmpty()) {
+                    continue;
+                }
+                LocalDateTime now = LocalDateTime.now();
+                try {
+                    int written = transactionTemplate.execute(status -> writeCheckpoint(claimed, now));
+                    sessionStore.markCheckpointed(claimed, now);
+                    checkpointedCount.addAndGet(written);
+                } catch (RuntimeException e) {
+                    failedCheckpointCount.incrementAndGet();
+                    log.warn("Checkpoint of {} exam sessions failed, retrying with the next checkpoint", claimed.size(), e);
+                    sessionStore.markUnsaved(claimed);
+                }
+            }
+            if (!checkpoints.isEmpty()) {
+                lastCheckpointAt = LocalDateTime.now();
+            }
+            sessionStore.evictExpired(LocalDateTime.now().minus(EVICT_AFTER_DEADLINE));
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flush() {
+        // Write what is still buffered so a graceful restart loses no autosaves
+        checkpoint();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("liveSessions", sessionStore.size());
+        metrics.put("autosaves", autosaveCount.get());
+        metrics.put("answersCheckpointed", checkpointedCount.get());
+        metrics.put("failedCheckpoints", failedCheckpointCount.get());
+        metrics.put("expiredSessionsSubmitted", expiredSubmittedCount.get());
+        metrics.put("lastCheckpointAt", lastCheckpointAt);
+        return metrics;
+    }
+
+    private int writeCheckpoint(List<ExamSessionStore.Checkpoint> chunk, LocalDateTime now) {
+        Map<Long, List<ExamSessionStore.Checkpoint>> byExam = new HashMap<>();
+        for (ExamSessionStore.Checkpoint checkpoint : chunk) {
+            byExam.computeIfAbsent(checkpoint.session().getExamId(), id -> new ArrayList<>()).add(checkpoint);
+        }
+        int written = 0;
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> sessionUpdates = new ArrayList<>();
+        for (Map.Entry<Long, List<ExamSessionStore.Checkpoint>> entry : byExam.entrySet()) {
+            Long examId = entry.getKey();
+            Set<Long> studentIds = new HashSet<>();
+            entry.getValue().forEach(checkpoint -> studentIds.add(checkpoint.session().getStudentId()));
+            // Answers of submitted students belong to their submission now
+            Set<Long> submitted = new HashSet<>(examSubmissionRepository.findSubmittedStudentIds(examId, studentIds));
+            Map<String, Long> answerIds = new HashMap<>();
+            for (Object[] row : studentAnswerRepository.findAnswerIds(examId, studentIds)) {
+                answerIds.put(row[0] + ":" + row[1], (Long) row[2]);
+            }
+            Long centerId = examSubmissionService.getExamWindow(examId).centerId();
+            Exam exam = entityManager.getReference(Exam.class, examId);
+            Center center = centerId != null ? entityManager.getReference(Center.class, centerId) : null;
+
+            for (ExamSessionStore.Checkpoint checkpoint : entry.getValue()) {
+                Long studentId = checkpoint.session().getStudentId();
+                if (submitted.contains(studentId)) {
+                    sessionStore.remove(checkpoint.session());
+                    continue;
+                }
+                for (LiveExamSession.SavedAnswer answer : checkpoint.answers()) {
+                    Long answerId = answerIds.get(studentId + ":" + answer.questionId());
+                    if (answerId != null) {
+                        updates.add(new Object[]{answer.selectedOptionId(), answer.answerText(),
+                                answer.timeTakenSeconds(), answer.savedAt(), answerId});
+                    } else {
+                        StudentAnswer studentAnswer = new StudentAnswer();
+                        studentAnswer.setExam(exam);
+                        studentAnswer.setStudent(entityManager.getReference(Student.class, studentId));
+                        studentAnswer.setQuestion(entityManager.getReference(Question.class, answer.questionId()));
+                        studentAnswer.setSelectedOptionId(answer.selectedOptionId());
+                        studentAnswer.setAnswerText(answer.answerText());
+                        studentAnswer.setTimeTakenSeconds(answer.timeTakenSeconds());
+                        studentAnswer.setSubmissionTime(answer.savedAt());
+                        studentAnswer.setCenter(center);
+                        entityManager.persist(studentAnswer);
+                    }
+                    written++;
+                }
+                sessionUpdates.add(new Object[]{now, checkpoint.session().getSessionId()});
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ANSWER_SQL, updates);
+        }
+        jdbcTemplate.batchUpdate(UPDATE_CHECKPOINT_SQL, sessionUpdates);
+        return written;
+    }
+
+    private LiveExamSession requireSession(Long examId, Long studentId) {
+        LiveExamSession session = loadSession(examId, studentId);
+        if (session == null) {
+            throw new ResourceNotFoundException("Exam session", "studentId", studentId);
+        }
+        return session;
+    }
+
+    /**
+     * The live session from memory, or rebuilt from its last checkpoint; null when the student
+     * never started the exam.
+     */
+    private LiveExamSession loadSession(Long examId, Long studentId) {
+        LiveExamSession live = sessionStore.compute(examId, studentId, session -> session);
+        if (live != null) {
+            return live;
+        }
+        ExamSession stored = examSessionRepository.findByExamIdAndStudentId(examId, studentId).orElse(null);
+        if (stored == null) {
+            return null;
+        }
+        if (stored.getStatus() == ExamSession.SessionStatus.SUBMITTED) {
+            throw new DuplicateResourceException("Exam " + examId + " has already been submitted by student " + studentId);
+        }
+        LiveExamSession recovered = new LiveExamSession(stored.getId(), examId, studentId,
+                stored.getStartedAt(), stored.getDeadline(), stored.getLastCheckpointAt());
+        for (Object[] row : studentAnswerRepository.findSessionAnswers(examId, studentId)) {
+            recovered.restore(new LiveExamSession.SavedAnswer((Long) row[0], (Long) row[1], (String) row[2],
+                    (Integer) row[3], (LocalDateTime) row[4]));
+        }
+        return sessionStore.putIfAbsent(recovered);
+    }
+
+    private LiveExamSession createSession(Long examId, Long studentId, ExamSubmissionService.ExamWindow window) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student", "id", studentId);
+        }
+        ExamSession session = new ExamSession();
+        session.setStartedAt(LocalDateTime.now());
+        session.setDeadline(window.closesAt());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                session.setExam(entityManager.getReference(Exam.class, examId));
+                session.setStudent(entityManager.getReference(Student.class, studentId));
+                entityManager.persist(session);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Started concurrently from another request
+            return requireSession(examId, studentId);
+        }
+        return sessionStore.putIfAbsent(new LiveExamSession(session.getId(), examId, studentId,
+                session.getStartedAt(), session.getDeadline(), null));
+    }
+
+    private ExamSessionDto toDto(LiveExamSession session) {
+        return sessionStore.compute(session.getExamId(), session.getStudentId(), live -> ExamSessionDto.builder()
+                .sessionId(session.getSessionId())
+                .examId(session.getExamId())
+                .studentId(session.getStudentId())
+                .status(session.isClosed() ? ExamSession.SessionStatus.SUBMITTED.name() : ExamSession.SessionStatus.ACTIVE.name())
+                .startedAt(session.getStartedAt())
+                .deadline(session.getDeadline())
+                .lastCheckpointAt(session.getLastCheckpointAt())
+                .answers(session.toAnswers())
+                .build());
+    }
+}
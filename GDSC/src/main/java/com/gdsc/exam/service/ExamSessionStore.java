@@ -0,0 +1,221 @@
+package com.gdsc.exam.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Running exam sessions kept in memory. Sessions are spread over independently locked shards
+ * so concurrent autosaves from different students rarely wait on each other, and each shard
+ * remembers which of its sessions have answers that are not checkpointed yet.
+ * <p>
+ * A session claimed by a checkpoint cannot be closed until that checkpoint's transaction ends, and
+ * a session closed before it is claimed is left out of the checkpoint, so the answers of a submitted
+ * session are never written by a checkpoint behind the submission's back.
+ */
+@Component
+public class ExamSessionStore {
+
+    @Value("${exam.session.shards:64}")
+    private int shardCount;
+
+    private Shard[] shards;
+
+    private static final class Shard {
+        private final Map<String, LiveExamSession> sessions = new HashMap<>();
+        private final Set<LiveExamSession> unsaved = new LinkedHashSet<>();
+    }
+
+    record Checkpoint(LiveExamSession session, List<LiveExamSession.SavedAnswer> answers) {
+    }
+
+    @PostConstruct
+    void init() {
+        shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Runs {@code action} on the session (null when not loaded) while holding its shard lock.
+     */
+    <T> T compute(Long examId, Long studentId, Function<LiveExamSession, T> action) {
+        String key = key(examId, studentId);
+        Shard shard = shardFor(key);
+        synchronized (shard) {
+            LiveExamSession session = shard.sessions.get(key);
+            T result = action.apply(session);
+            if (session != null && session.hasUnsavedAnswers()) {
+                shard.unsaved.add(session);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Like {@link #compute}, but first waits while a checkpoint is writing the session's answers.
+     */
+    <T> T computeWhenNotWriting(Long examId, Long studentId, Function<LiveExamSession, T> action) {
+        String key = key(examId, studentId);
+        Shard shard = shardFor(key);
+        synchronized (shard) {
+            LiveExamSession session = shard.sessions.get(key);
+            while (session != null && session.isWriting()) {
+                try {
+                    shard.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a checkpoint of session " + key, e);
+                }
+                session = shard.sessions.get(key);
+            }
+            T result = action.apply(session);
+            if (session != null && session.hasUnsavedAnswers()) {
+                shard.unsaved.add(session);
+            }
+            return result;
+        }
+    }
+
+    /** Adds a session unless another thread loaded the same one first; returns the session kept. */
+    LiveExamSession putIfAbsent(LiveExamSession session) {
+        String key = key(session.getExamId(), session.getStudentId());
+        Shard shard = shardFor(key);
+        synchronized (shard) {
+            return shard.sessions.computeIfAbsent(key, k -> session);
+        }
+    }
+
+    void remove(LiveExamSession session) {
+        String key = key(session.getExamId(), session.getStudentId());
+        Shard shard = shardFor(key);
+        synchronized (shard) {
+            shard.sessions.remove(key, session);
+            shard.unsaved.remove(session);
+        }
+    }
+
+    /** Collects every answer changed since the last checkpoint, shard by shard. */
+    List<Checkpoint> takeUnsaved() {
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (LiveExamSession session : shard.unsaved) {
+                    if (!session.isClosed()) {
+                        checkpoints.add(new Checkpoint(session, session.takeUnsaved()));
+                    }
+                }
+                shard.unsaved.clear();
+            }
+        }
+        return checkpoints;
+    }
+
+    /**
+     * Claims the sessions of a checkpoint chunk for writing. Sessions closed since their answers were
+     * taken are left out: their answers go with the submission, and are marked unsaved again in
+     * case the session is reopened.
+     */
+    List<Checkpoint> claim(List<Checkpoint> checkpoints) {
+        List<Checkpoint> claimed = new ArrayList<>(checkpoints.size());
+        for (Checkpoint checkpoint : checkpoints) {
+            LiveExamSession session = checkpoint.session();
+            String key = key(session.getExamId(), session.getStudentId());
+            Shard shard = shardFor(key);
+            synchronized (shard) {
+                if (session.isClosed()) {
+                    restoreUnsaved(shard, key, checkpoint);
+                } else {
+                    session.setWriting(true);
+                    claimed.add(checkpoint);
+                }
+            }
+        }
+        return claimed;
+    }
+
+    /** Releases the sessions of a failed checkpoint and marks their answers unsaved again. */
+    void markUnsaved(List<Checkpoint> failed) {
+        for (Checkpoint checkpoint : failed) {
+            LiveExamSession session = checkpoint.session();
+            String key = key(session.getExamId(), session.getStudentId());
+            Shard shard = shardFor(key);
+            synchronized (shard) {
+                restoreUnsaved(shard, key, checkpoint);
+                release(shard, session);
+            }
+        }
+    }
+
+    void markCheckpointed(List<Checkpoint> written, LocalDateTime at) {
+        for (Checkpoint checkpoint : written) {
+            LiveExamSession session = checkpoint.session();
+            Shard shard = shardFor(key(session.getExamId(), session.getStudentId()));
+            synchronized (shard) {
+                session.checkpointed(at);
+                release(shard, session);
+            }
+        }
+    }
+
+    private static void restoreUnsaved(Shard shard, String key, Checkpoint checkpoint) {
+        LiveExamSession session = checkpoint.session();
+        if (shard.sessions.get(key) == session) {
+            session.markUnsaved(checkpoint.answers());
+            shard.unsaved.add(session);
+        }
+    }
+
+    private static void release(Shard shard, LiveExamSession session) {
+        session.setWriting(false);
+        shard.notifyAll();
+    }
+
+    /** Drops sessions past {@code cutoff} whose answers are all checkpointed. */
+    int evictExpired(LocalDateTime cutoff) {
+        int evicted = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                Iterator<LiveExamSession> sessions = shard.sessions.values().iterator();
+                while (sessions.hasNext()) {
+                    LiveExamSession session = sessions.next();
+                    if (session.getDeadline().isBefore(cutoff) && !session.hasUnsavedAnswers()) {
+                        sessions.remove();
+                        evicted++;
+                    }
+                }
+            }
+        }
+        return evicted;
+    }
+
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.sessions.size();
+            }
+        }
+        return size;
+    }
+
+    private Shard shardFor(String key) {
+        int hash = key.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    private static String key(Long examId, Long studentId) {
+        return examId + ":" + studentId;
+    }
+}
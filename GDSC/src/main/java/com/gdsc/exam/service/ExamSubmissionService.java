@@ -0,0 +1,515 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.center.entity.Center;
+import com.gdsc.common.cache.ExpiringCache;
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.common.exception.DuplicateResourceException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.exception.TooManyRequestsException;
+import com.gdsc.exam.dto.ExamSubmissionRequest;
+import com.gdsc.exam.dto.ExamSubmissionResponse;
+import com.gdsc.exam.entity.Exam;
+import com.gdsc.exam.entity.ExamSubmission;
+import com.gdsc.exam.entity.Question;
+import com.gdsc.exam.entity.StudentAnswer;
+import com.gdsc.exam.repository.ExamBlueprintRuleRepository;
+import com.gdsc.exam.repository.ExamRepository;
+import com.gdsc.exam.repository.ExamResultRepository;
+import com.gdsc.exam.repository.ExamSubmissionRepository;
+import com.gdsc.exam.repository.QuestionRepository;
+import com.gdsc.student.entity.Student;
+import com.gdsc.student.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accepts exam submissions on the request thread after cheap in-memory checks and hands them
+ * to a bounded queue. A single writer drains the queue and stores submissions in batches, so a
+ * closing exam turns thousands of requests into a few large transactions. A full queue answers 429.
+ * A submission is identified by exam and student; retrying with the same idempotency key returns
+ * the original acknowledgement and never inserts twice.
+ * <p>
+ * A submission that cannot be stored even on its own is tried a few more times and then kept in
+ * memory as FAILED under its idempotency key, where a status lookup reports it; a retry with the
+ * same key queues the answers again, even after the exam has closed.
+ * <p>
+ * Submissions stored after the exam was evaluated are graded on a thread of their own, so a burst
+ * of them never holds up storing the submissions of other exams.
+ */
+@Slf4j
+@Service
+public class ExamSubmissionService {
+
+    public static final String STATUS_ACCEPTED = "ACCEPTED";
+    public static final String STATUS_DUPLICATE = "DUPLICATE";
+    public static final String STATUS_STORED = "STORED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_FAILED_KEPT = 10_000;
+    private static final long FAILED_KEPT_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ExamSubmissionRepository examSubmissionRepository;
+
+    @Autowired
+    private ExamResultRepository examResultRepository;
+
+    @Autowired
+    private ExamGradingService examGradingService;
+
+    @Autowired
+    private ExamBlueprintRuleRepository blueprintRuleRepository;
+
+    @Autowired
+    private ExamPaperCache examPaperCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${exam.submission.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${exam.submission.batch-size:50}")
+    private int batchSize;
+
+    @Value("${exam.submission.grace-seconds:60}")
+    private long graceSeconds;
+
+    @Value("${exam.submission.window-cache-seconds:30}")
+    private long windowCacheSeconds;
+
+    @Value("${exam.submission.store-attempts:3}")
+    private int storeAttempts;
+
+    private BlockingQueue<PendingSubmission> queue;
+
+    // Accepted but not yet committed, keyed by exam and student
+    private final ConcurrentHashMap<String, PendingSubmission> inFlight = new ConcurrentHashMap<>();
+
+    private ExpiringCache<Long, ExamWindow> examWindows;
+
+    // Accepted but never stored, keyed by exam and student
+    private ExpiringCache<String, FailedSubmission> failedSubmissions;
+
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+    private ThreadPoolExecutor lateGrader;
+
+    record ExamWindow(LocalDateTime opensAt, LocalDateTime closesAt, Exam.ExamStatus status,
+                      boolean online, Long centerId, Set<Long> questionIds, boolean drawn) {
+    }
+
+    private record PendingSubmission(Long examId, Long studentId, Long centerId, String idempotencyKey,
+                                     List<ExamSubmissionRequest.Answer> answers, LocalDateTime submittedAt) {
+    }
+
+    private record FailedSubmission(PendingSubmission pending, String reason) {
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        examWindows = new ExpiringCache<>(1000);
+        failedSubmissions = new ExpiringCache<>(MAX_FAILED_KEPT);
+        // One thread, so late submissions of an exam are slotted into its ranking one at a time
+        lateGrader = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "exam-late-grading");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        running = true;
+        writer = new Thread(this::drainQueue, "exam-submission-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        // The writer empties the queue before it exits
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        lateGrader.shutdown();
+        lateGrader.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public ExamSubmissionResponse submit(Long examId, ExamSubmissionRequest request) {
+        return submit(examId, request, true);
+    }
+
+    /**
+     * Without {@code checkWindow} the answers are accepted after the exam has closed, for sessions
+     * the server submits on the candidate's behalf; every answer was saved while it was open.
+     */
+    ExamSubmissionResponse submit(Long examId, ExamSubmissionRequest request, boolean checkWindow) {
+        ExamWindow window = getExamWindow(examId);
+        Long studentId = request.getStudentId();
+
+        ExamSubmissionResponse previous = findPreviousSubmission(examId, studentId, request.getIdempotencyKey());
+        if (previous != null) {
+            return previous;
+        }
+
+        // A retry of a submission that failed to store keeps the time it was first accepted
+        FailedSubmission failed = failedSubmissions.get(key(examId, studentId));
+        boolean resubmitted = failed != null && failed.pending().idempotencyKey().equals(request.getIdempotencyKey());
+        LocalDateTime now = resubmitted ? failed.pending().submittedAt() : LocalDateTime.now();
+        if (checkWindow && !resubmitted) {
+            checkOpen(window, now);
+        }
+        validateAnswers(examId, studentId, window, request.getAnswers());
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student", "id", studentId);
+        }
+
+        PendingSubmission pending = new PendingSubmission(examId, studentId, window.centerId(),
+                request.getIdempotencyKey(), List.copyOf(request.getAnswers()), now);
+        PendingSubmission concurrent = inFlight.putIfAbsent(key(examId, studentId), pending);
+        if (concurrent != null) {
+            return acknowledgeRetry(concurrent.idempotencyKey(), request.getIdempotencyKey(),
+                    examId, studentId, concurrent.answers().size(), concurrent.submittedAt());
+        }
+        if (!queue.offer(pending)) {
+            inFlight.remove(key(examId, studentId), pending);
+            rejectedCount.incrementAndGet();
+            throw new TooManyRequestsException("Too many submissions in progress, please retry shortly");
+        }
+        if (failed != null) {
+            failedSubmissions.invalidate(key(examId, studentId));
+        }
+        return ExamSubmissionResponse.builder()
+                .examId(examId)
+                .studentId(studentId)
+                .idempotencyKey(pending.idempotencyKey())
+                .answerCount(pending.answers().size())
+                .status(STATUS_ACCEPTED)
+                .submittedAt(now)
+                .build();
+    }
+
+    /**
+     * Where the submission with this idempotency key stands: ACCEPTED while queued, then STORED,
+     * or FAILED with the reason when it could not be stored.
+     */
+    public ExamSubmissionResponse getStatus(Long examId, Long studentId, String idempotencyKey) {
+        PendingSubmission pending = inFlight.get(key(examId, studentId));
+        if (pending != null && pending.idempotencyKey().equals(idempotencyKey)) {
+            return statusOf(pending, STATUS_ACCEPTED, null);
+        }
+        ExamSubmissionResponse stored = examSubmissionRepository.findByExamIdAndStudentId(examId, studentId)
+                .filter(submission -> submission.getIdempotencyKey().equals(idempotencyKey))
+                .map(submission -> ExamSubmissionResponse.builder()
+                        .examId(examId)
+                        .studentId(studentId)
+                        .idempotencyKey(idempotencyKey)
+                        .answerCount(submission.getAnswerCount())
+                        .status(STATUS_STORED)
+                        .submittedAt(submission.getSubmittedAt())
+                        .build())
+                .orElse(null);
+        if (stored != null) {
+            return stored;
+        }
+        FailedSubmission failed = failedSubmissions.get(key(examId, studentId));
+        if (failed != null && failed.pending().idempotencyKey().equals(idempotencyKey)) {
+            return statusOf(failed.pending(), STATUS_FAILED, failed.reason());
+        }
+        throw new ResourceNotFoundException("Exam submission", "idempotencyKey", idempotencyKey);
+    }
+
+    public void evictExamWindow(Long examId) {
+        examWindows.invalidate(examId);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queueDepth", queue.size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("inFlight", inFlight.size());
+        metrics.put("stored", storedCount.get());
+        metrics.put("failed", failedCount.get());
+        metrics.put("failedAwaitingRetry", failedSubmissions.size());
+        metrics.put("rejected", rejectedCount.get());
+        metrics.put("lateGradingQueued", lateGrader.getQueue().size());
+        return metrics;
+    }
+
+    private static ExamSubmissionResponse statusOf(PendingSubmission pending, String status, String failureReason) {
+        return ExamSubmissionResponse.builder()
+                .examId(pending.examId())
+                .studentId(pending.studentId())
+                .idempotencyKey(pending.idempotencyKey())
+                .answerCount(pending.answers().size())
+                .status(status)
+                .submittedAt(pending.submittedAt())
+                .failureReason(failureReason)
+                .build();
+    }
+
+    private ExamSubmissionResponse findPreviousSubmission(Long examId, Long studentId, String idempotencyKey) {
+        PendingSubmission pending = inFlight.get(key(examId, studentId));
+        if (pending != null) {
+            return acknowledgeRetry(pending.idempotencyKey(), idempotencyKey, examId, studentId,
+                    pending.answers().size(), pending.submittedAt());
+        }
+        return examSubmissionRepository.findByExamIdAndStudentId(examId, studentId)
+                .map(stored -> acknowledgeRetry(stored.getIdempotencyKey(), idempotencyKey, examId, studentId,
+                        stored.getAnswerCount(), stored.getSubmittedAt()))
+                .orElse(null);
+    }
+
+    private ExamSubmissionResponse acknowledgeRetry(String acceptedKey, String idempotencyKey, Long examId,
+                                                    Long studentId, int answerCount, LocalDateTime submittedAt) {
+        if (!acceptedKey.equals(idempotencyKey)) {
+            throw new DuplicateResourceException("Exam " + examId + " has already been submitted by student " + studentId);
+        }
+        return ExamSubmissionResponse.builder()
+                .examId(examId)
+                .studentId(studentId)
+                .idempotencyKey(acceptedKey)
+                .answerCount(answerCount)
+                .status(STATUS_DUPLICATE)
+                .submittedAt(submittedAt)
+                .build();
+    }
+
+    void checkOpen(ExamWindow window, LocalDateTime now) {
+        if (window.status() == Exam.ExamStatus.CANCELLED || window.status() == Exam.ExamStatus.POSTPONED) {
+            throw new BadRequestException("Exam is not open for submissions");
+        }
+        if (now.isBefore(window.opensAt())) {
+            throw new BadRequestException("Exam has not started yet");
+        }
+        if (now.isAfter(window.closesAt().plusSeconds(graceSeconds))) {
+            throw new BadRequestException("Exam submission window has closed");
+        }
+    }
+
+    private void validateAnswers(Long examId, Long studentId, ExamWindow window,
+                                 List<ExamSubmissionRequest.Answer> answers) {
+        QuestionPoolIndex.DrawnPaper paper = drawnPaper(examId, studentId, window);
+        Set<Long> answered = new HashSet<>();
+        for (ExamSubmissionRequest.Answer answer : answers) {
+            checkQuestion(window, paper, answer.getQuestionId());
+            if (!answered.add(answer.getQuestionId())) {
+                throw new BadRequestException("Question " + answer.getQuestionId() + " is answered more than once");
+            }
+        }
+    }
+
+    QuestionPoolIndex.DrawnPaper drawnPaper(Long examId, Long studentId, ExamWindow window) {
+        return window.drawn() ? examPaperCache.drawnPaper(examId, studentId) : null;
+    }
+
+    void checkQuestion(ExamWindow window, QuestionPoolIndex.DrawnPaper paper, Long questionId) {
+        if (!window.questionIds().contains(questionId)) {
+            throw new BadRequestException("Question " + questionId + " does not belong to this exam");
+        }
+        if (paper != null && !paper.contains(questionId)) {
+            throw new BadRequestException("Question " + questionId + " is not on this candidate's paper");
+        }
+    }
+
+    ExamWindow getExamWindow(Long examId) {
+        ExamWindow window = examWindows.get(examId);
+        if (window != null) {
+            return window;
+        }
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
+        window = new ExamWindow(
+                exam.getExamDate(),
+                exam.getExamDate().plusMinutes(exam.getDurationMinutes()),
+                exam.getStatus(),
+                Boolean.TRUE.equals(exam.getIsOnline()),
+                exam.getCenter() != null ? exam.getCenter().getId() : null,
+                Set.copyOf(questionRepository.findIdsByExamId(examId)),
+                blueprintRuleRepository.existsByExamId(examId));
+        examWindows.put(examId, window, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(windowCacheSeconds));
+        return window;
+    }
+
+    private void drainQueue() {
+        List<PendingSubmission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSubmission first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                store(batch);
+                List<PendingSubmission> stored = List.copyOf(batch);
+                lateGrader.execute(() -> gradeLateSubmissions(stored));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Exam submission writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void store(List<PendingSubmission> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                deleteCheckpointedAnswers(batch);
+                batch.forEach(this::write);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            storedCount.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Storing {} exam submissions failed, retrying one by one", batch.size(), e);
+            batch.forEach(this::storeSingle);
+        } finally {
+            batch.forEach(pending -> inFlight.remove(key(pending.examId(), pending.studentId()), pending));
+        }
+    }
+
+    /**
+     * Submissions that arrive after the exam was evaluated are graded on their own, which also
+     * slots them into the existing ranking without re-ranking the whole exam.
+     */
+    private void gradeLateSubmissions(List<PendingSubmission> batch) {
+        Map<Long, Boolean> evaluated = new HashMap<>();
+        for (PendingSubmission pending : batch) {
+            try {
+                if (!evaluated.computeIfAbsent(pending.examId(), id -> examResultRepository.countByExamId(id) > 0)) {
+                    continue;
+                }
+                examGradingService.evaluateStudent(pending.examId(), pending.studentId());
+            } catch (RuntimeException e) {
+                log.warn("Could not grade late submission of student {} for exam {}; re-run the evaluation",
+                        pending.studentId(), pending.examId(), e);
+            }
+        }
+    }
+
+    // The client already got 202, so a failure is retried and, failing that, kept for status lookups
+    private void storeSingle(PendingSubmission pending) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    deleteCheckpointedAnswers(List.of(pending));
+                    write(pending);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                storedCount.incrementAndGet();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt < storeAttempts && backOff(attempt)) {
+                    log.warn("Storing submission of student {} for exam {} failed, retrying (attempt {})",
+                            pending.studentId(), pending.examId(), attempt);
+                    continue;
+                }
+                failedCount.incrementAndGet();
+                failedSubmissions.put(key(pending.examId(), pending.studentId()),
+                        new FailedSubmission(pending, "Answers could not be stored after " + attempt + " attempt(s)"),
+                        System.currentTimeMillis() + FAILED_KEPT_MILLIS);
+                log.error("Could not store submission of student {} for exam {} (key {})",
+                        pending.studentId(), pending.examId(), pending.idempotencyKey(), e);
+                return;
+            }
+        }
+    }
+
+    private static boolean backOff(int attempt) {
+        try {
+            Thread.sleep(100L * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * The submitted answers replace whatever an exam session checkpointed for the same students.
+     */
+    private void deleteCheckpointedAnswers(List<PendingSubmission> batch) {
+        Map<Long, List<Long>> studentsByExam = new HashMap<>();
+        for (PendingSubmission pending : batch) {
+            studentsByExam.computeIfAbsent(pending.examId(), id -> new ArrayList<>()).add(pending.studentId());
+        }
+        studentsByExam.forEach((examId, studentIds) -> entityManager
+                .createQuery("DELETE FROM StudentAnswer a WHERE a.exam.id = :examId AND a.student.id IN :studentIds")
+                .setParameter("examId", examId)
+                .setParameter("studentIds", studentIds)
+                .executeUpdate());
+    }
+
+    private void write(PendingSubmission pending) {
+        Exam exam = entityManager.getReference(Exam.class, pending.examId());
+        Student student = entityManager.getReference(Student.class, pending.studentId());
+        Center center = pending.centerId() != null ? entityManager.getReference(Center.class, pending.centerId()) : null;
+
+        ExamSubmission submission = new ExamSubmission();
+        submission.setExam(exam);
+        submission.setStudent(student);
+        submission.setIdempotencyKey(pending.idempotencyKey());
+        submission.setAnswerCount(pending.answers().size());
+        submission.setSubmittedAt(pending.submittedAt());
+        entityManager.persist(submission);
+
+        for (ExamSubmissionRequest.Answer answer : pending.answers()) {
+            StudentAnswer studentAnswer = new StudentAnswer();
+            studentAnswer.setExam(exam);
+            studentAnswer.setStudent(student);
+            studentAnswer.setQuestion(entityManager.getReference(Question.class, answer.getQuestionId()));
+            studentAnswer.setSelectedOptionId(answer.getSelectedOptionId());
+            studentAnswer.setAnswerText(answer.getAnswerText());
+            studentAnswer.setTimeTakenSeconds(answer.getTimeTakenSeconds());
+            studentAnswer.setSubmissionTime(pending.submittedAt());
+            studentAnswer.setCenter(center);
+            entityManager.persist(studentAnswer);
+        }
+    }
+
+    private static String key(Long examId, Long studentId) {
+        return examId + ":" + studentId;
+    }
+}
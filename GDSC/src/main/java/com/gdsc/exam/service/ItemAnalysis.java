@@ -0,0 +1,183 @@
+package com.gdsc.exam.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classical item analysis of one exam, accumulated in a single pass over its graded answers.
+ * Only counters and sums are kept per question and per option, so memory depends on the size of
+ * the paper and the number of students, never on the number of answers. Not thread-safe.
+ * <p>
+ * Examinees of a question are the students with a result who were given the question; an
+ * unanswered question counts as wrong. The point-biserial uses the students' total marks,
+ * including the question itself.
+ */
+final class ItemAnalysis {
+
+    record QuestionStats(long questionId, int examinees, int answered, int correct, Double difficultyIndex,
+                         Double pointBiserial, Double averageTimeSeconds, List<OptionStats> options) {
+    }
+
+    record OptionStats(long optionId, int selected, Double selectionRate, Double averageTotalMarks) {
+    }
+
+    private final Map<Long, Integer> totalsByStudent;
+
+    private final long[] questionIds;
+    private final int[] examinees;
+    private final int[] answered;
+    private final int[] correct;
+    private final double[] totalSum;
+    private final double[] totalSquareSum;
+    private final double[] correctTotalSum;
+    private final long[] timeSum;
+    private final int[] timeCount;
+
+    private final long[] optionIds;
+    private final int[] optionQuestion;
+    private final int[] optionSelected;
+    private final double[] optionTotalSum;
+
+    /**
+     * @param questionIds     ids of the exam's questions
+     * @param options         rows of option id and question id
+     * @param totalsByStudent obtained marks of every student with a result
+     */
+    ItemAnalysis(List<Long> questionIds, List<Object[]> options, Map<Long, Integer> totalsByStudent) {
+        this.totalsByStudent = totalsByStudent;
+        this.questionIds = questionIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        int questionCount = this.questionIds.length;
+        examinees = new int[questionCount];
+        answered = new int[questionCount];
+        correct = new int[questionCount];
+        totalSum = new double[questionCount];
+        totalSquareSum = new double[questionCount];
+        correctTotalSum = new double[questionCount];
+        timeSum = new long[questionCount];
+        timeCount = new int[questionCount];
+
+        List<Object[]> sortedOptions = new ArrayList<>(options);
+        sortedOptions.sort(Comparator.comparingLong(row -> (Long) row[0]));
+        optionIds = new long[sortedOptions.size()];
+        optionQuestion = new int[sortedOptions.size()];
+        for (int i = 0; i < sortedOptions.size(); i++) {
+            optionIds[i] = (Long) sortedOptions.get(i)[0];
+            optionQuestion[i] = Arrays.binarySearch(this.questionIds, (Long) sortedOptions.get(i)[1]);
+        }
+        optionSelected = new int[optionIds.length];
+        optionTotalSum = new double[optionIds.length];
+    }
+
+    /** Every student with a result was given every question. */
+    void presentAll() {
+        double sum = 0;
+        double squareSum = 0;
+        for (int total : totalsByStudent.values()) {
+            sum += total;
+            squareSum += (double) total * total;
+        }
+        Arrays.fill(examinees, totalsByStudent.size());
+        Arrays.fill(totalSum, sum);
+        Arrays.fill(totalSquareSum, squareSum);
+    }
+
+    /** The student was given these questions, e.g. a paper drawn from a question pool. */
+    void present(long studentId, long[] paperQuestionIds) {
+        Integer total = totalsByStudent.get(studentId);
+        if (total == null) {
+            return;
+        }
+        for (long questionId : paperQuestionIds) {
+            int question = Arrays.binarySearch(questionIds, questionId);
+            if (question >= 0) {
+                examinees[question]++;
+                totalSum[question] += total;
+                totalSquareSum[question] += (double) total * total;
+            }
+        }
+    }
+
+    /**
+     * Adds one answer row: student id, question id, selected option id, correct flag, marks
+     * obtained and time taken in seconds, at positions 1 to 6.
+     */
+    void accept(Object[] row) {
+        Integer total = totalsByStudent.get((Long) row[1]);
+        int question = Arrays.binarySearch(questionIds, (Long) row[2]);
+        if (total == null || question < 0) {
+            // Not graded yet, or the question has been removed since
+            return;
+        }
+        answered[question]++;
+        Boolean isCorrect = (Boolean) row[4];
+        Integer marks = (Integer) row[5];
+        // Manually reviewed answers carry marks but no correct flag
+        if (Boolean.TRUE.equals(isCorrect) || (isCorrect == null && marks != null && marks > 0)) {
+            correct[question]++;
+            correctTotalSum[question] += total;
+        }
+        if (row[6] != null) {
+            timeSum[question] += (Integer) row[6];
+            timeCount[question]++;
+        }
+        if (row[3] != null) {
+            int option = Arrays.binarySearch(optionIds, (Long) row[3]);
+            if (option >= 0 && optionQuestion[option] == question) {
+                optionSelected[option]++;
+                optionTotalSum[option] += total;
+            }
+        }
+    }
+
+    List<QuestionStats> results() {
+        List<List<OptionStats>> optionsByQuestion = new ArrayList<>(questionIds.length);
+        for (int i = 0; i < questionIds.length; i++) {
+            optionsByQuestion.add(new ArrayList<>());
+        }
+        for (int i = 0; i < optionIds.length; i++) {
+            int question = optionQuestion[i];
+            if (question < 0) {
+                continue;
+            }
+            optionsByQuestion.get(question).add(new OptionStats(optionIds[i], optionSelected[i],
+                    ratio(optionSelected[i], examinees[question]),
+                    optionSelected[i] > 0 ? round(optionTotalSum[i] / optionSelected[i]) : null));
+        }
+
+        List<QuestionStats> results = new ArrayList<>(questionIds.length);
+        for (int i = 0; i < questionIds.length; i++) {
+            results.add(new QuestionStats(questionIds[i], examinees[i], answered[i], correct[i],
+                    ratio(correct[i], examinees[i]), pointBiserial(i),
+                    timeCount[i] > 0 ? round((double) timeSum[i] / timeCount[i]) : null,
+                    optionsByQuestion.get(i)));
+        }
+        return results;
+    }
+
+    private Double pointBiserial(int question) {
+        int n = examinees[question];
+        int c = Math.min(correct[question], n);
+        if (c == 0 || c == n) {
+            return null;
+        }
+        double mean = totalSum[question] / n;
+        double deviation = Math.sqrt(Math.max(0, totalSquareSum[question] / n - mean * mean));
+        if (deviation == 0) {
+            return null;
+        }
+        double correctMean = correctTotalSum[question] / c;
+        double otherMean = (totalSum[question] - correctTotalSum[question]) / (n - c);
+        return round((correctMean - otherMean) / deviation * Math.sqrt((double) c * (n - c)) / n);
+    }
+
+    private static Double ratio(int count, int total) {
+        return total > 0 ? round((double) count / total) : null;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10000) / 10000.0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.exam.dto.ExamSubmissionRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Answers of one student's running exam as held by {@link ExamSessionStore}. All access goes
+ * through the store, under the lock of the shard the session lives in.
+ */
+final class LiveExamSession {
+
+    record SavedAnswer(Long questionId, Long selectedOptionId, String answerText, Integer timeTakenSeconds,
+                       LocalDateTime savedAt) {
+    }
+
+    private final Long sessionId;
+    private final Long examId;
+    private final Long studentId;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime deadline;
+    private final Map<Long, SavedAnswer> answers = new LinkedHashMap<>();
+    private final Set<Long> unsavedQuestions = new LinkedHashSet<>();
+    private LocalDateTime lastCheckpointAt;
+    private boolean closed;
+    // A checkpoint transaction is writing this session's answers
+    private boolean writing;
+
+    LiveExamSession(Long sessionId, Long examId, Long studentId, LocalDateTime startedAt, LocalDateTime deadline,
+                    LocalDateTime lastCheckpointAt) {
+        this.sessionId = sessionId;
+        this.examId = examId;
+        this.studentId = studentId;
+        this.startedAt = startedAt;
+        this.deadline = deadline;
+        this.lastCheckpointAt = lastCheckpointAt;
+    }
+
+    Long getSessionId() {
+        return sessionId;
+    }
+
+    Long getExamId() {
+        return examId;
+    }
+
+    Long getStudentId() {
+        return studentId;
+    }
+
+    LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    LocalDateTime getLastCheckpointAt() {
+        return lastCheckpointAt;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    boolean isWriting() {
+        return writing;
+    }
+
+    void setWriting(boolean writing) {
+        this.writing = writing;
+    }
+
+    boolean hasUnsavedAnswers() {
+        return !unsavedQuestions.isEmpty();
+    }
+
+    /** Loads an answer that is already checkpointed, e.g. while recovering after a restart. */
+    void restore(SavedAnswer answer) {
+        answers.put(answer.questionId(), answer);
+    }
+
+    /** Records an autosave; returns false when the session no longer accepts answers. */
+    boolean save(SavedAnswer answer) {
+        if (closed) {
+            return false;
+        }
+        answers.put(answer.questionId(), answer);
+        unsavedQuestions.add(answer.questionId());
+        return true;
+    }
+
+    /** Latest value of every answer changed since the previous checkpoint, clearing the change set. */
+    List<SavedAnswer> takeUnsaved() {
+        List<SavedAnswer> unsaved = new ArrayList<>(unsavedQuestions.size());
+        for (Long questionId : unsavedQuestions) {
+            unsaved.add(answers.get(questionId));
+        }
+        unsavedQuestions.clear();
+        return unsaved;
+    }
+
+    /** Marks answers of a failed checkpoint as unsaved again so the next checkpoint retries them. */
+    void markUnsaved(List<SavedAnswer> failed) {
+        for (SavedAnswer answer : failed) {
+            unsavedQuestions.add(answer.questionId());
+        }
+    }
+
+    void checkpointed(LocalDateTime at) {
+        lastCheckpointAt = at;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    void reopen() {
+        closed = false;
+    }
+
+    List<ExamSubmissionRequest.Answer> toAnswers() {
+        List<ExamSubmissionRequest.Answer> result = new ArrayList<>(answers.size());
+        for (SavedAnswer saved : answers.values()) {
+            ExamSubmissionRequest.Answer answer = new ExamSubmissionRequest.Answer();
+            answer.setQuestionId(saved.questionId());
+            answer.setSelectedOptionId(saved.selectedOptionId());
+            answer.setAnswerText(saved.answerText());
+            answer.setTimeTakenSeconds(saved.timeTakenSeconds());
+            result.add(answer);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.exam.entity.ExamBlueprintRule;
+import com.gdsc.exam.entity.Question;
+import com.gdsc.exam.entity.QuestionOption;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * The question pool of one exam together with its blueprint, in primitive arrays, so a
+ * candidate's paper is drawn without touching the database. A paper is a pure function of the
+ * exam, the student and the pool: the same student always gets the same questions and option
+ * order, so papers are never stored. Immutable and safe to share between request threads.
+ */
+public final class QuestionPoolIndex {
+
+    private final long[] questionIds;
+    private final long[][] optionIds;
+    private final int[][] ruleCandidates;
+    private final int[] ruleCounts;
+    private final int paperSize;
+
+    /** Questions and option order drawn for one candidate. */
+    public record DrawnPaper(long[] questionIds, long[][] optionIds, long[] sortedQuestionIds) {
+
+        public boolean contains(long questionId) {
+            return Arrays.binarySearch(sortedQuestionIds, questionId) >= 0;
+        }
+    }
+
+    private QuestionPoolIndex(long[] questionIds, long[][] optionIds, int[][] ruleCandidates, int[] ruleCounts) {
+        this.questionIds = questionIds;
+        this.optionIds = optionIds;
+        this.ruleCandidates = ruleCandidates;
+        this.ruleCounts = ruleCounts;
+        this.paperSize = Arrays.stream(ruleCounts).sum();
+    }
+
+    /**
+     * @param questions the pool in a stable order with options loaded in display order
+     * @param rules     the blueprint, applied in order
+     */
+    public static QuestionPoolIndex of(List<Question> questions, List<ExamBlueprintRule> rules) {
+        long[] questionIds = new long[questions.size()];
+        long[][] optionIds = new long[questions.size()][];
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            questionIds[i] = question.getId();
+            optionIds[i] = question.getOptions().stream().mapToLong(QuestionOption::getId).toArray();
+        }
+        int[][] ruleCandidates = new int[rules.size()][];
+        int[] ruleCounts = new int[rules.size()];
+        for (int r = 0; r < rules.size(); r++) {
+            ExamBlueprintRule rule = rules.get(r);
+            List<Integer> matching = new ArrayList<>();
+            for (int i = 0; i < questions.size(); i++) {
+                if (matches(rule, questions.get(i))) {
+                    matching.add(i);
+                }
+            }
+            ruleCandidates[r] = matching.stream().mapToInt(Integer::intValue).toArray();
+            ruleCounts[r] = rule.getQuestionCount();
+        }
+        return new QuestionPoolIndex(questionIds, optionIds, ruleCandidates, ruleCounts);
+    }
+
+    public static boolean matches(ExamBlueprintRule rule, Question question) {
+        return (isBlank(rule.getTopic()) || rule.getTopic().equalsIgnoreCase(Objects.toString(question.getTopic(), "")))
+                && (isBlank(rule.getDifficultyLevel())
+                || rule.getDifficultyLevel().equalsIgnoreCase(Objects.toString(question.getDifficultyLevel(), "")));
+    }
+
+    /**
+     * Draws the paper of one student. Each rule takes its questions from those not drawn by an
+     * earlier rule, so overlapping rules never repeat a question; the questions and the options
+     * of each question are then shuffled.
+     */
+    public DrawnPaper draw(long examId, long studentId) {
+        Random random = new Random(seed(examId, studentId));
+        boolean[] picked = new boolean[questionIds.length];
+        int[] drawn = new int[paperSize];
+        int size = 0;
+        for (int r = 0; r < ruleCandidates.length; r++) {
+            int[] candidates = ruleCandidates[r].clone();
+            int taken = 0;
+            for (int i = 0; i < candidates.length && taken < ruleCounts[r]; i++) {
+                swap(candidates, i, i + random.nextInt(candidates.length - i));
+                if (!picked[candidates[i]]) {
+                    picked[candidates[i]] = true;
+                    drawn[size++] = candidates[i];
+                    taken++;
+                }
+            }
+        }
+        for (int i = size - 1; i > 0; i--) {
+            swap(drawn, i, random.nextInt(i + 1));
+        }
+
+        long[] paperQuestionIds = new long[size];
+        long[][] paperOptionIds = new long[size][];
+        for (int i = 0; i < size; i++) {
+            paperQuestionIds[i] = questionIds[drawn[i]];
+            long[] options = optionIds[drawn[i]].clone();
+            for (int j = options.length - 1; j > 0; j--) {
+                int k = random.nextInt(j + 1);
+                long option = options[j];
+                options[j] = options[k];
+                options[k] = option;
+            }
+            paperOptionIds[i] = options;
+        }
+        long[] sorted = paperQuestionIds.clone();
+        Arrays.sort(sorted);
+        return new DrawnPaper(paperQuestionIds, paperOptionIds, sorted);
+    }
+
+    // java.util.Random is specified bit for bit, so a seed yields the same paper on every JVM
+    static long seed(long examId, long studentId) {
+        long seed = examId * 0x9E3779B97F4A7C15L + studentId;
+        seed = (seed ^ (seed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        seed = (seed ^ (seed >>> 27)) * 0x94D049BB133111EBL;
+        return seed ^ (seed >>> 31);
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,12 +1,19 @@
 package com.gdsc.exam.service;
 
+import com.gdsc.common.RawJson;
+import com.gdsc.common.exception.BadRequestException;
 import com.gdsc.exam.dto.QuestionDto;
+import com.gdsc.exam.entity.Exam;
 import com.gdsc.exam.entity.Question;
+import com.gdsc.exam.entity.QuestionOption;
+import com.gdsc.exam.repository.ExamRepository;
 import com.gdsc.exam.repository.QuestionRepository;
 import com.gdsc.common.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,22 +23,74 @@ public class QuestionService {
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private ExamSubmissionService examSubmissionService;
+
+    @Autowired
+    private ExamPaperCache examPaperCache;
+
+    @Autowired
+    private ExamAnalyticsService examAnalyticsService;
+
+    @Autowired
+    private ExamBlueprintService examBlueprintService;
+
     public List<QuestionDto> getQuestionsByExam(Long examId) {
-        return questionRepository.findByExamId(examId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return examPaperCache.get(examId).questions();
+    }
+
+    /**
+     * The candidate view of the paper, without answers; available once the exam has opened.
+     */
+    public RawJson getExamPaper(Long examId) {
+        ExamSubmissionService.ExamWindow window = examSubmissionService.getExamWindow(examId);
+        checkPaperAvailable(window);
+        if (window.drawn()) {
+            throw new BadRequestException("Exam " + examId + " draws a paper per candidate");
+        }
+        return examPaperCache.get(examId).candidateJson();
+    }
+
+    /**
+     * The paper of one candidate. For exams with a blueprint it is drawn from the question pool
+     * and is the same on every request; otherwise it is the exam's fixed paper.
+     */
+    public RawJson getCandidatePaper(Long examId, Long studentId) {
+        checkPaperAvailable(examSubmissionService.getExamWindow(examId));
+        return examPaperCache.candidatePaper(examId, studentId);
+    }
+
+    private void checkPaperAvailable(ExamSubmissionService.ExamWindow window) {
+        if (window.status() == Exam.ExamStatus.CANCELLED || window.status() == Exam.ExamStatus.POSTPONED) {
+            throw new BadRequestException("Exam is not open");
+        }
+        if (window.status() != Exam.ExamStatus.IN_PROGRESS && LocalDateTime.now().isBefore(window.opensAt())) {
+            throw new BadRequestException("Exam has not started yet");
+        }
     }
 
     public QuestionDto addQuestionToExam(Long examId, QuestionDto questionDto) {
+        Exam exam = examRepository.findById(examId)
+                .orElseThrow(() -> new ResourceNotFoundException("Exam", "id", examId));
         Question question = convertToEntity(questionDto);
+        question.setExam(exam);
+        examBlueprintService.checkQuestionChange(exam, null, question);
+        addOptions(question, questionDto);
         Question savedQuestion = questionRepository.save(question);
+        evictExamCaches(examId);
         return convertToDto(savedQuestion);
     }
 
     public QuestionDto updateQuestion(Long questionId, QuestionDto questionDto) {
         Question existingQuestion = questionRepository.findById(questionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Question", "id", questionId));
-        
+        Question changed = convertToEntity(questionDto);
+        changed.setId(questionId);
+        examBlueprintService.checkQuestionChange(existingQuestion.getExam(), questionId, changed);
+
         // Update fields
         existingQuestion.setQuestionText(questionDto.getText());
         existingQuestion.setQuestionType(Question.QuestionType.valueOf(questionDto.getType()));
@@ -42,17 +101,48 @@ public class QuestionService {
         existingQuestion.setExplanation(questionDto.getExplanation());
         
         Question updatedQuestion = questionRepository.save(existingQuestion);
+        evictExamCaches(updatedQuestion.getExam().getId());
         return convertToDto(updatedQuestion);
     }
 
     public void deleteQuestion(Long questionId) {
-        if (!questionRepository.existsById(questionId)) {
-            throw new ResourceNotFoundException("Question", "id", questionId);
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Question", "id", questionId));
+        examBlueprintService.checkQuestionChange(question.getExam(), questionId, null);
+        examAnalyticsService.deleteForQuestion(questionId);
+        questionRepository.delete(question);
+        evictExamCaches(question.getExam().getId());
+    }
+
+    private void evictExamCaches(Long examId) {
+        examSubmissionService.evictExamWindow(examId);
+        examPaperCache.evict(examId);
+    }
+
+    /**
+     * Options are lettered A, B, C... in the given order; an option is correct when the
+     * question's correct answer is its letter or its text.
+     */
+    private void addOptions(Question question, QuestionDto dto) {
+        if (dto.getOptions() == null) {
+            return;
+        }
+        String correctAnswer = dto.getCorrectAnswer() != null ? dto.getCorrectAnswer().trim() : null;
+        for (int i = 0; i < dto.getOptions().size(); i++) {
+            String text = dto.getOptions().get(i);
+            String letter = String.valueOf((char) ('A' + i));
+            QuestionOption option = new QuestionOption();
+            option.setOptionText(text);
+            option.setOptionLetter(letter);
+            option.setDisplayOrder(i + 1);
+            option.setIsCorrect(correctAnswer != null
+                    && (correctAnswer.equalsIgnoreCase(letter) || correctAnswer.equalsIgnoreCase(text.trim())));
+            option.setCenter(question.getExam().getCenter());
+            question.addOption(option);
         }
-        questionRepository.deleteById(questionId);
     }
 
-    private QuestionDto convertToDto(Question question) {
+    static QuestionDto convertToDto(Question question) {
         QuestionDto dto = new QuestionDto();
         dto.setId(question.getId());
         dto.setText(question.getQuestionText());
@@ -65,6 +155,10 @@ public class QuestionService {
         if (question.getExam() != null) {
             dto.setExamId(question.getExam().getId());
         }
+        dto.setOptions(question.getOptions().stream()
+                .sorted(Comparator.comparing(QuestionOption::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(QuestionOption::getOptionText)
+                .collect(Collectors.toList()));
         return dto;
     }
 
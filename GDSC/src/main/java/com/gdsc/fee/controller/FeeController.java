@@ -1,19 +1,38 @@
 package com.gdsc.fee.controller;
 
 import com.gdsc.common.ApiResponse;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.storage.FileSender;
+import com.gdsc.fee.dto.CenterDailySummaryDto;
+import com.gdsc.fee.dto.CenterSummaryDto;
+import com.gdsc.fee.dto.FeeBalanceDto;
 import com.gdsc.fee.dto.FeeDto;
+import com.gdsc.fee.dto.FeeLedgerEntryDto;
+import com.gdsc.fee.dto.GatewayCallbackDto;
 import com.gdsc.fee.dto.PaymentDto;
+import com.gdsc.fee.service.CenterSummaryService;
+import com.gdsc.fee.service.FeeAccrualJob;
+import com.gdsc.fee.service.FeeLedgerService;
 import com.gdsc.fee.service.FeeService;
 import com.gdsc.fee.service.PaymentService;
+import com.gdsc.fee.service.ReceiptService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/fees")
@@ -26,6 +45,21 @@ public class FeeController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
+    @Autowired
+    private FeeAccrualJob feeAccrualJob;
+
+    @Autowired
+    private CenterSummaryService centerSummaryService;
+
+    @Autowired
+    private ReceiptService receiptService;
+
+    @Autowired
+    private FileSender fileSender;
+
     // Fee Management Endpoints
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
@@ -35,6 +69,26 @@ public class FeeController {
         return ResponseEntity.ok(ApiResponse.success("Fees retrieved successfully", fees));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get fees page", description = "Keyset-paginated fees; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<FeeDto>>> getFeesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<FeeDto> page = feeService.getFeesPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Fees retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Export fees", description = "Stream all fees as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportFees() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(feeService.exportFees());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or @feeSecurityService.isOwner(#id)")
     @Operation(summary = "Get fee by ID", description = "Retrieve a specific fee by ID")
@@ -43,6 +97,54 @@ public class FeeController {
         return ResponseEntity.ok(ApiResponse.success("Fee retrieved successfully", fee));
     }
 
+    @GetMapping("/{id}/balance")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or @feeSecurityService.isOwner(#id)")
+    @Operation(summary = "Get fee balance", description = "Current paid and pending amounts of a fee")
+    public ResponseEntity<ApiResponse<FeeBalanceDto>> getFeeBalance(@PathVariable Long id) {
+        FeeBalanceDto balance = feeLedgerService.getBalance(id);
+        return ResponseEntity.ok(ApiResponse.success("Fee balance retrieved successfully", balance));
+    }
+
+    @GetMapping("/center/{centerId}/summary")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get center fee summary", description = "Charged, collected, late fees and outstanding dues of a center over a date range, default the last 30 days")
+    public ResponseEntity<ApiResponse<CenterSummaryDto>> getCenterSummary(
+            @PathVariable Long centerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        CenterSummaryDto summary = centerSummaryService.getSummary(centerId, from, to);
+        return ResponseEntity.ok(ApiResponse.success("Center fee summary retrieved successfully", summary));
+    }
+
+    @GetMapping("/center/{centerId}/summary/daily")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get center daily fee summary", description = "Per-day fee movements and outstanding dues of a center, default the last 30 days")
+    public ResponseEntity<ApiResponse<List<CenterDailySummaryDto>>> getCenterDailySummary(
+            @PathVariable Long centerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<CenterDailySummaryDto> days = centerSummaryService.getDailySummaries(centerId, from, to);
+        return ResponseEntity.ok(ApiResponse.success("Center daily fee summary retrieved successfully", days));
+    }
+
+    @PostMapping("/accrual/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Run fee accrual", description = "Charge late fees and advance installments for fees due up to the given past date, default yesterday (Admin only)")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> runFeeAccrual(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        boolean ran = feeAccrualJob.run(date != null ? date : LocalDate.now().minusDays(1));
+        String message = ran ? "Fee accrual completed" : "Fee accrual is already running";
+        return ResponseEntity.ok(ApiResponse.success(message, feeAccrualJob.getMetrics()));
+    }
+
+    @GetMapping("/{id}/ledger")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or @feeSecurityService.isOwner(#id)")
+    @Operation(summary = "Get fee ledger", description = "Charges, payments and adjustments of a fee in the order they were recorded")
+    public ResponseEntity<ApiResponse<List<FeeLedgerEntryDto>>> getFeeLedger(@PathVariable Long id) {
+        List<FeeLedgerEntryDto> ledger = feeLedgerService.getLedger(id);
+        return ResponseEntity.ok(ApiResponse.success("Fee ledger retrieved successfully", ledger));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
     @Operation(summary = "Create new fee", description = "Create a new fee structure (Admin/Staff only)")
@@ -92,6 +194,26 @@ public class FeeController {
         return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", payments));
     }
 
+    @GetMapping("/payments/page")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get payments page", description = "Keyset-paginated payments; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<PaymentDto>>> getPaymentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<PaymentDto> page = paymentService.getPaymentsPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Payments retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/payments/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Export payments", description = "Stream all payments as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportPayments() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(paymentService.exportPayments());
+    }
+
     @GetMapping("/payments/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or @paymentSecurityService.isOwner(#id)")
     @Operation(summary = "Get payment by ID", description = "Retrieve a specific payment by ID")
@@ -126,16 +248,26 @@ public class FeeController {
 
     @PostMapping("/payments/{id}/process")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
-    @Operation(summary = "Process payment", description = "Process a payment (Admin/Staff only)")
+    @Operation(summary = "Process payment", description = "Submit a payment to the gateway; it stays PROCESSING until the gateway answers (Admin/Staff only)")
     public ResponseEntity<ApiResponse<PaymentDto>> processPayment(@PathVariable Long id) {
         PaymentDto processedPayment = paymentService.processPayment(id);
-        return ResponseEntity.ok(ApiResponse.success("Payment processed successfully", processedPayment));
+        return ResponseEntity.accepted().body(ApiResponse.success("Payment submitted to the gateway", processedPayment));
+    }
+
+    @PostMapping("/payments/callback")
+    @Operation(summary = "Gateway callback", description = "Charge outcome reported by the payment gateway, authenticated by the X-Gateway-Secret header")
+    public ResponseEntity<ApiResponse<PaymentDto>> gatewayCallback(
+            @RequestHeader(value = "X-Gateway-Secret", required = false) String secret,
+            @Valid @RequestBody GatewayCallbackDto callback) {
+        PaymentDto payment = paymentService.completeFromGateway(secret, callback);
+        return ResponseEntity.ok(ApiResponse.success("Gateway outcome recorded", payment));
     }
 
-    @GetMapping("/receipt/{paymentId}")
-    @Operation(summary = "Generate receipt", description = "Generate payment receipt")
-    public ResponseEntity<ApiResponse<Object>> generateReceipt(@PathVariable Long paymentId) {
-        Object receipt = paymentService.generateReceipt(paymentId);
-        return ResponseEntity.ok(ApiResponse.success("Receipt generated successfully", receipt));
+    @GetMapping(value = "/receipt/{paymentId}", produces = MediaType.APPLICATION_PDF_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or @paymentSecurityService.isOwner(#paymentId)")
+    @Operation(summary = "Generate receipt", description = "PDF receipt of a successful payment; supports Range and conditional requests")
+    public void generateReceipt(@PathVariable Long paymentId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        fileSender.send(receiptService.getReceipt(paymentId), request, response);
     }
 }
@@ -0,0 +1,24 @@
+package com.gdsc.fee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Payments collected by a center with one payment method")
+public class CenterCollectionDto {
+
+    @Schema(description = "Payment method", example = "UPI")
+    private String paymentMethod;
+
+    @Schema(description = "Number of payments", example = "42")
+    private Long paymentCount;
+
+    @Schema(description = "Amount collected", example = "52000.00")
+    private BigDecimal amount;
+}
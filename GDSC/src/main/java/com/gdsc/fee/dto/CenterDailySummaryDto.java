@@ -0,0 +1,52 @@
+package com.gdsc.fee.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "Fee movements of a center on one day")
+public class CenterDailySummaryDto {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "Day", example = "2024-02-15")
+    private LocalDate date;
+
+    @Schema(description = "Dues carried in from before daily summaries were kept, on the day before they started", example = "0.00")
+    private BigDecimal opening;
+
+    @Schema(description = "Fees charged", example = "15000.00")
+    private BigDecimal charged;
+
+    @Schema(description = "Payments collected", example = "9000.00")
+    private BigDecimal collected;
+
+    @Schema(description = "Late fees accrued", example = "150.00")
+    private BigDecimal lateFees;
+
+    @Schema(description = "Net changes to charged amounts", example = "-500.00")
+    private BigDecimal adjustments;
+
+    @Schema(description = "Number of payments settled", example = "12")
+    private Long paymentCount;
+
+    @Schema(description = "Outstanding dues of the center at the end of the day", example = "120000.00")
+    private BigDecimal outstanding;
+
+    /** Constructor used by the repository projection queries. */
+    public CenterDailySummaryDto(LocalDate date, BigDecimal opening, BigDecimal charged, BigDecimal collected,
+                                 BigDecimal lateFees, BigDecimal adjustments, Long paymentCount) {
+        this.date = date;
+        this.opening = opening;
+        this.charged = charged;
+        this.collected = collected;
+        this.lateFees = lateFees;
+        this.adjustments = adjustments;
+        this.paymentCount = paymentCount;
+    }
+}
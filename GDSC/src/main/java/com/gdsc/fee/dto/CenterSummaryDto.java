@@ -0,0 +1,46 @@
+package com.gdsc.fee.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Schema(description = "Fee revenue and outstanding dues of a center over a date range")
+public class CenterSummaryDto {
+
+    @Schema(description = "Center ID", example = "1")
+    private Long centerId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "First day of the range", example = "2024-02-01")
+    private LocalDate from;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "Last day of the range", example = "2024-02-29")
+    private LocalDate to;
+
+    @Schema(description = "Fees charged in the range", example = "150000.00")
+    private BigDecimal charged;
+
+    @Schema(description = "Payments collected in the range, including paid amounts recorded when fees were created", example = "90000.00")
+    private BigDecimal collected;
+
+    @Schema(description = "Late fees accrued in the range", example = "1500.00")
+    private BigDecimal lateFees;
+
+    @Schema(description = "Net changes to charged amounts in the range", example = "-500.00")
+    private BigDecimal adjustments;
+
+    @Schema(description = "Number of payments settled in the range", example = "120")
+    private Long paymentCount;
+
+    @Schema(description = "Outstanding dues at the end of the range; empty for ranges ending before daily summaries were kept", example = "120000.00")
+    private BigDecimal outstanding;
+
+    @Schema(description = "Settled payments in the range by payment method")
+    private List<CenterCollectionDto> collectionsByMethod;
+}
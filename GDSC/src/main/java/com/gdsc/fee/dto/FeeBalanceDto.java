@@ -0,0 +1,42 @@
+package com.gdsc.fee.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Current balance of a fee")
+public class FeeBalanceDto {
+
+    @Schema(description = "Fee ID", example = "1")
+    private Long feeId;
+
+    @Schema(description = "Total amount", example = "5000.00")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Discount amount", example = "0.00")
+    private BigDecimal discount;
+
+    @Schema(description = "Late fee", example = "0.00")
+    private BigDecimal lateFee;
+
+    @Schema(description = "Paid amount", example = "1000.00")
+    private BigDecimal paidAmount;
+
+    @Schema(description = "Pending amount", example = "4000.00")
+    private BigDecimal pendingAmount;
+
+    @Schema(description = "Fee status", example = "PARTIAL")
+    private String status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "Time the balance last changed")
+    private LocalDateTime updatedAt;
+}
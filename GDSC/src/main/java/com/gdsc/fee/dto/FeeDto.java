@@ -5,11 +5,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
 @Schema(description = "Fee DTO")
 public class FeeDto {
     
@@ -49,6 +51,35 @@ public class FeeDto {
     @Schema(description = "Fee status", example = "PENDING")
     private String status;
     
+    @Schema(description = "Payment plan, sets the interval between installments", example = "MONTHLY")
+    private String paymentPlan;
+
+    @Positive(message = "Installments must be positive")
+    @Schema(description = "Number of installments", example = "3")
+    private Integer installments;
+
+    @Schema(description = "Installment currently due, advanced by the nightly accrual job", example = "1")
+    private Integer currentInstallment;
+
     @Schema(description = "Center ID", example = "1")
     private Long centerId;
-} 
+
+    /** Constructor used by the repository projection queries. */
+    public FeeDto(Long id, Long courseId, Long studentId, BigDecimal totalAmount, LocalDate dueDate,
+                  BigDecimal paidAmount, BigDecimal pendingAmount, BigDecimal lateFee, String status,
+                  String paymentPlan, Integer installments, Integer currentInstallment, Long centerId) {
+        this.id = id;
+        this.courseId = courseId;
+        this.studentId = studentId;
+        this.totalAmount = totalAmount;
+        this.dueDate = dueDate;
+        this.paidAmount = paidAmount;
+        this.pendingAmount = pendingAmount;
+        this.lateFee = lateFee;
+        this.status = status;
+        this.paymentPlan = paymentPlan;
+        this.installments = installments;
+        this.currentInstallment = currentInstallment;
+        this.centerId = centerId;
+    }
+}
@@ -0,0 +1,45 @@
+package com.gdsc.fee.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Fee ledger entry DTO")
+public class FeeLedgerEntryDto {
+
+    @Schema(description = "Entry ID")
+    private Long id;
+
+    @Schema(description = "Fee ID", example = "1")
+    private Long feeId;
+
+    @Schema(description = "Payment ID, for payment entries", example = "1")
+    private Long paymentId;
+
+    @Schema(description = "Entry type", example = "PAYMENT")
+    private String type;
+
+    @Schema(description = "Amount of the movement; negative adjustments reduce the fee", example = "1000.00")
+    private BigDecimal amount;
+
+    @Schema(description = "Paid amount after this entry", example = "1000.00")
+    private BigDecimal paidAfter;
+
+    @Schema(description = "Pending amount after this entry", example = "4000.00")
+    private BigDecimal pendingAfter;
+
+    @Schema(description = "Description", example = "Payment 1 (UPI)")
+    private String description;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "Time the entry was recorded")
+    private LocalDateTime createdAt;
+}
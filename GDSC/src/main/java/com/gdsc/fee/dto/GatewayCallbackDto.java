@@ -0,0 +1,27 @@
+package com.gdsc.fee.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Schema(description = "Charge outcome reported by the payment gateway")
+public class GatewayCallbackDto {
+
+    @NotBlank(message = "Gateway reference is required")
+    @Schema(description = "Reference the charge was submitted under", example = "PAY-1-3f9a2c7d")
+    private String gatewayReference;
+
+    @NotNull(message = "Outcome is required")
+    @Schema(description = "Whether the gateway approved the charge", example = "true")
+    private Boolean success;
+
+    @Schema(description = "Gateway message", example = "Approved")
+    private String response;
+
+    @Schema(description = "Fee withheld by the gateway", example = "20.00")
+    private BigDecimal gatewayFee;
+}
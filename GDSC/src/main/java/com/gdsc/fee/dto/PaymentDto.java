@@ -5,11 +5,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 @Schema(description = "Payment DTO")
 public class PaymentDto {
     
@@ -31,6 +33,9 @@ public class PaymentDto {
     
     @Schema(description = "Transaction ID", example = "TXN123456")
     private String transactionId;
+
+    @Schema(description = "Gateway reference", example = "GW-7f3a9c")
+    private String gatewayReference;
     
     @Schema(description = "Payment status", example = "SUCCESS")
     private String status;
@@ -41,7 +46,27 @@ public class PaymentDto {
     
     @Schema(description = "Payment notes")
     private String notes;
+
+    @Schema(description = "Receipt number, issued when the payment succeeds", example = "RCP-1-000042", accessMode = Schema.AccessMode.READ_ONLY)
+    private String receiptNumber;
     
     @Schema(description = "Center ID", example = "1")
     private Long centerId;
-} 
+
+    /** Constructor used by the repository projection queries. */
+    public PaymentDto(Long id, Long feeId, BigDecimal amount, String method, String transactionId,
+                      String gatewayReference, String status, LocalDateTime paymentDate, String notes,
+                      String receiptNumber, Long centerId) {
+        this.id = id;
+        this.feeId = feeId;
+        this.amount = amount;
+        this.method = method;
+        this.transactionId = transactionId;
+        this.gatewayReference = gatewayReference;
+        this.status = status;
+        this.paymentDate = paymentDate;
+        this.notes = notes;
+        this.receiptNumber = receiptNumber;
+        this.centerId = centerId;
+    }
+}
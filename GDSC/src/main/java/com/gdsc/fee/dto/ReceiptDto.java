@@ -0,0 +1,32 @@
+package com.gdsc.fee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Everything printed on a payment receipt, read in one query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceiptDto {
+
+    private Long paymentId;
+    private String receiptNumber;
+    private String status;
+    private BigDecimal amount;
+    private String method;
+    private String transactionId;
+    private String gatewayReference;
+    private LocalDateTime paymentDate;
+    private Long feeId;
+    private String studentName;
+    private String courseName;
+    private String centerName;
+    private BigDecimal paidAfter;
+    private BigDecimal pendingAfter;
+}
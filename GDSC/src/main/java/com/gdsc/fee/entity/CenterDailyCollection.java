@@ -0,0 +1,39 @@
+package com.gdsc.fee.entity;
+
+import com.gdsc.center.entity.Center;
+import com.gdsc.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Settled payments of one center on one day for one payment method.
+ */
+@Data
+@Entity
+@Table(name = "center_daily_collections",
+        uniqueConstraints = @UniqueConstraint(name = "uk_center_daily_collections_center_date_method",
+                columnNames = {"center_id", "collection_date", "payment_method"}))
+@EqualsAndHashCode(callSuper = true)
+public class CenterDailyCollection extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "center_id", nullable = false)
+    private Center center;
+
+    @Column(name = "collection_date", nullable = false)
+    private LocalDate collectionDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false)
+    private Payment.PaymentMethod paymentMethod;
+
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount = 0L;
+
+    @Column(name = "amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+}
@@ -0,0 +1,49 @@
+package com.gdsc.fee.entity;
+
+import com.gdsc.center.entity.Center;
+import com.gdsc.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Fee movements of one center on one day, maintained by {@link com.gdsc.fee.service.CenterSummaryService}
+ * in the same transaction as the ledger entries they summarise. The outstanding amount of a center
+ * at the end of a day is the running total of opening + charged + late fees + adjustments - collected.
+ */
+@Data
+@Entity
+@Table(name = "center_daily_summaries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_center_daily_summaries_center_date", columnNames = {"center_id", "summary_date"}))
+@EqualsAndHashCode(callSuper = true)
+public class CenterDailySummary extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "center_id", nullable = false)
+    private Center center;
+
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(name = "charged_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal chargedAmount = BigDecimal.ZERO;
+
+    @Column(name = "collected_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal collectedAmount = BigDecimal.ZERO;
+
+    @Column(name = "late_fee_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal lateFeeAmount = BigDecimal.ZERO;
+
+    @Column(name = "adjustment_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal adjustmentAmount = BigDecimal.ZERO;
+
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount = 0L;
+
+    // Dues of fees older than the summaries, carried in once on the day before aggregation started
+    @Column(name = "opening_amount", precision = 14, scale = 2)
+    private BigDecimal openingAmount;
+}
@@ -9,15 +9,18 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+// Only changed columns are written, so entity saves never overwrite amounts maintained by FeeLedgerService
 @Data
 @Entity
-@Table(name = "fees")
+@DynamicUpdate
+@Table(name = "fees", indexes = @Index(name = "idx_fees_status_due_date", columnList = "status, due_date"))
 @EqualsAndHashCode(callSuper = true)
 public class Fee extends BaseEntity {
 
@@ -46,7 +49,7 @@ public class Fee extends BaseEntity {
     @Column(name = "due_date", nullable = false)
     private LocalDate dueDate;
 
-    @Column(name = "paid_amount", precision = 10, scale = 0)
+    @Column(name = "paid_amount", precision = 10, scale = 2)
     private BigDecimal paidAmount = BigDecimal.ZERO;
 
     @Column(name = "pending_amount", precision = 10, scale = 2)
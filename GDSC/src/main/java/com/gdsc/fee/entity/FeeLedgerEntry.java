@@ -0,0 +1,51 @@
+package com.gdsc.fee.entity;
+
+import com.gdsc.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * One movement on a fee's balance. Entries are only ever appended; the running paid and pending
+ * amounts after the movement are stored with it so the history can be read without summing.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "fee_ledger_entries",
+        indexes = @Index(name = "idx_fee_ledger_fee", columnList = "fee_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_fee_ledger_payment_type", columnNames = {"payment_id", "entry_type"}))
+@EqualsAndHashCode(callSuper = true)
+public class FeeLedgerEntry extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "fee_id", nullable = false, updatable = false)
+    private Fee fee;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id", updatable = false)
+    private Payment payment;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false)
+    private EntryType entryType;
+
+    @Column(name = "amount", nullable = false, updatable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "paid_after", updatable = false, precision = 10, scale = 2)
+    private BigDecimal paidAfter;
+
+    @Column(name = "pending_after", updatable = false, precision = 10, scale = 2)
+    private BigDecimal pendingAfter;
+
+    @Column(name = "description", updatable = false)
+    private String description;
+
+    public enum EntryType {
+        CHARGE, PAYMENT, ADJUSTMENT, LATE_FEE
+    }
+}
@@ -13,7 +13,13 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "payments")
+@Table(name = "payments",
+        indexes = @Index(name = "idx_payments_status_next_retry", columnList = "status, next_retry_date"),
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_payments_transaction_id", columnNames = "transaction_id"),
+                @UniqueConstraint(name = "uk_payments_gateway_reference", columnNames = "gateway_reference"),
+                @UniqueConstraint(name = "uk_payments_receipt_number", columnNames = "receipt_number")
+        })
 @EqualsAndHashCode(callSuper = true)
 public class Payment extends BaseEntity {
 
@@ -61,6 +67,13 @@ public class Payment extends BaseEntity {
     @Column(name = "last_retry_date")
     private LocalDateTime lastRetryDate;
 
+    @Column(name = "next_retry_date")
+    private LocalDateTime nextRetryDate;
+
+    // Charged by the gateway but not applied to the fee; must be refunded, never charged again
+    @Column(name = "requires_refund")
+    private Boolean requiresRefund = false;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "center_id")
     private Center center;
@@ -70,7 +83,7 @@ public class Payment extends BaseEntity {
     }
 
     public enum PaymentStatus {
-        PENDING, SUCCESS, FAILED, CANCELLED, REFUNDED, PARTIALLY_REFUNDED
+        PENDING, PROCESSING, SUCCESS, FAILED, CANCELLED, REFUNDED, PARTIALLY_REFUNDED
     }
 
     public void markAsSuccessful(String transactionId, String gatewayReference) {
@@ -0,0 +1,25 @@
+package com.gdsc.fee.entity;
+
+import com.gdsc.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Last receipt number issued in a series, one series per center plus a global one for fees
+ * without a center. Numbers are taken by incrementing this row inside the transaction that
+ * settles the payment, so a rolled back settlement gives its number back and a series has no gaps.
+ */
+@Data
+@Entity
+@Table(name = "receipt_sequences",
+        uniqueConstraints = @UniqueConstraint(name = "uk_receipt_sequences_series", columnNames = "series"))
+@EqualsAndHashCode(callSuper = true)
+public class ReceiptSequence extends BaseEntity {
+
+    @Column(name = "series", nullable = false, length = 50)
+    private String series;
+
+    @Column(name = "last_number", nullable = false)
+    private Long lastNumber = 0L;
+}
@@ -0,0 +1,9 @@
+package com.gdsc.fee.gateway;
+
+import java.math.BigDecimal;
+
+/**
+ * @param gatewayReference reference the gateway reports the outcome under; unique per payment
+ */
+public record GatewayCharge(Long paymentId, String gatewayReference, BigDecimal amount, String method) {
+}
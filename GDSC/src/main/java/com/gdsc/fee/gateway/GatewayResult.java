@@ -0,0 +1,12 @@
+package com.gdsc.fee.gateway;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of a charge as reported by the gateway.
+ *
+ * @param response   gateway message stored on the payment
+ * @param gatewayFee fee withheld by the gateway, or null when not reported
+ */
+public record GatewayResult(String gatewayReference, boolean success, String response, BigDecimal gatewayFee) {
+}
@@ -0,0 +1,15 @@
+package com.gdsc.fee.gateway;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Payment provider the fee module charges through. Implementations must not block the caller:
+ * the returned future completes when the provider has decided, possibly much later. Providers
+ * that report by webhook instead complete through {@code POST /fees/payments/callback}.
+ */
+public interface PaymentGateway {
+
+    String name();
+
+    CompletableFuture<GatewayResult> charge(GatewayCharge charge);
+}
@@ -0,0 +1,74 @@
+package com.gdsc.fee.gateway;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process gateway for development and load tests. Each charge completes on a timer after a
+ * latency drawn from the configured range and fails with the configured probability, so no
+ * thread is held while the "gateway" thinks.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway.provider", havingValue = "stub", matchIfMissing = true)
+public class StubPaymentGateway implements PaymentGateway {
+
+    @Value("${payment.gateway.stub.min-latency-ms:200}")
+    private long minLatencyMs;
+
+    @Value("${payment.gateway.stub.max-latency-ms:1500}")
+    private long maxLatencyMs;
+
+    @Value("${payment.gateway.stub.failure-rate:0.05}")
+    private double failureRate;
+
+    @Value("${payment.gateway.stub.fee-percent:2.0}")
+    private BigDecimal feePercent;
+
+    private ScheduledThreadPoolExecutor timer;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "stub-gateway-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public CompletableFuture<GatewayResult> charge(GatewayCharge charge) {
+        CompletableFuture<GatewayResult> result = new CompletableFuture<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = maxLatencyMs > minLatencyMs ? random.nextLong(minLatencyMs, maxLatencyMs + 1) : minLatencyMs;
+        boolean declined = random.nextDouble() < failureRate;
+        timer.schedule(() -> result.complete(declined
+                ? new GatewayResult(charge.gatewayReference(), false, "Declined by stub gateway", null)
+                : new GatewayResult(charge.gatewayReference(), true, "Approved by stub gateway",
+                        charge.amount().multiply(feePercent).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP))),
+                latency, TimeUnit.MILLISECONDS);
+        return result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.gdsc.fee.repository;
+
+import com.gdsc.fee.dto.CenterCollectionDto;
+import com.gdsc.fee.entity.CenterDailyCollection;
+import com.gdsc.fee.entity.Payment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CenterDailyCollectionRepository extends JpaRepository<CenterDailyCollection, Long> {
+
+    @Modifying
+    @Query("UPDATE CenterDailyCollection c SET c.amount = c.amount + :amount, c.paymentCount = c.paymentCount + 1, " +
+           "c.updatedAt = :now WHERE c.center.id = :centerId AND c.collectionDate = :date AND c.paymentMethod = :method")
+    int add(@Param("centerId") Long centerId, @Param("date") LocalDate date, @Param("method") Payment.PaymentMethod method,
+            @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.gdsc.fee.dto.CenterCollectionDto(cast(c.paymentMethod as String), SUM(c.paymentCount), SUM(c.amount)) " +
+           "FROM CenterDailyCollection c WHERE c.center.id = :centerId AND c.collectionDate BETWEEN :from AND :to " +
+           "GROUP BY c.paymentMethod ORDER BY SUM(c.amount) DESC")
+    List<CenterCollectionDto> findTotalsByCenterIdAndDateRange(@Param("centerId") Long centerId,
+                                                               @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,54 @@
+package com.gdsc.fee.repository;
+
+import com.gdsc.fee.dto.CenterDailySummaryDto;
+import com.gdsc.fee.entity.CenterDailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CenterDailySummaryRepository extends JpaRepository<CenterDailySummary, Long> {
+
+    @Modifying
+    @Query("UPDATE CenterDailySummary s SET s.chargedAmount = s.chargedAmount + :charged, " +
+           "s.collectedAmount = s.collectedAmount + :collected, s.lateFeeAmount = s.lateFeeAmount + :lateFees, " +
+           "s.adjustmentAmount = s.adjustmentAmount + :adjustments, s.paymentCount = s.paymentCount + :payments, " +
+           "s.updatedAt = :now WHERE s.center.id = :centerId AND s.summaryDate = :date")
+    int add(@Param("centerId") Long centerId, @Param("date") LocalDate date, @Param("charged") BigDecimal charged,
+            @Param("collected") BigDecimal collected, @Param("lateFees") BigDecimal lateFees,
+            @Param("adjustments") BigDecimal adjustments, @Param("payments") long payments,
+            @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.gdsc.fee.dto.CenterDailySummaryDto(s.summaryDate, COALESCE(s.openingAmount, 0), " +
+           "s.chargedAmount, s.collectedAmount, s.lateFeeAmount, s.adjustmentAmount, s.paymentCount) FROM CenterDailySummary s " +
+           "WHERE s.center.id = :centerId AND s.summaryDate BETWEEN :from AND :to ORDER BY s.summaryDate")
+    List<CenterDailySummaryDto> findDtosByCenterIdAndDateRange(@Param("centerId") Long centerId,
+                                                               @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(COALESCE(s.openingAmount, 0) + s.chargedAmount + s.lateFeeAmount " +
+           "+ s.adjustmentAmount - s.collectedAmount), 0) " +
+           "FROM CenterDailySummary s WHERE s.center.id = :centerId AND s.summaryDate < :date")
+    BigDecimal sumOutstandingBefore(@Param("centerId") Long centerId, @Param("date") LocalDate date);
+
+    @Query("SELECT MIN(s.summaryDate) FROM CenterDailySummary s WHERE s.center.id = :centerId AND s.openingAmount IS NOT NULL")
+    LocalDate findOpeningDate(@Param("centerId") Long centerId);
+
+    /**
+     * Per center: id, pending dues of its fees, outstanding recorded in summaries so far and the
+     * first summary day. One statement, so fee rows and summary rows are read as of the same moment.
+     */
+    @Query("SELECT c.id, " +
+           "(SELECT COALESCE(SUM(f.pendingAmount), 0) FROM Fee f WHERE f.center = c), " +
+           "(SELECT COALESCE(SUM(s.chargedAmount + s.lateFeeAmount + s.adjustmentAmount - s.collectedAmount), 0) " +
+           "FROM CenterDailySummary s WHERE s.center = c), " +
+           "(SELECT MIN(s.summaryDate) FROM CenterDailySummary s WHERE s.center = c) " +
+           "FROM Center c ORDER BY c.id")
+    List<Object[]> findOpeningBalanceRows();
+}
@@ -0,0 +1,29 @@
+package com.gdsc.fee.repository;
+
+import com.gdsc.fee.dto.FeeLedgerEntryDto;
+import com.gdsc.fee.entity.FeeLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface FeeLedgerEntryRepository extends JpaRepository<FeeLedgerEntry, Long> {
+
+    @Query("SELECT new com.gdsc.fee.dto.FeeLedgerEntryDto(e.id, e.fee.id, e.payment.id, cast(e.entryType as String), " +
+           "e.amount, e.paidAfter, e.pendingAfter, e.description, e.createdAt) " +
+           "FROM FeeLedgerEntry e WHERE e.fee.id = :feeId ORDER BY e.id")
+    List<FeeLedgerEntryDto> findDtosByFeeId(@Param("feeId") Long feeId);
+
+    boolean existsByPaymentId(Long paymentId);
+
+    // Only used when the fee itself is deleted
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FeeLedgerEntry e WHERE e.fee.id = :feeId")
+    int deleteByFeeId(@Param("feeId") Long feeId);
+}
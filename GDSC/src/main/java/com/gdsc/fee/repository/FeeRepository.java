@@ -1,14 +1,32 @@
 package com.gdsc.fee.repository;
 
+import com.gdsc.fee.dto.FeeBalanceDto;
+import com.gdsc.fee.dto.FeeDto;
 import com.gdsc.fee.entity.Fee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FeeRepository extends JpaRepository<Fee, Long> {
-    
+
+    String DTO_SELECT = "SELECT new com.gdsc.fee.dto.FeeDto(f.id, f.course.id, f.student.id, f.totalAmount, f.dueDate, "
+            + "f.paidAmount, f.pendingAmount, f.lateFee, cast(f.status as String), f.paymentPlan, f.installments, "
+            + "f.currentInstallment, f.center.id) FROM Fee f";
+
     List<Fee> findByStudent_Id(Long studentId);
     
     List<Fee> findByCourseId(Long courseId);
@@ -16,4 +34,77 @@ public interface FeeRepository extends JpaRepository<Fee, Long> {
     List<Fee> findByStatus(String status);
     
     List<Fee> findByCenterId(Long centerId);
-} 
+
+    @Query(DTO_SELECT + " ORDER BY f.id")
+    List<FeeDto> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE f.id = :id")
+    Optional<FeeDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + " WHERE f.student.id = :studentId ORDER BY f.id")
+    List<FeeDto> findDtosByStudentId(@Param("studentId") Long studentId);
+
+    @Query(DTO_SELECT + " WHERE f.course.id = :courseId ORDER BY f.id")
+    List<FeeDto> findDtosByCourseId(@Param("courseId") Long courseId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + " ORDER BY f.id")
+    Stream<FeeDto> streamAllDtos();
+
+    @Query("SELECT f.center.id FROM Fee f WHERE f.id = :id")
+    Optional<Long> findCenterIdById(@Param("id") Long id);
+
+    @Query("SELECT new com.gdsc.fee.dto.FeeBalanceDto(f.id, f.totalAmount, f.discountAmount, f.lateFee, f.paidAmount, " +
+           "f.pendingAmount, cast(f.status as String), f.updatedAt) FROM Fee f WHERE f.id = :id")
+    Optional<FeeBalanceDto> findBalanceById(@Param("id") Long id);
+
+    // Applies only while the payment fits in what is still owed; the row lock serialises concurrent payments
+    @Modifying
+    @Query("UPDATE Fee f SET f.paidAmount = COALESCE(f.paidAmount, 0) + :amount, f.updatedAt = :now " +
+           "WHERE f.id = :id AND f.status <> com.gdsc.fee.entity.Fee$FeeStatus.CANCELLED " +
+           "AND COALESCE(f.paidAmount, 0) + :amount <= f.totalAmount - COALESCE(f.discountAmount, 0) + COALESCE(f.lateFee, 0)")
+    int addPayment(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    // Derives pending amount and status from the stored amounts in the same statement
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Fee f SET f.pendingAmount = f.totalAmount - COALESCE(f.discountAmount, 0) + COALESCE(f.lateFee, 0) " +
+           "- COALESCE(f.paidAmount, 0), " +
+           "f.status = CASE WHEN f.status = com.gdsc.fee.entity.Fee$FeeStatus.CANCELLED THEN f.status " +
+           "WHEN COALESCE(f.paidAmount, 0) >= f.totalAmount - COALESCE(f.discountAmount, 0) + COALESCE(f.lateFee, 0) " +
+           "THEN com.gdsc.fee.entity.Fee$FeeStatus.PAID " +
+           "WHEN f.status = com.gdsc.fee.entity.Fee$FeeStatus.OVERDUE THEN f.status " +
+           "WHEN COALESCE(f.paidAmount, 0) > 0 THEN com.gdsc.fee.entity.Fee$FeeStatus.PARTIAL " +
+           "ELSE com.gdsc.fee.entity.Fee$FeeStatus.PENDING END " +
+           "WHERE f.id = :id")
+    int refreshBalance(@Param("id") Long id);
+
+    // Keyset chunk of open fees due on a date, served by idx_fees_status_due_date
+    @Query("SELECT f.id, f.paymentPlan, f.installments, f.currentInstallment, f.totalAmount, f.discountAmount, " +
+           "f.lateFee, f.paidAmount, f.center.id FROM Fee f " +
+           "WHERE f.status IN (com.gdsc.fee.entity.Fee$FeeStatus.PENDING, com.gdsc.fee.entity.Fee$FeeStatus.PARTIAL, " +
+           "com.gdsc.fee.entity.Fee$FeeStatus.OVERDUE) AND f.dueDate = :dueDate AND f.id > :afterId ORDER BY f.id")
+    List<Object[]> findDueRows(@Param("dueDate") LocalDate dueDate, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Charges only a fee still due on that date and still short of what was due, both checked under the
+    // row lock so a payment settled since the fee was read is honoured; pending amount is re-derived too
+    @Modifying
+    @Query("UPDATE Fee f SET f.lateFee = COALESCE(f.lateFee, 0) + :amount, " +
+           "f.pendingAmount = f.totalAmount - COALESCE(f.discountAmount, 0) + COALESCE(f.lateFee, 0) + :amount " +
+           "- COALESCE(f.paidAmount, 0), " +
+           "f.status = com.gdsc.fee.entity.Fee$FeeStatus.OVERDUE, f.updatedAt = :now " +
+           "WHERE f.id = :id AND f.dueDate = :dueDate AND COALESCE(f.paidAmount, 0) < :dueSoFar " +
+           "AND f.status <> com.gdsc.fee.entity.Fee$FeeStatus.CANCELLED")
+    int accrueLateFee(@Param("id") Long id, @Param("dueDate") LocalDate dueDate, @Param("dueSoFar") BigDecimal dueSoFar,
+                      @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Fee f SET f.status = com.gdsc.fee.entity.Fee$FeeStatus.PARTIAL, f.updatedAt = :now " +
+           "WHERE f.id IN :ids AND f.status = com.gdsc.fee.entity.Fee$FeeStatus.OVERDUE")
+    int clearOverdue(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Fee f SET f.currentInstallment = f.currentInstallment + 1, f.dueDate = :nextDueDate, f.updatedAt = :now " +
+           "WHERE f.id IN :ids AND f.dueDate = :dueDate AND f.currentInstallment < f.installments")
+    int advanceInstallment(@Param("ids") List<Long> ids, @Param("dueDate") LocalDate dueDate,
+                           @Param("nextDueDate") LocalDate nextDueDate, @Param("now") LocalDateTime now);
+}
@@ -1,14 +1,31 @@
 package com.gdsc.fee.repository;
 
+import com.gdsc.fee.dto.PaymentDto;
+import com.gdsc.fee.dto.ReceiptDto;
 import com.gdsc.fee.entity.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
-    
+
+    String DTO_SELECT = "SELECT new com.gdsc.fee.dto.PaymentDto(p.id, p.fee.id, p.amount, cast(p.paymentMethod as String), "
+            + "p.transactionId, p.gatewayReference, cast(p.status as String), p.paymentDate, p.notes, p.receiptNumber, "
+            + "p.center.id) FROM Payment p";
+
     List<Payment> findByFee_Student_Id(Long studentId);
 //
 //    List<Payment> findByFeeId(Long feeId);
@@ -16,4 +33,115 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 //    List<Payment> findByStatus(String status);
     
     List<Payment> findByCenterId(Long centerId);
-} 
+
+    @Query(DTO_SELECT + " ORDER BY p.id")
+    List<PaymentDto> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE p.id = :id")
+    Optional<PaymentDto> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + " WHERE p.fee.student.id = :studentId ORDER BY p.id")
+    List<PaymentDto> findDtosByStudentId(@Param("studentId") Long studentId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + " ORDER BY p.id")
+    Stream<PaymentDto> streamAllDtos();
+
+    @Query("SELECT f.id, p.amount, p.status, p.paymentMethod, c.id FROM Payment p JOIN p.fee f LEFT JOIN f.center c " +
+           "WHERE p.id = :id")
+    List<Object[]> findSettlementRowById(@Param("id") Long id);
+
+    @Query("SELECT new com.gdsc.fee.dto.ReceiptDto(p.id, p.receiptNumber, cast(p.status as String), p.amount, " +
+           "cast(p.paymentMethod as String), p.transactionId, p.gatewayReference, p.paymentDate, f.id, " +
+           "concat(s.firstName, ' ', COALESCE(s.lastName, '')), c.name, ce.name, l.paidAfter, l.pendingAfter) " +
+           "FROM Payment p JOIN p.fee f JOIN f.student s JOIN f.course c LEFT JOIN f.center ce " +
+           "LEFT JOIN FeeLedgerEntry l ON l.payment = p AND l.entryType = com.gdsc.fee.entity.FeeLedgerEntry$EntryType.PAYMENT " +
+           "WHERE p.id = :id")
+    Optional<ReceiptDto> findReceiptById(@Param("id") Long id);
+
+    @Query("SELECT c.id FROM Payment p JOIN p.fee f JOIN f.center c WHERE p.id = :id")
+    Optional<Long> findFeeCenterIdById(@Param("id") Long id);
+
+    // Locks a successful payment still without a receipt number; 0 when it has one or is not SUCCESS
+    @Modifying
+    @Query("UPDATE Payment p SET p.updatedAt = :now WHERE p.id = :id AND p.receiptNumber IS NULL " +
+           "AND p.status = com.gdsc.fee.entity.Payment$PaymentStatus.SUCCESS")
+    int lockForReceipt(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.receiptNumber = :receiptNumber WHERE p.id = :id AND p.receiptNumber IS NULL")
+    int assignReceiptNumber(@Param("id") Long id, @Param("receiptNumber") String receiptNumber);
+
+    // Claims a payment for settlement; only one caller can move it to SUCCESS
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.gdsc.fee.entity.Payment$PaymentStatus.SUCCESS, " +
+           "p.paymentDate = :now, p.updatedAt = :now WHERE p.id = :id " +
+           "AND p.status IN (com.gdsc.fee.entity.Payment$PaymentStatus.PENDING, com.gdsc.fee.entity.Payment$PaymentStatus.PROCESSING, " +
+           "com.gdsc.fee.entity.Payment$PaymentStatus.FAILED)")
+    int claimForSettlement(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.id FROM Payment p WHERE p.transactionId = :transactionId")
+    Optional<Long> findIdByTransactionId(@Param("transactionId") String transactionId);
+
+    @Query("SELECT p.id FROM Payment p WHERE p.gatewayReference = :gatewayReference")
+    Optional<Long> findIdByGatewayReference(@Param("gatewayReference") String gatewayReference);
+
+    @Query("SELECT p.id FROM Payment p WHERE p.status = com.gdsc.fee.entity.Payment$PaymentStatus.FAILED " +
+           "AND COALESCE(p.retryCount, 0) < :maxAttempts AND p.nextRetryDate <= :now " +
+           "ORDER BY p.nextRetryDate, p.id")
+    List<Long> findIdsDueForRetry(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts, Pageable pageable);
+
+    @Query("SELECT COALESCE(p.retryCount, 0) FROM Payment p WHERE p.id = :id")
+    int findRetryCountById(@Param("id") Long id);
+
+    // Moves a due FAILED payment back to PENDING and counts the attempt; only one caller wins
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.gdsc.fee.entity.Payment$PaymentStatus.PENDING, " +
+           "p.retryCount = COALESCE(p.retryCount, 0) + 1, p.lastRetryDate = :now, p.nextRetryDate = NULL, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.status = com.gdsc.fee.entity.Payment$PaymentStatus.FAILED " +
+           "AND COALESCE(p.retryCount, 0) < :maxAttempts AND COALESCE(p.requiresRefund, false) = false")
+    int claimForRetry(@Param("id") Long id, @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.gdsc.fee.entity.Payment$PaymentStatus.FAILED, " +
+           "p.gatewayResponse = :response, p.nextRetryDate = :nextRetryDate, p.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE p.id = :id AND p.status IN (com.gdsc.fee.entity.Payment$PaymentStatus.PENDING, " +
+           "com.gdsc.fee.entity.Payment$PaymentStatus.PROCESSING)")
+    int markFailed(@Param("id") Long id, @Param("response") String response, @Param("nextRetryDate") LocalDateTime nextRetryDate);
+
+    @Query("SELECT p.id FROM Payment p WHERE p.status = com.gdsc.fee.entity.Payment$PaymentStatus.PROCESSING " +
+           "AND p.updatedAt < :cutoff ORDER BY p.updatedAt, p.id")
+    List<Long> findIdsStalledInProcessing(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Fails a charge nobody has heard back on since the cutoff; a newer claim of the payment is left alone
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.gdsc.fee.entity.Payment$PaymentStatus.FAILED, " +
+           "p.gatewayResponse = :response, p.nextRetryDate = :nextRetryDate, p.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE p.id = :id AND p.status = com.gdsc.fee.entity.Payment$PaymentStatus.PROCESSING AND p.updatedAt < :cutoff")
+    int markStalledFailed(@Param("id") Long id, @Param("response") String response,
+                          @Param("nextRetryDate") LocalDateTime nextRetryDate, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.gdsc.fee.entity.Payment$PaymentStatus.FAILED, p.requiresRefund = true, " +
+           "p.gatewayResponse = :response, p.nextRetryDate = NULL, p.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE p.id = :id AND p.status <> com.gdsc.fee.entity.Payment$PaymentStatus.SUCCESS")
+    int markRequiresRefund(@Param("id") Long id, @Param("response") String response);
+
+    @Query("SELECT p.amount, p.paymentMethod, p.gatewayReference, p.status, COALESCE(p.retryCount, 0), " +
+           "COALESCE(p.requiresRefund, false) FROM Payment p WHERE p.id = :id")
+    List<Object[]> findGatewayRowById(@Param("id") Long id);
+
+    // Hands a payment to the gateway; only one caller can move it out of PENDING or FAILED, and
+    // never one the gateway already charged without the charge reaching the fee
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = com.gdsc.fee.entity.Payment$PaymentStatus.PROCESSING, " +
+           "p.gatewayReference = :gatewayReference, p.nextRetryDate = NULL, p.updatedAt = :now WHERE p.id = :id " +
+           "AND p.status IN (com.gdsc.fee.entity.Payment$PaymentStatus.PENDING, com.gdsc.fee.entity.Payment$PaymentStatus.FAILED) " +
+           "AND COALESCE(p.requiresRefund, false) = false")
+    int claimForGateway(@Param("id") Long id, @Param("gatewayReference") String gatewayReference, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Payment p SET p.gatewayResponse = :response, p.gatewayFee = :gatewayFee, p.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE p.id = :id AND p.status <> com.gdsc.fee.entity.Payment$PaymentStatus.SUCCESS")
+    int recordGatewayOutcome(@Param("id") Long id, @Param("response") String response, @Param("gatewayFee") BigDecimal gatewayFee);
+}
@@ -0,0 +1,24 @@
+package com.gdsc.fee.repository;
+
+import com.gdsc.fee.entity.ReceiptSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReceiptSequenceRepository extends JpaRepository<ReceiptSequence, Long> {
+
+    boolean existsBySeries(String series);
+
+    // Locks the series row until the settling transaction ends, which is what keeps the numbers gap-free
+    @Modifying
+    @Query("UPDATE ReceiptSequence s SET s.lastNumber = s.lastNumber + 1, s.updatedAt = :now WHERE s.series = :series")
+    int increment(@Param("series") String series, @Param("now") LocalDateTime now);
+
+    @Query("SELECT s.lastNumber FROM ReceiptSequence s WHERE s.series = :series")
+    Long findLastNumber(@Param("series") String series);
+}
@@ -0,0 +1,214 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.center.entity.Center;
+import com.gdsc.center.repository.CenterRepository;
+import com.gdsc.common.entity.JobCheckpoint;
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.repository.JobCheckpointRepository;
+import com.gdsc.fee.dto.CenterDailySummaryDto;
+import com.gdsc.fee.dto.CenterSummaryDto;
+import com.gdsc.fee.entity.CenterDailyCollection;
+import com.gdsc.fee.entity.CenterDailySummary;
+import com.gdsc.fee.entity.Payment;
+import com.gdsc.fee.repository.CenterDailyCollectionRepository;
+import com.gdsc.fee.repository.CenterDailySummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-center, per-day fee aggregates. {@link FeeLedgerService} adds every balance movement to the
+ * day's row in the same transaction as the ledger entry, and {@link FeeAccrualJob} adds the late
+ * fees of a chunk per center, so dashboards read one row per day instead of every fee and payment
+ * of the center.
+ * <p>
+ * Movements are increments on the day's row, which stay correct under concurrent payments. The
+ * first movement of a day finds no row and creates it under a lock on the center row, so two
+ * transactions never race to insert it; later movements never touch the center row.
+ * <p>
+ * Fees that existed before the summaries were introduced are carried in once, at startup, as an
+ * opening row per center on the day before its first summary day, so outstanding dues start from
+ * what the fee rows owe rather than from zero. Outstanding dues before that day are not reported.
+ */
+@Slf4j
+@Service
+public class CenterSummaryService {
+
+    static final String OPENING_JOB_NAME = "center-summary-opening";
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    @Autowired
+    private CenterDailySummaryRepository summaryRepository;
+
+    @Autowired
+    private CenterDailyCollectionRepository collectionRepository;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CenterSummaryDto getSummary(Long centerId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        List<CenterDailySummaryDto> days = getDailySummaries(centerId, start, end);
+        CenterSummaryDto summary = new CenterSummaryDto();
+        summary.setCenterId(centerId);
+        summary.setFrom(start);
+        summary.setTo(end);
+        summary.setCharged(days.stream().map(CenterDailySummaryDto::getCharged).reduce(BigDecimal.ZERO, BigDecimal::add));
+        summary.setCollected(days.stream().map(CenterDailySummaryDto::getCollected).reduce(BigDecimal.ZERO, BigDecimal::add));
+        summary.setLateFees(days.stream().map(CenterDailySummaryDto::getLateFees).reduce(BigDecimal.ZERO, BigDecimal::add));
+        summary.setAdjustments(days.stream().map(CenterDailySummaryDto::getAdjustments).reduce(BigDecimal.ZERO, BigDecimal::add));
+        summary.setPaymentCount(days.stream().mapToLong(CenterDailySummaryDto::getPaymentCount).sum());
+        if (!days.isEmpty()) {
+            summary.setOutstanding(days.get(days.size() - 1).getOutstanding());
+        } else {
+            LocalDate openingDate = summaryRepository.findOpeningDate(centerId);
+            summary.setOutstanding(openingDate != null && end.isBefore(openingDate)
+                    ? null
+                    : summaryRepository.sumOutstandingBefore(centerId, end.plusDays(1)));
+        }
+        summary.setCollectionsByMethod(collectionRepository.findTotalsByCenterIdAndDateRange(centerId, start, end));
+        return summary;
+    }
+
+    /**
+     * Days of the range with any movement, each with the center's outstanding dues at its end.
+     */
+    public List<CenterDailySummaryDto> getDailySummaries(Long centerId, LocalDate from, LocalDate to) {
+        if (!centerRepository.existsById(centerId)) {
+            throw new ResourceNotFoundException("Center", "id", centerId);
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        List<CenterDailySummaryDto> days = summaryRepository.findDtosByCenterIdAndDateRange(centerId, start, end);
+        BigDecimal outstanding = summaryRepository.sumOutstandingBefore(centerId, start);
+        for (CenterDailySummaryDto day : days) {
+            outstanding = outstanding.add(day.getOpening()).add(day.getCharged()).add(day.getLateFees())
+                    .add(day.getAdjustments()).subtract(day.getCollected());
+            day.setOutstanding(outstanding);
+        }
+        return days;
+    }
+
+    /**
+     * Carries the dues of fees older than the summaries into one opening row per center. Runs once:
+     * the checkpoint is written in the same transaction, and a node racing to write it rolls back.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void backfillOpeningBalances() {
+        if (jobCheckpointRepository.findByJobName(OPENING_JOB_NAME).isPresent()) {
+            return;
+        }
+        try {
+            int centers = transactionTemplate.execute(status -> {
+                LocalDate yesterday = LocalDate.now().minusDays(1);
+                int opened = 0;
+                for (Object[] row : summaryRepository.findOpeningBalanceRows()) {
+                    BigDecimal pending = (BigDecimal) row[1];
+                    LocalDate firstDay = (LocalDate) row[3];
+                    if (pending.signum() == 0 && firstDay == null) {
+                        continue;
+                    }
+                    CenterDailySummary opening = new CenterDailySummary();
+                    opening.setCenter(entityManager.getReference(Center.class, (Long) row[0]));
+                    // Movements recorded so far are already part of the fee rows' pending amounts
+                    opening.setOpeningAmount(pending.subtract((BigDecimal) row[2]));
+                    opening.setSummaryDate(firstDay != null && !firstDay.isAfter(yesterday) ? firstDay.minusDays(1) : yesterday);
+                    entityManager.persist(opening);
+                    opened++;
+                }
+                JobCheckpoint checkpoint = new JobCheckpoint();
+                checkpoint.setJobName(OPENING_JOB_NAME);
+                checkpoint.setRunDate(LocalDate.now());
+                checkpoint.setProcessedCount((long) opened);
+                checkpoint.setCompleted(true);
+                jobCheckpointRepository.saveAndFlush(checkpoint);
+                return opened;
+            });
+            log.info("Carried the outstanding dues of {} center(s) into their daily summaries", centers);
+        } catch (DataIntegrityViolationException e) {
+            // Carried in by another node
+        }
+    }
+
+    /**
+     * Adds a settled payment to today's totals of the center. Joins the caller's transaction.
+     */
+    public void recordCollection(Long centerId, Payment.PaymentMethod method, BigDecimal amount) {
+        if (centerId == null) {
+            return;
+        }
+        record(centerId, BigDecimal.ZERO, amount, BigDecimal.ZERO, BigDecimal.ZERO, 1);
+        LocalDate today = LocalDate.now();
+        if (collectionRepository.add(centerId, today, method, amount, LocalDateTime.now()) == 0) {
+            lockCenter(centerId);
+            if (collectionRepository.add(centerId, today, method, amount, LocalDateTime.now()) == 0) {
+                CenterDailyCollection row = new CenterDailyCollection();
+                row.setCenter(entityManager.getReference(Center.class, centerId));
+                row.setCollectionDate(today);
+                row.setPaymentMethod(method);
+                row.setPaymentCount(1L);
+                row.setAmount(amount);
+                collectionRepository.saveAndFlush(row);
+            }
+        }
+    }
+
+    /**
+     * Adds fee movements to today's totals of the center. Joins the caller's transaction.
+     */
+    public void record(Long centerId, BigDecimal charged, BigDecimal collected, BigDecimal lateFees,
+                       BigDecimal adjustments, long payments) {
+        if (centerId == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        if (summaryRepository.add(centerId, today, charged, collected, lateFees, adjustments, payments, LocalDateTime.now()) == 0) {
+            lockCenter(centerId);
+            if (summaryRepository.add(centerId, today, charged, collected, lateFees, adjustments, payments, LocalDateTime.now()) == 0) {
+                CenterDailySummary row = new CenterDailySummary();
+                row.setCenter(entityManager.getReference(Center.class, centerId));
+                row.setSummaryDate(today);
+                row.setChargedAmount(charged);
+                row.setCollectedAmount(collected);
+                row.setLateFeeAmount(lateFees);
+                row.setAdjustmentAmount(adjustments);
+                row.setPaymentCount(payments);
+                summaryRepository.saveAndFlush(row);
+            }
+        }
+    }
+
+    // Serialises creation of the day's rows of a center; whoever held the lock has committed its row
+    private void lockCenter(Long centerId) {
+        if (entityManager.find(Center.class, centerId, LockModeType.PESSIMISTIC_WRITE) == null) {
+            throw new ResourceNotFoundException("Center", "id", centerId);
+        }
+    }
+}
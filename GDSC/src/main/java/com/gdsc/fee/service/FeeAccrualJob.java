@@ -0,0 +1,267 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.common.entity.JobCheckpoint;
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.common.repository.JobCheckpointRepository;
+import com.gdsc.common.service.JobLeaseService;
+import com.gdsc.fee.repository.FeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Nightly pass over the fees falling due on each day. A fee whose paid amount is short of the
+ * installments due so far is charged a late fee and marked OVERDUE, and a fee with installments
+ * left moves on to the next due date of its payment plan. Fees are read in keyset chunks through
+ * {@code idx_fees_status_due_date} and changed with bulk updates, so a night costs in proportion to
+ * the fees due that day rather than to all fees. Late fees are charged fee by fee with the shortfall
+ * checked again in the UPDATE, since a payment may settle between the read and the charge.
+ * <p>
+ * Each chunk commits together with the job checkpoint and a renewal of the job lease: an
+ * interrupted run resumes after the last committed fee, and only the node holding the lease can
+ * commit a chunk.
+ */
+@Slf4j
+@Service
+public class FeeAccrualJob {
+
+    static final String JOB_NAME = "fee-accrual";
+
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
+    @Autowired
+    private CenterSummaryService centerSummaryService;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${fee.accrual.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${fee.accrual.late-fee:50.00}")
+    private BigDecimal lateFee;
+
+    @Value("${fee.accrual.lease-seconds:600}")
+    private long leaseSeconds;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong lateFeesCharged = new AtomicLong();
+    private final AtomicLong installmentsAdvanced = new AtomicLong();
+
+    @Scheduled(cron = "${fee.accrual.cron:0 30 0 * * *}")
+    public void runNightly() {
+        run(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * Processes every due date from where the checkpoint left off up to and including {@code upTo},
+     * which must be in the past: a fee is only late once its due day has ended. The first run ever
+     * starts at {@code upTo}; completed dates are never processed again.
+     *
+     * @return false when a run is already in progress on this node or another node holds the lease
+     */
+    public boolean run(LocalDate upTo) {
+        if (!upTo.isBefore(LocalDate.now())) {
+            throw new BadRequestException("Fees can only be accrued for due dates before today");
+        }
+        // The lease is held per node, so it does not keep two runs on this node apart
+        if (!running.compareAndSet(false, true)) {
+            skipped.incrementAndGet();
+            log.info("Fee accrual skipped, a run is already in progress");
+            return false;
+        }
+        Duration lease = Duration.ofSeconds(leaseSeconds);
+        try {
+            if (!jobLeaseService.tryAcquire(JOB_NAME, lease)) {
+                skipped.incrementAndGet();
+                log.info("Fee accrual skipped, the lease is held by another node");
+                return false;
+            }
+            runs.incrementAndGet();
+            return runLeased(upTo, lease);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean runLeased(LocalDate upTo, Duration lease) {
+        try {
+            JobCheckpoint checkpoint = jobCheckpointRepository.findByJobName(JOB_NAME)
+                    .orElseGet(() -> newCheckpoint(upTo));
+            boolean completed = checkpoint.getCompleted();
+            LocalDate date = completed ? checkpoint.getRunDate().plusDays(1) : checkpoint.getRunDate();
+            long afterId = completed ? 0L : checkpoint.getLastId();
+            for (; !date.isAfter(upTo); date = date.plusDays(1), afterId = 0L) {
+                processDate(date, afterId, lease);
+            }
+            return true;
+        } catch (IllegalStateException e) {
+            log.warn("Fee accrual stopped: {}", e.getMessage());
+            return true;
+        } finally {
+            jobLeaseService.release(JOB_NAME);
+        }
+    }
+
+    private void processDate(LocalDate date, long resumeAfterId, Duration lease) {
+        if (resumeAfterId == 0L) {
+            inLease(lease, () -> jobCheckpointRepository.start(JOB_NAME, date, LocalDateTime.now()));
+        } else {
+            log.info("Resuming fee accrual for {} after fee {}", date, resumeAfterId);
+        }
+        Long afterId = resumeAfterId;
+        while (afterId != null) {
+            Long from = afterId;
+            afterId = inLease(lease, () -> processChunk(date, from));
+        }
+        log.info("Fee accrual completed for {}", date);
+    }
+
+    /**
+     * @return id to continue after, or null once the date is completed
+     */
+    private Long processChunk(LocalDate date, Long afterId) {
+        List<Object[]> rows = feeRepository.findDueRows(date, afterId, PageRequest.of(0, chunkSize));
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> coveredIds = new ArrayList<>();
+        Map<Period, List<Long>> advancing = new LinkedHashMap<>();
+        Map<Long, BigDecimal> lateFeesByCenter = new LinkedHashMap<>();
+
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            int installments = row[2] != null && (Integer) row[2] > 0 ? (Integer) row[2] : 1;
+            int current = Math.min(row[3] != null ? (Integer) row[3] : 1, installments);
+            BigDecimal net = ((BigDecimal) row[4]).subtract(orZero((BigDecimal) row[5]));
+            BigDecimal paid = orZero((BigDecimal) row[7]);
+            BigDecimal dueSoFar = net.multiply(BigDecimal.valueOf(current))
+                    .divide(BigDecimal.valueOf(installments), 2, RoundingMode.HALF_UP);
+            if (paid.compareTo(dueSoFar) < 0 && feeRepository.accrueLateFee(id, date, dueSoFar, lateFee, now) == 1) {
+                lateFeesCharged.incrementAndGet();
+                if (lateFee.signum() > 0) {
+                    feeLedgerService.recordLateFee(id, lateFee, "Late fee for installment due " + date);
+                }
+                if (row[8] != null) {
+                    lateFeesByCenter.merge((Long) row[8], lateFee, BigDecimal::add);
+                }
+            } else {
+                // Covered when read, or settled since
+                coveredIds.add(id);
+            }
+            if (current < installments) {
+                advancing.computeIfAbsent(planPeriod((String) row[1]), period -> new ArrayList<>()).add(id);
+            }
+        }
+
+        if (!coveredIds.isEmpty()) {
+            feeRepository.clearOverdue(coveredIds, now);
+        }
+        advancing.forEach((period, ids) ->
+                installmentsAdvanced.addAndGet(feeRepository.advanceInstallment(ids, date, date.plus(period), now)));
+        // After all fee rows of the chunk are locked, in the same order as payment settlement
+        lateFeesByCenter.forEach((centerId, total) -> centerSummaryService.record(centerId,
+                BigDecimal.ZERO, BigDecimal.ZERO, total, BigDecimal.ZERO, 0));
+        scanned.addAndGet(rows.size());
+
+        Long lastId = rows.isEmpty() ? afterId : (Long) rows.get(rows.size() - 1)[0];
+        jobCheckpointRepository.advance(JOB_NAME, date, lastId, rows.size(), now);
+        if (rows.size() < chunkSize) {
+            jobCheckpointRepository.complete(JOB_NAME, date, now);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return rows.size() < chunkSize ? null : lastId;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("runs", runs.get());
+        metrics.put("running", running.get());
+        metrics.put("skipped", skipped.get());
+        metrics.put("feesScanned", scanned.get());
+        metrics.put("lateFeesCharged", lateFeesCharged.get());
+        metrics.put("installmentsAdvanced", installmentsAdvanced.get());
+        jobCheckpointRepository.findByJobName(JOB_NAME).ifPresent(checkpoint -> {
+            metrics.put("runDate", checkpoint.getRunDate());
+            metrics.put("lastFeeId", checkpoint.getLastId());
+            metrics.put("processedForRunDate", checkpoint.getProcessedCount());
+            metrics.put("runDateCompleted", checkpoint.getCompleted());
+        });
+        return metrics;
+    }
+
+    /**
+     * Runs {@code work} in a transaction that first renews the lease, so a node that lost the lease
+     * to another one cannot commit.
+     */
+    private <T> T inLease(Duration lease, Supplier<T> work) {
+        return transactionTemplate.execute(status -> {
+            if (!jobLeaseService.renew(JOB_NAME, lease)) {
+                throw new IllegalStateException("the lease on " + JOB_NAME + " was taken over by another node");
+            }
+            return work.get();
+        });
+    }
+
+    private JobCheckpoint newCheckpoint(LocalDate runDate) {
+        return transactionTemplate.execute(status -> {
+            JobCheckpoint checkpoint = new JobCheckpoint();
+            checkpoint.setJobName(JOB_NAME);
+            checkpoint.setRunDate(runDate);
+            return jobCheckpointRepository.save(checkpoint);
+        });
+    }
+
+    static Period planPeriod(String paymentPlan) {
+        if (paymentPlan == null) {
+            return Period.ofMonths(1);
+        }
+        return switch (paymentPlan.trim().toUpperCase(Locale.ROOT).replace('-', '_')) {
+            case "WEEKLY" -> Period.ofWeeks(1);
+            case "QUARTERLY" -> Period.ofMonths(3);
+            case "HALF_YEARLY", "SEMI_ANNUAL", "SEMIANNUAL" -> Period.ofMonths(6);
+            case "YEARLY", "ANNUAL", "ANNUALLY" -> Period.ofYears(1);
+            default -> Period.ofMonths(1);
+        };
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
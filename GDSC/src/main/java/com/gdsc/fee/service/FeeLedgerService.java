@@ -0,0 +1,195 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.fee.dto.FeeBalanceDto;
+import com.gdsc.fee.dto.FeeLedgerEntryDto;
+import com.gdsc.fee.entity.Fee;
+import com.gdsc.fee.entity.FeeLedgerEntry;
+import com.gdsc.fee.entity.Payment;
+import com.gdsc.fee.repository.FeeLedgerEntryRepository;
+import com.gdsc.fee.repository.FeeRepository;
+import com.gdsc.fee.repository.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Owns the paid and pending amounts of fees. Every change is a conditional UPDATE on the fee row
+ * plus an appended ledger entry in the same transaction, so concurrent payments serialise on the
+ * row lock instead of overwriting each other, and balances are read from the fee row directly.
+ */
+@Slf4j
+@Service
+public class FeeLedgerService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private FeeLedgerEntryRepository ledgerRepository;
+
+    @Autowired
+    private CenterSummaryService centerSummaryService;
+
+    @Autowired
+    private ReceiptNumberService receiptNumberService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public FeeBalanceDto getBalance(Long feeId) {
+        return feeRepository.findBalanceById(feeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Fee", "id", feeId));
+    }
+
+    public List<FeeLedgerEntryDto> getLedger(Long feeId) {
+        if (!feeRepository.existsById(feeId)) {
+            throw new ResourceNotFoundException("Fee", "id", feeId);
+        }
+        return ledgerRepository.findDtosByFeeId(feeId);
+    }
+
+    /**
+     * Settles a payment against its fee. Settling an already settled payment is a no-op, so the
+     * call is safe to repeat; a payment larger than what is still owed is rejected.
+     */
+    public void settlePayment(Long paymentId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> settle(paymentId));
+                return;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Settling payment {} conflicted with a concurrent update, retrying (attempt {})", paymentId, attempt);
+            }
+        }
+    }
+
+    private void settle(Long paymentId) {
+        Object[] row = paymentRepository.findSettlementRowById(paymentId).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", paymentId));
+        Long feeId = (Long) row[0];
+        BigDecimal amount = (BigDecimal) row[1];
+        Payment.PaymentStatus status = (Payment.PaymentStatus) row[2];
+
+        LocalDateTime now = LocalDateTime.now();
+        if (paymentRepository.claimForSettlement(paymentId, now) == 0) {
+            if (status == Payment.PaymentStatus.SUCCESS) {
+                return;
+            }
+            throw new BadRequestException("Payment " + paymentId + " cannot be settled in status " + status);
+        }
+        if (feeRepository.addPayment(feeId, amount, now) == 0) {
+            throw new BadRequestException("Payment of " + amount + " exceeds the outstanding balance of fee " + feeId);
+        }
+        feeRepository.refreshBalance(feeId);
+        append(feeId, paymentId, FeeLedgerEntry.EntryType.PAYMENT, amount,
+                "Payment " + paymentId + " (" + row[3] + ")");
+        centerSummaryService.recordCollection((Long) row[4], (Payment.PaymentMethod) row[3], amount);
+        receiptNumberService.assign(paymentId, (Long) row[4]);
+    }
+
+    /**
+     * Records the opening charge of a newly created fee and derives its pending amount and status.
+     */
+    @Transactional
+    public void recordCharge(Long feeId) {
+        feeRepository.refreshBalance(feeId);
+        FeeBalanceDto balance = getBalance(feeId);
+        BigDecimal charged = balance.getTotalAmount()
+                .subtract(orZero(balance.getDiscount()))
+                .add(orZero(balance.getLateFee()));
+        append(feeId, null, FeeLedgerEntry.EntryType.CHARGE, charged, "Fee charged",
+                balance.getPaidAmount(), balance.getPendingAmount());
+        if (orZero(balance.getPaidAmount()).signum() != 0) {
+            append(feeId, null, FeeLedgerEntry.EntryType.ADJUSTMENT, balance.getPaidAmount(), "Opening paid amount",
+                    balance.getPaidAmount(), balance.getPendingAmount());
+        }
+        centerSummaryService.record(centerId(feeId), charged, orZero(balance.getPaidAmount()),
+                BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    /**
+     * Re-derives pending amount and status after the charged amount of a fee was edited.
+     */
+    @Transactional
+    public void recordAdjustment(Long feeId, BigDecimal delta, String description) {
+        feeRepository.refreshBalance(feeId);
+        if (delta.signum() != 0) {
+            append(feeId, null, FeeLedgerEntry.EntryType.ADJUSTMENT, delta, description);
+            centerSummaryService.record(centerId(feeId), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, delta, 0);
+        }
+    }
+
+    /**
+     * Records a late fee already applied to the fee row, with the balance read back from the row
+     * the caller's update still holds locked.
+     */
+    public void recordLateFee(Long feeId, BigDecimal amount, String description) {
+        append(feeId, null, FeeLedgerEntry.EntryType.LATE_FEE, amount, description);
+    }
+
+    public boolean isSettled(Long paymentId) {
+        return ledgerRepository.existsByPaymentId(paymentId);
+    }
+
+    /**
+     * Drops the ledger of a fee being deleted and writes its remaining dues off the center totals.
+     */
+    @Transactional
+    public void deleteForFee(Long feeId) {
+        BigDecimal pending = orZero(getBalance(feeId).getPendingAmount());
+        if (pending.signum() != 0) {
+            centerSummaryService.record(centerId(feeId), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, pending.negate(), 0);
+        }
+        ledgerRepository.deleteByFeeId(feeId);
+    }
+
+    private void append(Long feeId, Long paymentId, FeeLedgerEntry.EntryType type, BigDecimal amount, String description) {
+        FeeBalanceDto balance = getBalance(feeId);
+        append(feeId, paymentId, type, amount, description, balance.getPaidAmount(), balance.getPendingAmount());
+    }
+
+    private void append(Long feeId, Long paymentId, FeeLedgerEntry.EntryType type, BigDecimal amount,
+                        String description, BigDecimal paidAfter, BigDecimal pendingAfter) {
+        FeeLedgerEntry entry = new FeeLedgerEntry();
+        entry.setFee(entityManager.getReference(Fee.class, feeId));
+        if (paymentId != null) {
+            entry.setPayment(entityManager.getReference(Payment.class, paymentId));
+        }
+        entry.setEntryType(type);
+        entry.setAmount(amount);
+        entry.setPaidAfter(paidAfter);
+        entry.setPendingAfter(pendingAfter);
+        entry.setDescription(description);
+        ledgerRepository.save(entry);
+    }
+
+    private Long centerId(Long feeId) {
+        return feeRepository.findCenterIdById(feeId).orElse(null);
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -9,16 +9,26 @@ import com.gdsc.student.entity.Student;
 import com.gdsc.student.repository.StudentRepository;
 import com.gdsc.center.entity.Center;
 import com.gdsc.center.repository.CenterRepository;
+import com.gdsc.common.exception.BadRequestException;
 import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class FeeService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "dueDate", "totalAmount");
+
     @Autowired
     private FeeRepository feeRepository;
     
@@ -31,33 +41,58 @@ public class FeeService {
     @Autowired
     private CenterRepository centerRepository;
 
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     public List<FeeDto> getAllFees() {
-        return feeRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return feeRepository.findAllDtos();
+    }
+
+    public CursorPage<FeeDto> getFeesPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(Fee.class, cursor, size, sort, SORTABLE_FIELDS, this::convertToDto);
+    }
+
+    public StreamingResponseBody exportFees() {
+        return ndjsonExporter.export(feeRepository::streamAllDtos, Function.identity());
     }
 
     public FeeDto getFeeById(Long id) {
-        Fee fee = feeRepository.findById(id)
+        return feeRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Fee", "id", id));
-        return convertToDto(fee);
     }
 
+    @Transactional
     public FeeDto createFee(FeeDto feeDto) {
         Fee fee = convertToEntity(feeDto);
         Fee savedFee = feeRepository.save(fee);
-        return convertToDto(savedFee);
+        feeLedgerService.recordCharge(savedFee.getId());
+        return getFeeById(savedFee.getId());
     }
 
+    @Transactional
     public FeeDto updateFee(Long id, FeeDto feeDto) {
         Fee existingFee = feeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Fee", "id", id));
+        BigDecimal previousTotal = existingFee.getTotalAmount();
         
-        // Update fields - only update what exists in the entity
+        // Update fields - paid and pending amounts are maintained by the fee ledger
         existingFee.setTotalAmount(feeDto.getTotalAmount());
         existingFee.setDueDate(feeDto.getDueDate());
-        existingFee.setPaidAmount(feeDto.getPaidAmount());
-        existingFee.setPendingAmount(feeDto.getPendingAmount());
+        if (feeDto.getPaymentPlan() != null) {
+            existingFee.setPaymentPlan(feeDto.getPaymentPlan());
+        }
+        if (feeDto.getInstallments() != null) {
+            if (feeDto.getInstallments() < existingFee.getCurrentInstallment()) {
+                throw new BadRequestException("Fee " + id + " is already at installment " + existingFee.getCurrentInstallment());
+            }
+            existingFee.setInstallments(feeDto.getInstallments());
+        }
         
         // Handle Course relationship
         if (feeDto.getCourseId() != null) {
@@ -80,27 +115,27 @@ public class FeeService {
             existingFee.setCenter(center);
         }
         
-        Fee updatedFee = feeRepository.save(existingFee);
-        return convertToDto(updatedFee);
+        feeRepository.save(existingFee);
+        feeLedgerService.recordAdjustment(id, feeDto.getTotalAmount().subtract(previousTotal),
+                "Total amount changed from " + previousTotal + " to " + feeDto.getTotalAmount());
+        return getFeeById(id);
     }
 
+    @Transactional
     public void deleteFee(Long id) {
         if (!feeRepository.existsById(id)) {
             throw new ResourceNotFoundException("Fee", "id", id);
         }
+        feeLedgerService.deleteForFee(id);
         feeRepository.deleteById(id);
     }
 
     public List<FeeDto> getFeesByStudent(Long studentId) {
-        return feeRepository.findByStudent_Id(studentId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return feeRepository.findDtosByStudentId(studentId);
     }
 
     public List<FeeDto> getFeesByCourse(Long courseId) {
-        return feeRepository.findByCourseId(courseId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return feeRepository.findDtosByCourseId(courseId);
     }
 
     private FeeDto convertToDto(Fee fee) {
@@ -116,6 +151,11 @@ public class FeeService {
         dto.setDueDate(fee.getDueDate());
         dto.setPaidAmount(fee.getPaidAmount());
         dto.setPendingAmount(fee.getPendingAmount());
+        dto.setLateFee(fee.getLateFee());
+        dto.setStatus(fee.getStatus() != null ? fee.getStatus().name() : null);
+        dto.setPaymentPlan(fee.getPaymentPlan());
+        dto.setInstallments(fee.getInstallments());
+        dto.setCurrentInstallment(fee.getCurrentInstallment());
         if (fee.getCenter() != null) {
             dto.setCenterId(fee.getCenter().getId());
         }
@@ -126,8 +166,13 @@ public class FeeService {
         Fee fee = new Fee();
         fee.setTotalAmount(dto.getTotalAmount());
         fee.setDueDate(dto.getDueDate());
-        fee.setPaidAmount(dto.getPaidAmount());
-        fee.setPendingAmount(dto.getPendingAmount());
+        if (dto.getPaidAmount() != null) {
+            fee.setPaidAmount(dto.getPaidAmount());
+        }
+        fee.setPaymentPlan(dto.getPaymentPlan());
+        if (dto.getInstallments() != null) {
+            fee.setInstallments(dto.getInstallments());
+        }
         
         // Handle Course relationship
         if (dto.getCourseId() != null) {
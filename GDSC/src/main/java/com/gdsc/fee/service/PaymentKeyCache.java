@@ -0,0 +1,106 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.common.cache.ExpiringCache;
+import com.gdsc.fee.repository.PaymentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recently seen transaction ids and gateway references mapped to the payment they created, so a
+ * replayed request is recognised without a query. The unique indexes on both columns stay the
+ * source of truth; a miss falls back to an indexed lookup.
+ */
+@Service
+public class PaymentKeyCache {
+
+    private static final String TRANSACTION = "txn:";
+    private static final String REFERENCE = "ref:";
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Value("${payment.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${payment.idempotency.max-keys:100000}")
+    private int maxKeys;
+
+    private ExpiringCache<String, Long> keys;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        keys = new ExpiringCache<>(maxKeys);
+    }
+
+    /**
+     * The payment created earlier with either key, or null when neither has been used.
+     */
+    public Long find(String transactionId, String gatewayReference) {
+        if (isBlank(transactionId) && isBlank(gatewayReference)) {
+            return null;
+        }
+        Long paymentId = cached(TRANSACTION, transactionId);
+        if (paymentId == null) {
+            paymentId = cached(REFERENCE, gatewayReference);
+        }
+        if (paymentId != null) {
+            hits.incrementAndGet();
+            return paymentId;
+        }
+        misses.incrementAndGet();
+        if (!isBlank(transactionId)) {
+            paymentId = paymentRepository.findIdByTransactionId(transactionId).orElse(null);
+        }
+        if (paymentId == null && !isBlank(gatewayReference)) {
+            paymentId = paymentRepository.findIdByGatewayReference(gatewayReference).orElse(null);
+        }
+        if (paymentId != null) {
+            remember(paymentId, transactionId, gatewayReference);
+        }
+        return paymentId;
+    }
+
+    public void remember(Long paymentId, String transactionId, String gatewayReference) {
+        long expiresAt = System.currentTimeMillis() + ttlSeconds * 1000;
+        if (!isBlank(transactionId)) {
+            keys.put(TRANSACTION + transactionId, paymentId, expiresAt);
+        }
+        if (!isBlank(gatewayReference)) {
+            keys.put(REFERENCE + gatewayReference, paymentId, expiresAt);
+        }
+    }
+
+    public void forget(String transactionId, String gatewayReference) {
+        if (!isBlank(transactionId)) {
+            keys.invalidate(TRANSACTION + transactionId);
+        }
+        if (!isBlank(gatewayReference)) {
+            keys.invalidate(REFERENCE + gatewayReference);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("cachedKeys", keys.size());
+        metrics.put("hits", hits.get());
+        metrics.put("misses", misses.get());
+        return metrics;
+    }
+
+    private Long cached(String prefix, String key) {
+        return isBlank(key) ? null : keys.get(prefix + key);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,277 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.exception.TooManyRequestsException;
+import com.gdsc.fee.entity.Payment;
+import com.gdsc.fee.gateway.GatewayCharge;
+import com.gdsc.fee.gateway.GatewayResult;
+import com.gdsc.fee.gateway.PaymentGateway;
+import com.gdsc.fee.repository.PaymentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Charges payments through the configured {@link PaymentGateway} without holding the request
+ * thread. Submitting claims the payment as PROCESSING and returns; the outcome arrives later,
+ * either from the gateway's future or from the callback endpoint, and is applied on a small
+ * completion pool. Outcomes are idempotent: a replayed approval finds the payment settled and a
+ * replayed decline finds it no longer PROCESSING.
+ */
+@Slf4j
+@Service
+public class PaymentProcessor {
+
+    private static final int MAX_RESPONSE_LENGTH = 255;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
+    @Autowired
+    private PaymentKeyCache paymentKeyCache;
+
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${payment.gateway.max-in-flight:1000}")
+    private int maxInFlight;
+
+    @Value("${payment.gateway.timeout-ms:30000}")
+    private long timeoutMs;
+
+    @Value("${payment.gateway.completion-threads:4}")
+    private int completionThreads;
+
+    @Value("${payment.gateway.callback-secret:}")
+    private String callbackSecret;
+
+    @Value("${payment.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${payment.retry.initial-backoff-seconds:60}")
+    private long initialBackoffSeconds;
+
+    @Value("${payment.retry.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    private Semaphore inFlight;
+    private ThreadPoolExecutor completions;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong approved = new AtomicLong();
+    private final AtomicLong declined = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        inFlight = new Semaphore(maxInFlight);
+        AtomicInteger threadIndex = new AtomicInteger();
+        // Unbounded queue: the in-flight permits already bound how many completions can be pending
+        completions = new ThreadPoolExecutor(completionThreads, completionThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "payment-completion-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        completions.shutdown();
+    }
+
+    /**
+     * Hands a PENDING or FAILED payment to the gateway and returns without waiting for it.
+     * Payments already with the gateway or settled are left alone.
+     */
+    public void submit(Long paymentId) {
+        Object[] row = paymentRepository.findGatewayRowById(paymentId).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", paymentId));
+        BigDecimal amount = (BigDecimal) row[0];
+        Payment.PaymentMethod method = (Payment.PaymentMethod) row[1];
+        String reference = row[2] != null ? (String) row[2] : newReference(paymentId);
+        Payment.PaymentStatus status = (Payment.PaymentStatus) row[3];
+        if (status == Payment.PaymentStatus.SUCCESS || status == Payment.PaymentStatus.PROCESSING) {
+            return;
+        }
+        if (Boolean.TRUE.equals(row[5])) {
+            throw new BadRequestException("Payment " + paymentId + " was charged but could not be applied to its fee; "
+                    + "refund it instead of charging it again");
+        }
+        if (!inFlight.tryAcquire()) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Too many payments waiting on the gateway, please retry shortly");
+        }
+        Integer claimed = transactionTemplate.execute(tx ->
+                paymentRepository.claimForGateway(paymentId, reference, LocalDateTime.now()));
+        if (claimed == null || claimed == 0) {
+            inFlight.release();
+            if (status == Payment.PaymentStatus.PENDING || status == Payment.PaymentStatus.FAILED) {
+                return;
+            }
+            throw new BadRequestException("Payment " + paymentId + " cannot be processed in status " + status);
+        }
+        paymentKeyCache.remember(paymentId, null, reference);
+        submitted.incrementAndGet();
+
+        CompletableFuture<GatewayResult> charge;
+        try {
+            charge = paymentGateway.charge(new GatewayCharge(paymentId, reference, amount, method.name()));
+        } catch (RuntimeException e) {
+            charge = CompletableFuture.failedFuture(e);
+        }
+        charge.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenCompleteAsync((result, error) -> {
+                    inFlight.release();
+                    try {
+                        complete(error == null ? result : new GatewayResult(reference, false, describe(error), null));
+                    } catch (RuntimeException e) {
+                        log.error("Applying the gateway outcome of payment {} failed", paymentId, e);
+                    }
+                }, completions);
+    }
+
+    /**
+     * Applies a gateway outcome: an approval settles the payment against its fee, a decline marks
+     * it FAILED and schedules the next retry while attempts remain.
+     *
+     * @return id of the payment the outcome belongs to
+     */
+    public Long complete(GatewayResult result) {
+        Long paymentId = paymentKeyCache.find(null, result.gatewayReference());
+        if (paymentId == null) {
+            throw new ResourceNotFoundException("Payment", "gatewayReference", result.gatewayReference());
+        }
+        if (result.success()) {
+            BigDecimal gatewayFee = result.gatewayFee() != null ? result.gatewayFee() : BigDecimal.ZERO;
+            transactionTemplate.executeWithoutResult(tx ->
+                    paymentRepository.recordGatewayOutcome(paymentId, truncate(result.response()), gatewayFee));
+            try {
+                feeLedgerService.settlePayment(paymentId);
+                approved.incrementAndGet();
+            } catch (BadRequestException e) {
+                // Charged but cannot be applied to the fee: needs a refund, never another charge
+                transactionTemplate.executeWithoutResult(tx -> paymentRepository.markRequiresRefund(paymentId,
+                        truncate("Charged but not applied: " + e.getMessage())));
+                log.error("Payment {} was approved by the gateway but not applied: {}", paymentId, e.getMessage());
+            }
+        } else {
+            declined.incrementAndGet();
+            fail(paymentId, result.response());
+        }
+        return paymentId;
+    }
+
+    /**
+     * Marks a payment FAILED, scheduling its next attempt with exponential backoff while
+     * {@code payment.retry.max-attempts} is not used up.
+     */
+    public void fail(Long paymentId, String response) {
+        markFailed(paymentId, response, nextRetryDate(paymentId));
+    }
+
+    /**
+     * Fails a payment still PROCESSING since before {@code cutoff}, whose gateway outcome was lost,
+     * for example because the node waiting for it restarted. The payment is retried like a
+     * declined one; an approval arriving later still settles it.
+     *
+     * @return false when the payment was completed or claimed again meanwhile
+     */
+    public boolean failStalled(Long paymentId, LocalDateTime cutoff) {
+        LocalDateTime next = nextRetryDate(paymentId);
+        Integer failed = transactionTemplate.execute(tx -> paymentRepository.markStalledFailed(paymentId,
+                "No gateway outcome within " + timeoutMs + " ms", next, cutoff));
+        return failed != null && failed == 1;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    public void verifyCallbackSecret(String secret) {
+        if (callbackSecret.isEmpty() || secret == null
+                || !MessageDigest.isEqual(callbackSecret.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8))) {
+            throw new AccessDeniedException("Invalid gateway callback secret");
+        }
+    }
+
+    /**
+     * Delay before retry {@code attempt}: the initial backoff doubled per earlier attempt, capped.
+     */
+    long backoffSeconds(int attempt) {
+        int doublings = Math.min(Math.max(attempt - 1, 0), 20);
+        return Math.min(initialBackoffSeconds << doublings, maxBackoffSeconds);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("gateway", paymentGateway.name());
+        metrics.put("inFlight", maxInFlight - inFlight.availablePermits());
+        metrics.put("maxInFlight", maxInFlight);
+        metrics.put("completionQueueDepth", completions.getQueue().size());
+        metrics.put("submitted", submitted.get());
+        metrics.put("approved", approved.get());
+        metrics.put("declined", declined.get());
+        metrics.put("rejected", rejected.get());
+        return metrics;
+    }
+
+    private LocalDateTime nextRetryDate(Long paymentId) {
+        int retries = paymentRepository.findRetryCountById(paymentId);
+        return retries < maxAttempts ? LocalDateTime.now().plusSeconds(backoffSeconds(retries + 1)) : null;
+    }
+
+    private void markFailed(Long paymentId, String response, LocalDateTime nextRetryDate) {
+        transactionTemplate.executeWithoutResult(tx ->
+                paymentRepository.markFailed(paymentId, truncate(response), nextRetryDate));
+    }
+
+    private static String newReference(Long paymentId) {
+        return "PAY-" + paymentId + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return "Gateway did not answer in time";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private static String truncate(String response) {
+        if (response == null) {
+            return null;
+        }
+        return response.length() > MAX_RESPONSE_LENGTH ? response.substring(0, MAX_RESPONSE_LENGTH) : response;
+    }
+}
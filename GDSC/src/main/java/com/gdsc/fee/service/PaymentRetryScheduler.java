@@ -0,0 +1,95 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.fee.repository.PaymentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resubmits FAILED payments whose next retry time has come. Each attempt is claimed with a
+ * conditional update that bumps {@code retryCount}, so a payment is retried by one worker at a
+ * time; the gateway outcome then arrives asynchronously through {@link PaymentProcessor}, which
+ * schedules the next attempt with exponential backoff until {@code payment.retry.max-attempts}
+ * is used up.
+ * <p>
+ * Payments left PROCESSING longer than {@code payment.gateway.timeout-ms}, whose outcome was lost
+ * with the node that waited for it, are failed by the same poll and retried the same way.
+ */
+@Slf4j
+@Service
+public class PaymentRetryScheduler {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentProcessor paymentProcessor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${payment.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${payment.retry.batch-size:100}")
+    private int batchSize;
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong submitFailures = new AtomicLong();
+    private final AtomicLong stalled = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${payment.retry.poll-ms:30000}")
+    public void retryDuePayments() {
+        List<Long> due = paymentRepository.findIdsDueForRetry(LocalDateTime.now(), maxAttempts, PageRequest.of(0, batchSize));
+        for (Long paymentId : due) {
+            retry(paymentId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.retry.poll-ms:30000}")
+    public void failStalledPayments() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(paymentProcessor.getTimeoutMs()));
+        for (Long paymentId : paymentRepository.findIdsStalledInProcessing(cutoff, PageRequest.of(0, batchSize))) {
+            if (paymentProcessor.failStalled(paymentId, cutoff)) {
+                stalled.incrementAndGet();
+                log.warn("Payment {} had no gateway outcome since {}, marked FAILED", paymentId, cutoff);
+            }
+        }
+    }
+
+    void retry(Long paymentId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> paymentRepository.claimForRetry(paymentId, maxAttempts, now));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        attempts.incrementAndGet();
+        try {
+            paymentProcessor.submit(paymentId);
+        } catch (RuntimeException e) {
+            submitFailures.incrementAndGet();
+            paymentProcessor.fail(paymentId, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            log.warn("Resubmitting payment {} failed: {}", paymentId, e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("attempts", attempts.get());
+        metrics.put("submitFailures", submitFailures.get());
+        metrics.put("stalledFailed", stalled.get());
+        metrics.put("maxAttempts", maxAttempts);
+        return metrics;
+    }
+}
@@ -1,23 +1,36 @@
 package com.gdsc.fee.service;
 
+import com.gdsc.fee.dto.GatewayCallbackDto;
 import com.gdsc.fee.dto.PaymentDto;
 import com.gdsc.fee.entity.Payment;
 import com.gdsc.fee.repository.PaymentRepository;
 import com.gdsc.fee.entity.Fee;
 import com.gdsc.fee.repository.FeeRepository;
+import com.gdsc.fee.gateway.GatewayResult;
 import com.gdsc.center.entity.Center;
 import com.gdsc.center.repository.CenterRepository;
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.common.exception.DuplicateResourceException;
 import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class PaymentService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "amount");
+
     @Autowired
     private PaymentRepository paymentRepository;
     
@@ -27,34 +40,105 @@ public class PaymentService {
     @Autowired
     private CenterRepository centerRepository;
 
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
+    @Autowired
+    private PaymentKeyCache paymentKeyCache;
+
+    @Autowired
+    private PaymentProcessor paymentProcessor;
+
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+
     public List<PaymentDto> getAllPayments() {
-        return paymentRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return paymentRepository.findAllDtos();
+    }
+
+    public CursorPage<PaymentDto> getPaymentsPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(Payment.class, cursor, size, sort, SORTABLE_FIELDS, this::convertToDto);
+    }
+
+    public StreamingResponseBody exportPayments() {
+        return ndjsonExporter.export(paymentRepository::streamAllDtos, Function.identity());
     }
 
     public PaymentDto getPaymentById(Long id) {
-        Payment payment = paymentRepository.findById(id)
+        return paymentRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
-        return convertToDto(payment);
     }
 
+    /**
+     * Records a payment; one created as SUCCESS is stored as PENDING and settled against its fee
+     * through the ledger. A request repeating the transaction id or gateway reference of an
+     * earlier payment returns that payment instead of recording a second one.
+     */
     public PaymentDto createPayment(PaymentDto paymentDto) {
+        Long existingId = paymentKeyCache.find(paymentDto.getTransactionId(), paymentDto.getGatewayReference());
+        if (existingId != null) {
+            return replay(existingId, paymentDto);
+        }
         Payment payment = convertToEntity(paymentDto);
+        boolean settle = payment.getStatus() == Payment.PaymentStatus.SUCCESS;
+        if (settle) {
+            payment.setStatus(Payment.PaymentStatus.PENDING);
+        }
         payment.setPaymentDate(LocalDateTime.now());
-        Payment savedPayment = paymentRepository.save(payment);
-        return convertToDto(savedPayment);
+        Payment savedPayment;
+        try {
+            savedPayment = paymentRepository.save(payment);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key inserted first
+            existingId = paymentKeyCache.find(payment.getTransactionId(), payment.getGatewayReference());
+            if (existingId == null) {
+                throw e;
+            }
+            return replay(existingId, paymentDto);
+        }
+        paymentKeyCache.remember(savedPayment.getId(), savedPayment.getTransactionId(), savedPayment.getGatewayReference());
+        if (settle) {
+            feeLedgerService.settlePayment(savedPayment.getId());
+        }
+        return getPaymentById(savedPayment.getId());
+    }
+
+    private PaymentDto replay(Long paymentId, PaymentDto request) {
+        PaymentDto original = getPaymentById(paymentId);
+        if (!Objects.equals(original.getFeeId(), request.getFeeId())
+                || original.getAmount().compareTo(request.getAmount()) != 0) {
+            throw new DuplicateResourceException("A different payment was already recorded with this transaction id or gateway reference");
+        }
+        return original;
     }
 
     public PaymentDto updatePayment(Long id, PaymentDto paymentDto) {
         Payment existingPayment = paymentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
+
+        Payment.PaymentStatus requestedStatus = Payment.PaymentStatus.valueOf(paymentDto.getStatus());
+        boolean settled = existingPayment.getStatus() == Payment.PaymentStatus.SUCCESS;
+        if ((settled || requestedStatus == Payment.PaymentStatus.SUCCESS)
+                && (requestedStatus != existingPayment.getStatus()
+                    || existingPayment.getAmount().compareTo(paymentDto.getAmount()) != 0
+                    || (paymentDto.getFeeId() != null && !paymentDto.getFeeId().equals(existingPayment.getFee().getId())))) {
+            throw new BadRequestException("Settled payments keep their status, amount and fee; settle payments through the process endpoint");
+        }
         
+        String previousTransactionId = existingPayment.getTransactionId();
+        String previousGatewayReference = existingPayment.getGatewayReference();
+
         // Update fields
         existingPayment.setAmount(paymentDto.getAmount());
         existingPayment.setPaymentMethod(Payment.PaymentMethod.valueOf(paymentDto.getMethod()));
-        existingPayment.setTransactionId(paymentDto.getTransactionId());
-        existingPayment.setStatus(Payment.PaymentStatus.valueOf(paymentDto.getStatus()));
+        existingPayment.setTransactionId(blankToNull(paymentDto.getTransactionId()));
+        if (paymentDto.getGatewayReference() != null) {
+            existingPayment.setGatewayReference(blankToNull(paymentDto.getGatewayReference()));
+        }
+        existingPayment.setStatus(requestedStatus);
         existingPayment.setNotes(paymentDto.getNotes());
         
         // Handle Fee relationship
@@ -72,47 +156,39 @@ public class PaymentService {
         }
         
         Payment updatedPayment = paymentRepository.save(existingPayment);
+        paymentKeyCache.forget(previousTransactionId, previousGatewayReference);
+        paymentKeyCache.remember(id, updatedPayment.getTransactionId(), updatedPayment.getGatewayReference());
         return convertToDto(updatedPayment);
     }
 
     public void deletePayment(Long id) {
-        if (!paymentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Payment", "id", id);
+        Payment payment = paymentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
+        if (feeLedgerService.isSettled(id)) {
+            throw new BadRequestException("Settled payments cannot be deleted");
         }
-        paymentRepository.deleteById(id);
+        paymentRepository.delete(payment);
+        paymentKeyCache.forget(payment.getTransactionId(), payment.getGatewayReference());
     }
 
     public List<PaymentDto> getPaymentsByStudent(Long studentId) {
-        return paymentRepository.findByFee_Student_Id(studentId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return paymentRepository.findDtosByStudentId(studentId);
     }
 
+    /**
+     * Submits the payment to the gateway and returns it as PROCESSING; the fee is settled once
+     * the gateway approves.
+     */
     public PaymentDto processPayment(Long id) {
-        Payment payment = paymentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", id));
-        
-        // Simulate payment processing
-        payment.setStatus(Payment.PaymentStatus.SUCCESS);
-        payment.setPaymentDate(LocalDateTime.now());
-        
-        Payment processedPayment = paymentRepository.save(payment);
-        return convertToDto(processedPayment);
+        paymentProcessor.submit(id);
+        return getPaymentById(id);
     }
 
-    public Object generateReceipt(Long paymentId) {
-        Payment payment = paymentRepository.findById(paymentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", paymentId));
-        
-        // Return receipt data (in a real app, this would generate a PDF)
-        return new Object() {
-            public final Long paymentId = payment.getId();
-            public final String amount = payment.getAmount().toString();
-            public final String method = payment.getPaymentMethod().name();
-            public final String transactionId = payment.getTransactionId();
-            public final String status = payment.getStatus().name();
-            public final String paymentDate = payment.getPaymentDate().toString();
-        };
+    public PaymentDto completeFromGateway(String secret, GatewayCallbackDto callback) {
+        paymentProcessor.verifyCallbackSecret(secret);
+        Long paymentId = paymentProcessor.complete(new GatewayResult(callback.getGatewayReference(),
+                callback.getSuccess(), callback.getResponse(), callback.getGatewayFee()));
+        return getPaymentById(paymentId);
     }
 
     private PaymentDto convertToDto(Payment payment) {
@@ -122,9 +198,11 @@ public class PaymentService {
         dto.setAmount(payment.getAmount());
         dto.setMethod(payment.getPaymentMethod().name());
         dto.setTransactionId(payment.getTransactionId());
+        dto.setGatewayReference(payment.getGatewayReference());
         dto.setStatus(payment.getStatus().name());
         dto.setPaymentDate(payment.getPaymentDate());
         dto.setNotes(payment.getNotes());
+        dto.setReceiptNumber(payment.getReceiptNumber());
         if (payment.getCenter() != null) {
             dto.setCenterId(payment.getCenter().getId());
         }
@@ -150,9 +228,14 @@ public class PaymentService {
         
         payment.setAmount(dto.getAmount());
         payment.setPaymentMethod(Payment.PaymentMethod.valueOf(dto.getMethod()));
-        payment.setTransactionId(dto.getTransactionId());
-        payment.setStatus(Payment.PaymentStatus.valueOf(dto.getStatus()));
+        payment.setTransactionId(blankToNull(dto.getTransactionId()));
+        payment.setGatewayReference(blankToNull(dto.getGatewayReference()));
+        payment.setStatus(dto.getStatus() != null ? Payment.PaymentStatus.valueOf(dto.getStatus()) : Payment.PaymentStatus.PENDING);
         payment.setNotes(dto.getNotes());
         return payment;
     }
-} 
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
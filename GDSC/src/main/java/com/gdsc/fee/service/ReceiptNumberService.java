@@ -0,0 +1,110 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.center.entity.Center;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.fee.entity.ReceiptSequence;
+import com.gdsc.fee.repository.PaymentRepository;
+import com.gdsc.fee.repository.ReceiptSequenceRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Issues gap-free receipt numbers, one series per center. A number is taken in the same
+ * transaction that marks the payment settled: the series row stays locked until that transaction
+ * ends, and a rollback returns the number, so every number in a series belongs to exactly one
+ * successful payment.
+ */
+@Service
+public class ReceiptNumberService {
+
+    static final String GLOBAL_SERIES = "GLOBAL";
+
+    @Autowired
+    private ReceiptSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Center series are created under a lock on the center row; the global one has no row to lock
+    @EventListener(ApplicationReadyEvent.class)
+    void createGlobalSeries() {
+        if (sequenceRepository.existsBySeries(GLOBAL_SERIES)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ReceiptSequence sequence = new ReceiptSequence();
+                sequence.setSeries(GLOBAL_SERIES);
+                sequenceRepository.saveAndFlush(sequence);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Created by another node
+        }
+    }
+
+    /**
+     * Gives a payment being settled the next number of its center's series. Joins the caller's
+     * transaction, which must be the one settling the payment.
+     */
+    public String assign(Long paymentId, Long centerId) {
+        String series = centerId != null ? "C" + centerId : GLOBAL_SERIES;
+        LocalDateTime now = LocalDateTime.now();
+        if (sequenceRepository.increment(series, now) == 0) {
+            lockCenter(centerId);
+            if (sequenceRepository.increment(series, now) == 0) {
+                ReceiptSequence sequence = new ReceiptSequence();
+                sequence.setSeries(series);
+                sequence.setLastNumber(1L);
+                sequenceRepository.saveAndFlush(sequence);
+            }
+        }
+        String receiptNumber = format(centerId, sequenceRepository.findLastNumber(series));
+        if (paymentRepository.assignReceiptNumber(paymentId, receiptNumber) == 0) {
+            // Rolls the increment back with the caller's transaction
+            throw new IllegalStateException("Payment " + paymentId + " already has a receipt number");
+        }
+        return receiptNumber;
+    }
+
+    /**
+     * Numbers a successful payment settled before receipts were numbered. Does nothing when the
+     * payment already has a number or is not successful.
+     */
+    public void assignIfMissing(Long paymentId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (paymentRepository.lockForReceipt(paymentId, LocalDateTime.now()) == 1) {
+                assign(paymentId, paymentRepository.findFeeCenterIdById(paymentId).orElse(null));
+            }
+        });
+    }
+
+    static String format(Long centerId, long number) {
+        return centerId != null
+                ? String.format("RCP-%d-%06d", centerId, number)
+                : String.format("RCP-%06d", number);
+    }
+
+    private void lockCenter(Long centerId) {
+        if (centerId == null) {
+            throw new IllegalStateException("Receipt series " + GLOBAL_SERIES + " is missing");
+        }
+        if (entityManager.find(Center.class, centerId, LockModeType.PESSIMISTIC_WRITE) == null) {
+            throw new ResourceNotFoundException("Center", "id", centerId);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.fee.dto.ReceiptDto;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfStamper;
+import com.itextpdf.text.pdf.PdfWriter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+/**
+ * Renders payment receipts as PDF. The letterhead, labels and rules are laid out once into a
+ * template page at startup; a receipt only stamps its values onto a copy of that page and writes
+ * the result straight to the given stream.
+ */
+@Service
+public class ReceiptRenderer {
+
+    private static final float LABEL_X = 40;
+    private static final float VALUE_X = 150;
+    private static final float FIRST_ROW_Y = 480;
+    private static final float ROW_HEIGHT = 22;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm");
+
+    private static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 16, Font.BOLD);
+    private static final Font HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 11);
+    private static final Font LABEL_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD);
+    private static final Font VALUE_FONT = new Font(Font.FontFamily.HELVETICA, 10);
+    private static final Font FOOTER_FONT = new Font(Font.FontFamily.HELVETICA, 8, Font.ITALIC);
+
+    private enum Field {
+        RECEIPT_NUMBER("Receipt No.", ReceiptDto::getReceiptNumber),
+        DATE("Date", receipt -> formatDate(receipt.getPaymentDate())),
+        STUDENT("Student", ReceiptDto::getStudentName),
+        COURSE("Course", ReceiptDto::getCourseName),
+        CENTER("Center", ReceiptDto::getCenterName),
+        FEE("Fee", receipt -> "#" + receipt.getFeeId()),
+        PAYMENT("Payment", receipt -> "#" + receipt.getPaymentId()),
+        METHOD("Method", ReceiptDto::getMethod),
+        REFERENCE("Reference", receipt -> receipt.getTransactionId() != null
+                ? receipt.getTransactionId() : receipt.getGatewayReference()),
+        AMOUNT("Amount Paid", receipt -> formatAmount(receipt.getAmount())),
+        PAID_TO_DATE("Paid to Date", receipt -> formatAmount(receipt.getPaidAfter())),
+        BALANCE_DUE("Balance Due", receipt -> formatAmount(receipt.getPendingAfter()));
+
+        private final String label;
+        private final Function<ReceiptDto, String> value;
+
+        Field(String label, Function<ReceiptDto, String> value) {
+            this.label = label;
+            this.value = value;
+        }
+
+        float y() {
+            return FIRST_ROW_Y - ordinal() * ROW_HEIGHT;
+        }
+    }
+
+    @Value("${spring.application.name:Institute Management System}")
+    private String issuer;
+
+    private byte[] template;
+
+    @PostConstruct
+    void init() throws DocumentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document(PageSize.A5);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        document.open();
+        PdfContentByte canvas = writer.getDirectContent();
+        float center = PageSize.A5.getWidth() / 2;
+        ColumnText.showTextAligned(canvas, Element.ALIGN_CENTER, new Phrase("PAYMENT RECEIPT", TITLE_FONT), center, 540, 0);
+        ColumnText.showTextAligned(canvas, Element.ALIGN_CENTER, new Phrase(issuer, HEADER_FONT), center, 520, 0);
+        rule(canvas, 505);
+        for (Field field : Field.values()) {
+            ColumnText.showTextAligned(canvas, Element.ALIGN_LEFT, new Phrase(field.label, LABEL_FONT), LABEL_X, field.y(), 0);
+        }
+        float bottom = Field.values()[Field.values().length - 1].y() - 13;
+        rule(canvas, bottom);
+        ColumnText.showTextAligned(canvas, Element.ALIGN_CENTER,
+                new Phrase("This receipt was issued electronically and is valid without a signature.", FOOTER_FONT),
+                center, bottom - 25, 0);
+        document.close();
+        template = out.toByteArray();
+    }
+
+    /**
+     * Writes the receipt to {@code out}; the stream is flushed but left open.
+     */
+    public void render(ReceiptDto receipt, OutputStream out) throws IOException {
+        PdfReader reader = new PdfReader(template);
+        try {
+            PdfStamper stamper = new PdfStamper(reader, out);
+            stamper.getWriter().setCloseStream(false);
+            PdfContentByte canvas = stamper.getOverContent(1);
+            for (Field field : Field.values()) {
+                String value = field.value.apply(receipt);
+                ColumnText.showTextAligned(canvas, Element.ALIGN_LEFT,
+                        new Phrase(value != null ? value : "-", VALUE_FONT), VALUE_X, field.y(), 0);
+            }
+            stamper.close();
+        } catch (DocumentException e) {
+            throw new IOException("Rendering receipt of payment " + receipt.getPaymentId() + " failed", e);
+        } finally {
+            reader.close();
+        }
+        out.flush();
+    }
+
+    private static void rule(PdfContentByte canvas, float y) {
+        canvas.moveTo(LABEL_X, y);
+        canvas.lineTo(PageSize.A5.getWidth() - LABEL_X, y);
+        canvas.stroke();
+    }
+
+    private static String formatDate(LocalDateTime date) {
+        return date != null ? date.format(DATE_FORMAT) : null;
+    }
+
+    private static String formatAmount(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).toPlainString() : null;
+    }
+}
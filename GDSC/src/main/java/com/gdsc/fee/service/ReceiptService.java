@@ -0,0 +1,120 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.common.exception.ResourceNotFoundException;
+import com.gdsc.common.storage.StoredFile;
+import com.gdsc.fee.dto.ReceiptDto;
+import com.gdsc.fee.entity.Payment;
+import com.gdsc.fee.repository.PaymentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PDF receipts of successful payments. A receipt never changes once issued, so the first request
+ * renders it into {@code payment.receipts.storage-dir} and every request, the first included, is
+ * served from that file and may be cached by the client for good.
+ */
+@Slf4j
+@Service
+public class ReceiptService {
+
+    private static final CacheControl RECEIPT_CACHE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ReceiptNumberService receiptNumberService;
+
+    @Autowired
+    private ReceiptRenderer receiptRenderer;
+
+    @Value("${payment.receipts.storage-dir:./data/receipts}")
+    private String storageDir;
+
+    private Path directory;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong rendered = new AtomicLong();
+
+    @PostConstruct
+    void init() throws IOException {
+        directory = Files.createDirectories(Paths.get(storageDir));
+    }
+
+    /**
+     * The receipt file of a payment, rendered first if this is its first request. Missing payments
+     * and payments without a receipt fail here.
+     */
+    public StoredFile getReceipt(Long paymentId) throws IOException {
+        Path stored = directory.resolve(paymentId + ".pdf");
+        if (Files.isRegularFile(stored)) {
+            cacheHits.incrementAndGet();
+        } else {
+            render(loadReceipt(paymentId), stored);
+        }
+        return new StoredFile(stored, null, MediaType.APPLICATION_PDF, "receipt-" + paymentId + ".pdf", RECEIPT_CACHE);
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("storageDir", directory.toAbsolutePath().toString());
+        metrics.put("cacheHits", cacheHits.get());
+        metrics.put("rendered", rendered.get());
+        return metrics;
+    }
+
+    private ReceiptDto loadReceipt(Long paymentId) {
+        ReceiptDto receipt = findReceipt(paymentId);
+        if (receipt.getReceiptNumber() == null) {
+            if (!Payment.PaymentStatus.SUCCESS.name().equals(receipt.getStatus())) {
+                throw new BadRequestException("Payment " + paymentId + " has no receipt in status " + receipt.getStatus());
+            }
+            receiptNumberService.assignIfMissing(paymentId);
+            receipt = findReceipt(paymentId);
+        }
+        return receipt;
+    }
+
+    private ReceiptDto findReceipt(Long paymentId) {
+        return paymentRepository.findReceiptById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment", "id", paymentId));
+    }
+
+    // Written to a private temporary file and linked into place only when complete; linking never
+    // replaces, so a receipt rendered concurrently and stored first is kept and a served file never changes
+    private void render(ReceiptDto receipt, Path target) throws IOException {
+        Path temporary = directory.resolve(receipt.getPaymentId() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                receiptRenderer.render(receipt, file);
+            }
+            try {
+                Files.createLink(target, temporary);
+                rendered.incrementAndGet();
+            } catch (FileAlreadyExistsException e) {
+                // Rendered concurrently; the stored copy stays
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -1,15 +1,18 @@
 package com.gdsc.student.controller;
 
 import com.gdsc.common.ApiResponse;
+import com.gdsc.common.pagination.CursorPage;
 import com.gdsc.student.dto.StudentDto;
 import com.gdsc.student.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,6 +32,26 @@ public class StudentController {
         return ResponseEntity.ok(ApiResponse.success("Students retrieved successfully", students));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER')")
+    @Operation(summary = "Get students page", description = "Keyset-paginated students; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<StudentDto>>> getStudentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<StudentDto> page = studentService.getStudentsPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Students retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER')")
+    @Operation(summary = "Export students", description = "Stream all students as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(studentService.exportStudents());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or hasRole('CENTER') or @studentSecurityService.isOwner(#id)")
     @Operation(summary = "Get student by ID", description = "Retrieve a specific student by ID")
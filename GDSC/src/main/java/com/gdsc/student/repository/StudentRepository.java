@@ -1,14 +1,18 @@
 package com.gdsc.student.repository;
 
 import com.gdsc.student.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
@@ -32,4 +36,7 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByState(String state);
 
     List<Student> findByCenterId(Long centerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Student> streamAllByOrderByIdAsc();
 }
@@ -1,15 +1,18 @@
 package com.gdsc.teacher.controller;
 
 import com.gdsc.common.ApiResponse;
+import com.gdsc.common.pagination.CursorPage;
 import com.gdsc.teacher.dto.TeacherDto;
 import com.gdsc.teacher.service.TeacherService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,6 +32,26 @@ public class TeacherController {
         return ResponseEntity.ok(ApiResponse.success("Teachers retrieved successfully", teachers));
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get teachers page", description = "Keyset-paginated teachers; pass nextCursor back as cursor for the next page, sort as field,asc|desc")
+    public ResponseEntity<ApiResponse<CursorPage<TeacherDto>>> getTeachersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        CursorPage<TeacherDto> page = teacherService.getTeachersPage(cursor, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Teachers retrieved successfully", page));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Export teachers", description = "Stream all teachers as newline-delimited JSON, one object per line")
+    public ResponseEntity<StreamingResponseBody> exportTeachers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(teacherService.exportTeachers());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF') or @teacherSecurityService.isOwner(#id)")
     @Operation(summary = "Get teacher by ID", description = "Retrieve a specific teacher by ID")
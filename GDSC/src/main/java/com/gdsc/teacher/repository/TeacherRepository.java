@@ -1,12 +1,16 @@
 package com.gdsc.teacher.repository;
 
 import com.gdsc.teacher.entity.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
@@ -23,4 +27,7 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     List<Teacher> findByExpertise(String expertise);
     
     List<Teacher> findByStatus(String status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Teacher> streamAllByOrderByIdAsc();
 }
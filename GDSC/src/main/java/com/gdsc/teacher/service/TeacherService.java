@@ -8,13 +8,18 @@ import com.gdsc.center.entity.Center;
 import com.gdsc.center.repository.CenterRepository;
 import com.gdsc.auth.entity.User;
 import com.gdsc.auth.repository.UserRepository;
+import com.gdsc.common.pagination.CursorPage;
+import com.gdsc.common.pagination.KeysetPaginator;
+import com.gdsc.common.pagination.NdjsonExporter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,9 +28,13 @@ import java.util.stream.Collectors;
 @Transactional
 public class TeacherService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "firstName", "lastName", "email");
+
     private final TeacherRepository teacherRepository;
     private final CenterRepository centerRepository;
     private final UserRepository userRepository;
+    private final KeysetPaginator keysetPaginator;
+    private final NdjsonExporter ndjsonExporter;
 
     public List<TeacherDto> getAllTeachers() {
         return teacherRepository.findAll().stream()
@@ -33,6 +42,14 @@ public class TeacherService {
                 .collect(Collectors.toList());
     }
 
+    public CursorPage<TeacherDto> getTeachersPage(String cursor, Integer size, String sort) {
+        return keysetPaginator.page(Teacher.class, cursor, size, sort, SORTABLE_FIELDS, this::convertToDto);
+    }
+
+    public StreamingResponseBody exportTeachers() {
+        return ndjsonExporter.export(teacherRepository::streamAllByOrderByIdAsc, this::convertToDto);
+    }
+
     public TeacherDto getTeacherById(Long id) {
         Teacher teacher = teacherRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher not found with id: " + id));
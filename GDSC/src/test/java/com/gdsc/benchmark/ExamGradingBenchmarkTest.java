@@ -0,0 +1,205 @@
+package com.gdsc.benchmark;
+
+import com.gdsc.auth.entity.User;
+import com.gdsc.course.entity.Course;
+import com.gdsc.course.repository.CourseRepository;
+import com.gdsc.exam.dto.ExamEvaluationSummary;
+import com.gdsc.exam.entity.Exam;
+import com.gdsc.exam.entity.Question;
+import com.gdsc.exam.entity.QuestionOption;
+import com.gdsc.exam.entity.StudentAnswer;
+import com.gdsc.exam.service.ExamGradingService;
+import com.gdsc.student.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Grading time for 2,000 students answering 50 MCQs (100k answers). Opt-in, run with
+ * {@code mvn test -Dtest=ExamGradingBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:grading_benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExamGradingBenchmarkTest {
+
+    private static final int STUDENTS = 2_000;
+    private static final int QUESTIONS = 50;
+    private static final int OPTIONS = 4;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ExamGradingService examGradingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void gradeHundredThousandAnswers() {
+        Long courseId = courseRepository.findAll().get(0).getId();
+        List<Long> studentIds = createStudents();
+        Long examId = transactionTemplate.execute(status -> {
+            Exam exam = new Exam();
+            exam.setName("Grading benchmark");
+            exam.setCourse(entityManager.getReference(Course.class, courseId));
+            exam.setExamDate(LocalDateTime.now().plusDays(1));
+            exam.setDurationMinutes(60);
+            exam.setExamType(Exam.ExamType.MCQ);
+            exam.setPassingMarks(QUESTIONS / 2);
+            entityManager.persist(exam);
+            for (int q = 0; q < QUESTIONS; q++) {
+                Question question = new Question();
+                question.setQuestionText("Question " + q);
+                question.setQuestionType(Question.QuestionType.MCQ);
+                question.setMarks(1);
+                question.setExam(exam);
+                for (int o = 0; o < OPTIONS; o++) {
+                    QuestionOption option = new QuestionOption();
+                    option.setOptionText("Option " + o);
+                    option.setOptionLetter(String.valueOf((char) ('A' + o)));
+                    option.setIsCorrect(o == 0);
+                    question.addOption(option);
+                }
+                entityManager.persist(question);
+            }
+            return exam.getId();
+        });
+        createAnswers(examId, studentIds);
+
+        ExamEvaluationSummary summary = examGradingService.evaluate(examId);
+        System.out.printf("Graded %d answers for %d students in %d ms%n",
+                summary.getAnswersGraded(), summary.getStudentsGraded(), summary.getElapsedMillis());
+        assertEquals((long) STUDENTS * QUESTIONS, summary.getAnswersGraded());
+        assertCompetitionRanks(examId);
+        assertAnalytics(examId);
+
+        // Re-grade one student with every answer correct; only the ranks above them should move
+        Long regraded = studentIds.get(STUDENTS / 2);
+        jdbcTemplate.update("UPDATE student_answers a SET selected_option_id = (SELECT MIN(o.id) FROM question_options o "
+                + "WHERE o.question_id = a.question_id) WHERE a.exam_id = ? AND a.student_id = ?", examId, regraded);
+        long started = System.nanoTime();
+        examGradingService.evaluateStudent(examId, regraded);
+        System.out.printf("Re-graded one student in %d ms%n", (System.nanoTime() - started) / 1_000_000);
+        assertCompetitionRanks(examId);
+    }
+
+    private void assertCompetitionRanks(Long examId) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT obtained_marks, rank, total_students FROM exam_results WHERE exam_id = ?",
+                (rs, i) -> new Object[]{rs.getInt(1), rs.getInt(2), rs.getInt(3)}, examId);
+        for (Object[] row : rows) {
+            long higher = rows.stream().filter(other -> (int) other[0] > (int) row[0]).count();
+            assertEquals(higher + 1, (int) row[1]);
+            assertEquals(rows.size(), (int) row[2]);
+        }
+    }
+
+    private void assertAnalytics(Long examId) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT question_id, examinees, answered, correct_count, p_value, point_biserial, "
+                        + "(SELECT SUM(o.selected_count) FROM question_option_analytics o WHERE o.analytics_id = a.id) "
+                        + "FROM question_analytics a WHERE exam_id = ?",
+                (rs, i) -> new Object[]{rs.getLong(1), rs.getInt(2), rs.getInt(3), rs.getInt(4),
+                        rs.getDouble(5), rs.getObject(6), rs.getInt(7)}, examId);
+        assertEquals(QUESTIONS, rows.size());
+        for (Object[] row : rows) {
+            assertEquals(STUDENTS, (int) row[1]);
+            assertEquals(STUDENTS, (int) row[2]);
+            assertEquals((int) row[3] / (double) STUDENTS, (double) row[4], 0.0001);
+            assertEquals(STUDENTS, (int) row[6]);
+        }
+
+        // Point-biserial of one question computed directly from the stored answers and results
+        Object[] checked = rows.get(0);
+        List<double[]> scores = jdbcTemplate.query(
+                "SELECT r.obtained_marks, CASE WHEN a.is_correct THEN 1 ELSE 0 END FROM student_answers a "
+                        + "JOIN exam_results r ON r.exam_id = a.exam_id AND r.student_id = a.student_id "
+                        + "WHERE a.exam_id = ? AND a.question_id = ?",
+                (rs, i) -> new double[]{rs.getInt(1), rs.getInt(2)}, examId, checked[0]);
+        double mean = scores.stream().mapToDouble(score -> score[0]).average().orElse(0);
+        double deviation = Math.sqrt(scores.stream().mapToDouble(score -> Math.pow(score[0] - mean, 2)).sum() / scores.size());
+        double p = scores.stream().mapToDouble(score -> score[1]).average().orElse(0);
+        double correctMean = scores.stream().filter(score -> score[1] == 1).mapToDouble(score -> score[0]).average().orElse(0);
+        double otherMean = scores.stream().filter(score -> score[1] == 0).mapToDouble(score -> score[0]).average().orElse(0);
+        double expected = (correctMean - otherMean) / deviation * Math.sqrt(p * (1 - p));
+        assertEquals(expected, ((Number) checked[5]).doubleValue(), 0.0001);
+    }
+
+    private List<Long> createStudents() {
+        List<Long> ids = new ArrayList<>();
+        for (int from = 0; from < STUDENTS; from += 500) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = start; i < start + 500; i++) {
+                    User user = new User();
+                    user.setUsername("bench" + i);
+                    user.setEmail("bench" + i + "@example.com");
+                    user.setPassword("not-a-real-hash");
+                    entityManager.persist(user);
+                    Student student = new Student();
+                    student.setUser(user);
+                    student.setFirstName("Bench");
+                    student.setLastName("Student");
+                    student.setDateOfBirth(LocalDate.of(2000, 1, 1));
+                    student.setGender(Student.Gender.OTHER);
+                    student.setEmail("bench" + i + "@example.com");
+                    entityManager.persist(student);
+                    ids.add(student.getId());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return ids;
+    }
+
+    private void createAnswers(Long examId, List<Long> studentIds) {
+        List<Object[]> options = entityManager.createQuery(
+                        "SELECT o.question.id, o.id FROM QuestionOption o WHERE o.question.exam.id = :examId ORDER BY o.id",
+                        Object[].class)
+                .setParameter("examId", examId)
+                .getResultList();
+        for (int from = 0; from < studentIds.size(); from += 100) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + 100, studentIds.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Long studentId : chunk) {
+                    for (int q = 0; q < QUESTIONS; q++) {
+                        Object[] option = options.get(q * OPTIONS + (int) ((studentId + q) % OPTIONS));
+                        StudentAnswer answer = new StudentAnswer();
+                        answer.setExam(entityManager.getReference(Exam.class, examId));
+                        answer.setStudent(entityManager.getReference(Student.class, studentId));
+                        answer.setQuestion(entityManager.getReference(Question.class, (Long) option[0]));
+                        answer.setSelectedOptionId((Long) option[1]);
+                        entityManager.persist(answer);
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.gdsc.benchmark;
+
+import com.gdsc.course.entity.Course;
+import com.gdsc.course.repository.CourseRepository;
+import com.gdsc.exam.entity.Exam;
+import com.gdsc.exam.entity.Question;
+import com.gdsc.exam.entity.StudentAnswer;
+import com.gdsc.fee.entity.Fee;
+import com.gdsc.fee.entity.Payment;
+import com.gdsc.student.entity.Student;
+import com.gdsc.student.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+/**
+ * Insert throughput for the two highest-volume tables. Opt-in, run with
+ * {@code mvn test -Dtest=InsertThroughputBenchmarkTest -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:insert_benchmark",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertThroughputBenchmarkTest {
+
+    private static final int WARMUP_ROWS = 5_000;
+    private static final int ROWS = 50_000;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Long studentId;
+    private Long examId;
+    private Long questionId;
+    private Long feeId;
+
+    @BeforeEach
+    void createFixtures() {
+        Student student = studentRepository.findAll().get(0);
+        Course course = courseRepository.findAll().get(0);
+        studentId = student.getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            Exam exam = new Exam();
+            exam.setName("Benchmark exam");
+            exam.setCourse(entityManager.getReference(Course.class, course.getId()));
+            exam.setExamDate(LocalDateTime.now().plusDays(1));
+            exam.setDurationMinutes(60);
+            exam.setExamType(Exam.ExamType.MCQ);
+            entityManager.persist(exam);
+
+            Question question = new Question();
+            question.setQuestionText("Benchmark question");
+            question.setQuestionType(Question.QuestionType.MCQ);
+            question.setMarks(1);
+            question.setExam(exam);
+            entityManager.persist(question);
+
+            Fee fee = new Fee();
+            fee.setCourse(exam.getCourse());
+            fee.setStudent(entityManager.getReference(Student.class, studentId));
+            fee.setTotalAmount(new BigDecimal("1000000"));
+            fee.setDueDate(LocalDate.now().plusMonths(1));
+            entityManager.persist(fee);
+
+            examId = exam.getId();
+            questionId = question.getId();
+            feeId = fee.getId();
+        });
+    }
+
+    @Test
+    void studentAnswerInserts() {
+        run("StudentAnswer", i -> {
+            StudentAnswer answer = new StudentAnswer();
+            answer.setStudent(entityManager.getReference(Student.class, studentId));
+            answer.setExam(entityManager.getReference(Exam.class, examId));
+            answer.setQuestion(entityManager.getReference(Question.class, questionId));
+            answer.setSelectedOptionId((long) (i % 4));
+            answer.setSubmissionTime(LocalDateTime.now());
+            return answer;
+        });
+    }
+
+    @Test
+    void paymentInserts() {
+        run("Payment", i -> {
+            Payment payment = new Payment();
+            payment.setFee(entityManager.getReference(Fee.class, feeId));
+            payment.setAmount(BigDecimal.TEN);
+            payment.setPaymentMethod(Payment.PaymentMethod.UPI);
+            return payment;
+        });
+    }
+
+    private void run(String label, IntFunction<Object> rowFactory) {
+        insert(WARMUP_ROWS, rowFactory);
+        long started = System.nanoTime();
+        insert(ROWS, rowFactory);
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        System.out.printf("%s: %d rows in %.2f s (%.0f rows/s)%n", label, ROWS, seconds, ROWS / seconds);
+    }
+
+    private void insert(int rows, IntFunction<Object> rowFactory) {
+        for (int from = 0; from < rows; from += ROWS_PER_TRANSACTION) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = start; i < Math.min(start + ROWS_PER_TRANSACTION, rows); i++) {
+                    entityManager.persist(rowFactory.apply(i));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.gdsc.common.storage;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSenderTest {
+
+    private static final String ETAG = "\"abc123\"";
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void parsesSingleRanges() {
+        assertArrayEquals(new long[]{0, 100}, FileSender.parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[]{10, 11}, FileSender.parseRange("bytes= 10 - 10", 1000));
+        // An end past the file is cut to its length
+        assertArrayEquals(new long[]{900, 1000}, FileSender.parseRange("bytes=900-5000", 1000));
+    }
+
+    @Test
+    void parsesSuffixRanges() {
+        assertArrayEquals(new long[]{900, 1000}, FileSender.parseRange("bytes=-100", 1000));
+        assertArrayEquals(new long[]{0, 1000}, FileSender.parseRange("bytes=-5000", 1000));
+        assertArrayEquals(new long[0], FileSender.parseRange("bytes=-0", 1000));
+    }
+
+    @Test
+    void parsesOpenEndedRanges() {
+        assertArrayEquals(new long[]{500, 1000}, FileSender.parseRange("bytes=500-", 1000));
+        assertArrayEquals(new long[]{999, 1000}, FileSender.parseRange("bytes=999-", 1000));
+    }
+
+    @Test
+    void rangesStartingPastTheEndAreUnsatisfiable() {
+        assertArrayEquals(new long[0], FileSender.parseRange("bytes=1000-", 1000));
+        assertArrayEquals(new long[0], FileSender.parseRange("bytes=1000-1999", 1000));
+    }
+
+    @Test
+    void multipleOrMalformedRangesAreIgnored() {
+        assertNull(FileSender.parseRange("bytes=0-99,200-299", 1000));
+        assertNull(FileSender.parseRange("bytes=-100,0-1", 1000));
+        assertNull(FileSender.parseRange("items=0-99", 1000));
+        assertNull(FileSender.parseRange("bytes=99-0", 1000));
+        assertNull(FileSender.parseRange("bytes=a-b", 1000));
+        assertNull(FileSender.parseRange("bytes=100", 1000));
+    }
+
+    @Test
+    void ifNoneMatchComparesWeakly() {
+        assertTrue(FileSender.isNotModified(request(HttpHeaders.IF_NONE_MATCH, "W/" + ETAG), ETAG, LAST_MODIFIED));
+        assertTrue(FileSender.isNotModified(request(HttpHeaders.IF_NONE_MATCH, "\"other\", " + ETAG), ETAG, LAST_MODIFIED));
+        assertTrue(FileSender.isNotModified(request(HttpHeaders.IF_NONE_MATCH, "*"), ETAG, LAST_MODIFIED));
+        assertFalse(FileSender.isNotModified(request(HttpHeaders.IF_NONE_MATCH, "W/\"other\""), ETAG, LAST_MODIFIED));
+    }
+
+    @Test
+    void ifModifiedSinceOnlyCountsWithoutIfNoneMatch() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED);
+        assertTrue(FileSender.isNotModified(request, ETAG, LAST_MODIFIED));
+        assertFalse(FileSender.isNotModified(request, ETAG, LAST_MODIFIED + 1000));
+
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+        assertFalse(FileSender.isNotModified(request, ETAG, LAST_MODIFIED));
+    }
+
+    @Test
+    void ifRangeMustMatchTheCurrentRepresentation() {
+        assertTrue(FileSender.isRangeCurrent(new MockHttpServletRequest(), ETAG, LAST_MODIFIED));
+        assertTrue(FileSender.isRangeCurrent(request(HttpHeaders.IF_RANGE, ETAG), ETAG, LAST_MODIFIED));
+        assertFalse(FileSender.isRangeCurrent(request(HttpHeaders.IF_RANGE, "\"other\""), ETAG, LAST_MODIFIED));
+        // Weak tags never match for ranges
+        assertFalse(FileSender.isRangeCurrent(request(HttpHeaders.IF_RANGE, "W/" + ETAG), ETAG, LAST_MODIFIED));
+
+        MockHttpServletRequest byDate = new MockHttpServletRequest();
+        byDate.addHeader(HttpHeaders.IF_RANGE, LAST_MODIFIED);
+        assertTrue(FileSender.isRangeCurrent(byDate, ETAG, LAST_MODIFIED));
+        assertFalse(FileSender.isRangeCurrent(byDate, ETAG, LAST_MODIFIED + 1000));
+    }
+
+    @Test
+    void sendsTheRequestedRange() throws Exception {
+        StoredFile file = storedFile("0123456789");
+        MockHttpServletRequest request = request(HttpHeaders.RANGE, "bytes=-4");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new FileSender().send(file, request, response);
+
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 6-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("6789", response.getContentAsString());
+    }
+
+    @Test
+    void sendsTheWholeFileWhenIfRangeDoesNotMatch() throws Exception {
+        StoredFile file = storedFile("0123456789");
+        MockHttpServletRequest request = request(HttpHeaders.RANGE, "bytes=0-3");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new FileSender().send(file, request, response);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void answersUnsatisfiableRangesWith416() throws Exception {
+        StoredFile file = storedFile("0123456789");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new FileSender().send(file, request(HttpHeaders.RANGE, "bytes=10-"), response);
+
+        assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void answersAMatchingWeakTagWith304() throws Exception {
+        StoredFile file = storedFile("0123456789");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new FileSender().send(file, request(HttpHeaders.IF_NONE_MATCH, "W/\"content-hash\""), response);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private StoredFile storedFile(String content) throws Exception {
+        Path path = Files.writeString(directory.resolve("file.txt"), content, StandardCharsets.US_ASCII);
+        return new StoredFile(path, "content-hash", MediaType.TEXT_PLAIN, "file.txt", null);
+    }
+
+    private static MockHttpServletRequest request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader(header, value);
+        return request;
+    }
+}
@@ -0,0 +1,89 @@
+package com.gdsc.exam.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExamRankIndexTest {
+
+    @Test
+    void ranksAreCompetitionRanks() {
+        ExamRankIndex index = new ExamRankIndex(100);
+        for (int score : new int[]{90, 80, 80, 70}) {
+            index.add(score);
+        }
+        assertEquals(1, index.rankOf(90));
+        assertEquals(2, index.rankOf(80));
+        assertEquals(4, index.rankOf(70));
+        // Scores nobody has rank where they would be inserted
+        assertEquals(1, index.rankOf(100));
+        assertEquals(4, index.rankOf(75));
+        assertEquals(5, index.rankOf(0));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void removeTakesScoreOutOfRanking() {
+        ExamRankIndex index = new ExamRankIndex(100);
+        for (int score : new int[]{90, 80, 80, 70}) {
+            index.add(score);
+        }
+        index.remove(80);
+        assertEquals(2, index.rankOf(80));
+        assertEquals(3, index.rankOf(70));
+        index.remove(90);
+        assertEquals(1, index.rankOf(80));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void scoresOutsideTheTreeRankAtTheEnds() {
+        ExamRankIndex index = new ExamRankIndex(10);
+        index.add(5);
+        index.add(10);
+        assertEquals(1, index.rankOf(1_000));
+        assertEquals(3, index.rankOf(-1));
+    }
+
+    @Test
+    void ensureCapacityKeepsCountsWhenTheTreeGrows() {
+        ExamRankIndex index = new ExamRankIndex(0);
+        for (int score : new int[]{0, 3, 3, 7}) {
+            index.add(score);
+        }
+        // Each add beyond the current maximum rebuilds the tree
+        index.add(50);
+        index.add(1_000);
+        index.add(3);
+        assertEquals(1, index.rankOf(1_000));
+        assertEquals(2, index.rankOf(50));
+        assertEquals(3, index.rankOf(7));
+        assertEquals(4, index.rankOf(3));
+        assertEquals(7, index.rankOf(0));
+        assertEquals(7, index.size());
+    }
+
+    @Test
+    void matchesBruteForceOverRandomChanges() {
+        Random random = new Random(42);
+        ExamRankIndex index = new ExamRankIndex(20);
+        List<Integer> scores = new ArrayList<>();
+        for (int step = 0; step < 2_000; step++) {
+            if (!scores.isEmpty() && random.nextInt(3) == 0) {
+                index.remove(scores.remove(random.nextInt(scores.size())));
+            } else {
+                // Grows well past the initial maximum
+                int score = random.nextInt(step < 1_000 ? 30 : 300);
+                scores.add(score);
+                index.add(score);
+            }
+            int probe = random.nextInt(320) - 10;
+            assertEquals(1 + scores.stream().filter(score -> score > probe).count(), index.rankOf(probe));
+            assertEquals(scores.size(), index.size());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.gdsc.exam.service;
+
+import com.gdsc.auth.entity.User;
+import com.gdsc.course.entity.Course;
+import com.gdsc.course.repository.CourseRepository;
+import com.gdsc.exam.entity.Exam;
+import com.gdsc.exam.entity.ExamResult;
+import com.gdsc.student.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Ranks after each incremental change must equal what a full {@link ExamRankService#rankExam}
+ * computes from the same table.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:service_tests",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class ExamRankServiceTest {
+
+    private static final int[] MARKS = {90, 80, 80, 70, 60, 60, 50, 40};
+
+    @Autowired
+    private ExamRankService examRankService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Long examId;
+    private final List<Long> resultIds = new ArrayList<>();
+
+    @BeforeEach
+    void createRankedExam() {
+        Long courseId = courseRepository.findAll().get(0).getId();
+        examId = transactionTemplate.execute(status -> {
+            Exam exam = new Exam();
+            exam.setName("Rank test");
+            exam.setCourse(entityManager.getReference(Course.class, courseId));
+            exam.setExamDate(LocalDateTime.now().plusDays(1));
+            exam.setDurationMinutes(60);
+            exam.setExamType(Exam.ExamType.MCQ);
+            exam.setTotalMarks(100);
+            entityManager.persist(exam);
+            return exam.getId();
+        });
+        resultIds.clear();
+        for (int marks : MARKS) {
+            resultIds.add(createResult(marks));
+        }
+        examRankService.rankExam(examId);
+    }
+
+    @Test
+    void scoreMovingUp() {
+        changeMarks(resultIds.get(4), 60, 85);
+        assertMatchesFullRanking();
+    }
+
+    @Test
+    void scoreMovingDown() {
+        changeMarks(resultIds.get(0), 90, 55);
+        assertMatchesFullRanking();
+    }
+
+    @Test
+    void scoreMovingIntoATie() {
+        changeMarks(resultIds.get(7), 40, 80);
+        assertMatchesFullRanking();
+        changeMarks(resultIds.get(0), 90, 80);
+        assertMatchesFullRanking();
+    }
+
+    @Test
+    void scoreLeavingATie() {
+        changeMarks(resultIds.get(1), 80, 95);
+        assertMatchesFullRanking();
+        changeMarks(resultIds.get(5), 60, 45);
+        assertMatchesFullRanking();
+    }
+
+    @Test
+    void unchangedScore() {
+        changeMarks(resultIds.get(3), 70, 70);
+        assertMatchesFullRanking();
+    }
+
+    @Test
+    void newResults() {
+        examRankService.applyScoreChange(examId, createResult(60), null, 60);
+        assertMatchesFullRanking();
+        examRankService.applyScoreChange(examId, createResult(100), null, 100);
+        assertMatchesFullRanking();
+        examRankService.applyScoreChange(examId, createResult(0), null, 0);
+        assertMatchesFullRanking();
+    }
+
+    @Test
+    void changesInSequence() {
+        changeMarks(resultIds.get(6), 50, 90);
+        changeMarks(resultIds.get(0), 90, 40);
+        changeMarks(resultIds.get(2), 80, 60);
+        examRankService.applyScoreChange(examId, createResult(75), null, 75);
+        changeMarks(resultIds.get(6), 90, 120);
+        assertMatchesFullRanking();
+    }
+
+    private void changeMarks(Long resultId, int previousMarks, int newMarks) {
+        jdbcTemplate.update("UPDATE exam_results SET obtained_marks = ? WHERE id = ?", newMarks, resultId);
+        examRankService.applyScoreChange(examId, resultId, previousMarks, newMarks);
+    }
+
+    private void assertMatchesFullRanking() {
+        Map<Long, List<Integer>> incremental = ranks();
+        examRankService.rankExam(examId);
+        assertEquals(ranks(), incremental);
+    }
+
+    // Result id to its rank and total students
+    private Map<Long, List<Integer>> ranks() {
+        Map<Long, List<Integer>> ranks = new HashMap<>();
+        jdbcTemplate.query("SELECT id, rank, total_students FROM exam_results WHERE exam_id = ?",
+                (RowCallbackHandler) rs -> ranks.put(rs.getLong(1), List.of(rs.getInt(2), rs.getInt(3))), examId);
+        return ranks;
+    }
+
+    private Long createResult(int marks) {
+        return transactionTemplate.execute(status -> {
+            String name = "rank-" + UUID.randomUUID();
+            User user = new User();
+            user.setUsername(name);
+            user.setEmail(name + "@example.com");
+            user.setPassword("not-a-real-hash");
+            entityManager.persist(user);
+            Student student = new Student();
+            student.setUser(user);
+            student.setFirstName("Rank");
+            student.setLastName("Student");
+            student.setDateOfBirth(LocalDate.of(2000, 1, 1));
+            student.setGender(Student.Gender.OTHER);
+            student.setEmail(name + "@example.com");
+            entityManager.persist(student);
+            ExamResult result = new ExamResult();
+            result.setExam(entityManager.getReference(Exam.class, examId));
+            result.setStudent(student);
+            result.setTotalMarks(100);
+            result.setObtainedMarks(marks);
+            result.setResultStatus(ExamResult.ResultStatus.PASS);
+            entityManager.persist(result);
+            return result.getId();
+        });
+    }
+}
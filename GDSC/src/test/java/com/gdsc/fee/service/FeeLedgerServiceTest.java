@@ -0,0 +1,220 @@
+package com.gdsc.fee.service;
+
+import com.gdsc.common.exception.BadRequestException;
+import com.gdsc.course.entity.Course;
+import com.gdsc.course.repository.CourseRepository;
+import com.gdsc.fee.dto.FeeBalanceDto;
+import com.gdsc.fee.entity.Fee;
+import com.gdsc.fee.entity.Payment;
+import com.gdsc.fee.repository.FeeRepository;
+import com.gdsc.student.entity.Student;
+import com.gdsc.student.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:service_tests",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class FeeLedgerServiceTest {
+
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
+    @Autowired
+    private FeeRepository feeRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Long feeId;
+
+    @BeforeEach
+    void createFee() {
+        Long studentId = studentRepository.findAll().get(0).getId();
+        Long courseId = courseRepository.findAll().get(0).getId();
+        feeId = transactionTemplate.execute(status -> {
+            Fee fee = new Fee();
+            fee.setCourse(entityManager.getReference(Course.class, courseId));
+            fee.setStudent(entityManager.getReference(Student.class, studentId));
+            fee.setTotalAmount(new BigDecimal("1000.00"));
+            fee.setDueDate(LocalDate.now().plusMonths(1));
+            entityManager.persist(fee);
+            return fee.getId();
+        });
+        feeLedgerService.recordCharge(feeId);
+    }
+
+    @Test
+    void settlingTwiceIsANoOp() {
+        Long paymentId = createPayment("400.00");
+        feeLedgerService.settlePayment(paymentId);
+        String receiptNumber = receiptNumber(paymentId);
+
+        feeLedgerService.settlePayment(paymentId);
+
+        assertBalance("400.00", "600.00");
+        assertEquals(1, paymentEntries(paymentId));
+        assertNotNull(receiptNumber);
+        assertEquals(receiptNumber, receiptNumber(paymentId));
+        assertEquals("SUCCESS", paymentStatus(paymentId));
+    }
+
+    @Test
+    void overpaymentIsRejectedAndLeavesTheFeeUnchanged() {
+        feeLedgerService.settlePayment(createPayment("800.00"));
+        Long overpayment = createPayment("300.00");
+
+        assertThrows(BadRequestException.class, () -> feeLedgerService.settlePayment(overpayment));
+
+        assertBalance("800.00", "200.00");
+        assertEquals(0, paymentEntries(overpayment));
+        assertEquals("PENDING", paymentStatus(overpayment));
+        assertNull(receiptNumber(overpayment));
+    }
+
+    @Test
+    void concurrentSettlesOfOneFeeBothApply() throws Exception {
+        Long first = createPayment("600.00");
+        Long second = createPayment("400.00");
+
+        List<Throwable> failures = settleConcurrently(first, second);
+
+        assertEquals(List.of(), failures);
+        assertBalance("1000.00", "0.00");
+        assertEquals(1, paymentEntries(first));
+        assertEquals(1, paymentEntries(second));
+        assertNotEquals(receiptNumber(first), receiptNumber(second));
+    }
+
+    @Test
+    void concurrentSettlesOfOneFeeNeverOverpayIt() throws Exception {
+        Long first = createPayment("600.00");
+        Long second = createPayment("600.00");
+
+        List<Throwable> failures = settleConcurrently(first, second);
+
+        assertEquals(1, failures.size());
+        assertInstanceOf(BadRequestException.class, failures.get(0));
+        assertBalance("600.00", "400.00");
+        assertEquals(1, paymentEntries(first) + paymentEntries(second));
+    }
+
+    @Test
+    void feeWithALateFeeIsNotPaidUntilTheLateFeeIsPaid() {
+        LocalDate dueDate = jdbcTemplate.queryForObject("SELECT due_date FROM fees WHERE id = ?", LocalDate.class, feeId);
+        transactionTemplate.executeWithoutResult(status -> {
+            feeRepository.accrueLateFee(feeId, dueDate, new BigDecimal("1000.00"), new BigDecimal("50.00"), LocalDateTime.now());
+            feeLedgerService.recordLateFee(feeId, new BigDecimal("50.00"), "Late fee");
+        });
+
+        feeLedgerService.settlePayment(createPayment("1000.00"));
+
+        assertBalance("1000.00", "50.00");
+        assertEquals("OVERDUE", feeLedgerService.getBalance(feeId).getStatus());
+
+        feeLedgerService.settlePayment(createPayment("50.00"));
+
+        assertBalance("1050.00", "0.00");
+        assertEquals("PAID", feeLedgerService.getBalance(feeId).getStatus());
+    }
+
+    // Both payments settle at the same moment; returns what the failed ones threw
+    private List<Throwable> settleConcurrently(Long... paymentIds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(paymentIds.length);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Long paymentId : paymentIds) {
+                Callable<Void> settle = () -> {
+                    start.await();
+                    feeLedgerService.settlePayment(paymentId);
+                    return null;
+                };
+                futures.add(executor.submit(settle));
+            }
+            start.countDown();
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<Void> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long createPayment(String amount) {
+        return transactionTemplate.execute(status -> {
+            Payment payment = new Payment();
+            payment.setFee(entityManager.getReference(Fee.class, feeId));
+            payment.setAmount(new BigDecimal(amount));
+            payment.setPaymentMethod(Payment.PaymentMethod.CASH);
+            entityManager.persist(payment);
+            return payment.getId();
+        });
+    }
+
+    private void assertBalance(String paid, String pending) {
+        FeeBalanceDto balance = feeLedgerService.getBalance(feeId);
+        assertEquals(new BigDecimal(paid), balance.getPaidAmount());
+        assertEquals(new BigDecimal(pending), balance.getPendingAmount());
+    }
+
+    private int paymentEntries(Long paymentId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM fee_ledger_entries WHERE payment_id = ?", Integer.class, paymentId);
+    }
+
+    private String paymentStatus(Long paymentId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM payments WHERE id = ?", String.class, paymentId);
+    }
+
+    private String receiptNumber(Long paymentId) {
+        return jdbcTemplate.queryForObject("SELECT receipt_number FROM payments WHERE id = ?", String.class, paymentId);
+    }
+}